@@ -0,0 +1,66 @@
+package com.meli.ordermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pool from the machine and the database limits when no explicit
+ * {@code spring.datasource.hikari.maximum-pool-size} is configured.
+ * <p>
+ * Uses the HikariCP guideline {@code cores * 2 + spindles}, capped so that all
+ * application instances together never exceed the connections PostgreSQL accepts
+ * ({@code (dbMaxConnections - reserved) / instances}). The pool is fixed-size
+ * (minimumIdle = maximumPoolSize), as recommended by HikariCP. It runs before
+ * initialization, while the bean is still the unwrapped {@link HikariDataSource}.
+ */
+@Component
+public class HikariPoolSizer implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private final Environment env;
+    private final boolean autoSize;
+    private final int spindles;
+    private final int dbMaxConnections;
+    private final int reserved;
+    private final int instances;
+
+    public HikariPoolSizer(Environment env,
+                           @Value("${app.datasource.pool.auto-size:true}") boolean autoSize,
+                           @Value("${app.datasource.pool.spindles:1}") int spindles,
+                           @Value("${app.datasource.pool.db-max-connections:100}") int dbMaxConnections,
+                           @Value("${app.datasource.pool.reserved-connections:10}") int reserved,
+                           @Value("${app.datasource.pool.instances:1}") int instances) {
+        this.env = env;
+        this.autoSize = autoSize;
+        this.spindles = spindles;
+        this.dbMaxConnections = dbMaxConnections;
+        this.reserved = reserved;
+        this.instances = instances;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari && autoSize
+                && !env.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            int size = poolSize(Runtime.getRuntime().availableProcessors());
+            hikari.setMaximumPoolSize(size);
+            hikari.setMinimumIdle(size);
+            log.info("Hikari pool '{}' sized to {} connections (cores={}, dbMaxConnections={}, instances={})",
+                    hikari.getPoolName(), size, Runtime.getRuntime().availableProcessors(),
+                    dbMaxConnections, instances);
+        }
+        return bean;
+    }
+
+    int poolSize(int cores) {
+        int byCores = cores * 2 + spindles;
+        int byDatabase = Math.max(1, (dbMaxConnections - reserved) / Math.max(1, instances));
+        return Math.max(2, Math.min(byCores, byDatabase));
+    }
+}
@@ -0,0 +1,61 @@
+package com.meli.ordermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.tracing.FileSpanExporter;
+import com.meli.ordermanagement.tracing.ObservedJacksonHttpMessageConverter;
+import com.meli.ordermanagement.tracing.RepositoryObservationPostProcessor;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Per-stage tracing: HTTP request (Spring Boot) -> OrderController -> OrderServiceImpl
+ * (@Observed) -> repository -> JDBC statement (datasource-micrometer), plus the Jackson
+ * write of the response. Every {@link SpanExporter} bean receives the spans: OTLP when
+ * management.otlp.tracing.endpoint is set, a JSON-lines file when app.tracing.file is set.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static RepositoryObservationPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> registry) {
+        return new RepositoryObservationPostProcessor(registry);
+    }
+
+    @Bean
+    public ObservedJacksonHttpMessageConverter observedJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                                  ObservationRegistry registry) {
+        return new ObservedJacksonHttpMessageConverter(objectMapper, registry);
+    }
+
+    @Bean(destroyMethod = "") // shut down by the SdkTracerProvider
+    @ConditionalOnExpression("!'${app.tracing.file:}'.isEmpty()")
+    public SpanExporter fileSpanExporter(@Value("${app.tracing.file}") String file) {
+        return new FileSpanExporter(Path.of(file));
+    }
+
+    /**
+     * No traces for infrastructure requests, and no stray root traces for JDBC work
+     * that happens outside a request (schema creation, data.sql, cache warm-up).
+     */
+    @Bean
+    public ObservationPredicate skipInfrastructureObservations(
+            @Value("${app.tracing.skip-paths:/actuator,/swagger-ui,/v3/api-docs,/h2-console}") List<String> skipPaths) {
+        return (name, context) -> {
+            if (context instanceof ServerRequestObservationContext request) {
+                return skipPaths.stream().noneMatch(request.getCarrier().getRequestURI()::startsWith);
+            }
+            return !name.startsWith("jdbc.") || context.getParentObservation() != null;
+        };
+    }
+}
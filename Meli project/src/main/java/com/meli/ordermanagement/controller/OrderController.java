@@ -1,8 +1,10 @@
 package com.meli.ordermanagement.controller;
 
-import com.meli.ordermanagement.entity.Order;
+import com.meli.ordermanagement.dto.OrderRequest;
+import com.meli.ordermanagement.dto.OrderResponse;
 import com.meli.ordermanagement.exception.ResourceNotFoundException;
 import com.meli.ordermanagement.service.OrderService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +12,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Observed(name = "meli.controller")
 @RequestMapping("/api/v1/orders")
 @Tag(name = "Order Management", description = "API for creating, retrieving, updating, and deleting orders")
 public class OrderController {
@@ -28,22 +32,22 @@ public class OrderController {
     @Operation(summary = "Retrieve all orders", description = "Gets a list of all orders currently in the system.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of orders")
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderService.getAllOrders();
+    public List<OrderResponse> getAllOrders() {
+        return orderService.getAllOrderResponses();
     }
 
     @Operation(summary = "Get an order by its ID", description = "Retrieves the details of a specific order using its unique ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the order",
                     content = { @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Order.class)) }),
+                            schema = @Schema(implementation = OrderResponse.class)) }),
             @ApiResponse(responseCode = "404", description = "Order not found with the specified ID",
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(
+    public ResponseEntity<OrderResponse> getOrderById(
             @Parameter(description = "ID of the order to be retrieved", required = true) @PathVariable Long id) {
-        Order order = orderService.getOrderById(id)
+        OrderResponse order = orderService.getOrderResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
         return ResponseEntity.ok(order);
     }
@@ -52,13 +56,13 @@ public class OrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully",
                     content = { @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Order.class)) }),
+                            schema = @Schema(implementation = OrderResponse.class)) }),
             @ApiResponse(responseCode = "400", description = "Invalid input data for the order",
                     content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody Order order) {
-        Order createdOrder = orderService.createOrder(order);
+    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest order) {
+        OrderResponse createdOrder = orderService.createOrder(order);
         return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
     }
 
@@ -66,15 +70,15 @@ public class OrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order updated successfully",
                     content = { @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Order.class)) }),
+                            schema = @Schema(implementation = OrderResponse.class)) }),
             @ApiResponse(responseCode = "404", description = "Order not found with the specified ID",
                     content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Order> updateOrder(
+    public ResponseEntity<OrderResponse> updateOrder(
             @Parameter(description = "ID of the order to be updated", required = true) @PathVariable Long id,
-            @RequestBody Order orderDetails) {
-        Order updatedOrder = orderService.updateOrder(id, orderDetails);
+            @Valid @RequestBody OrderRequest orderDetails) {
+        OrderResponse updatedOrder = orderService.updateOrder(id, orderDetails);
         return ResponseEntity.ok(updatedOrder);
     }
 
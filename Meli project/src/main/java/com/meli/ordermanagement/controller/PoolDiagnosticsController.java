@@ -0,0 +1,64 @@
+package com.meli.ordermanagement.controller;
+
+import com.meli.ordermanagement.dto.PoolStatsResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/v1/admin/pool")
+@Tag(name = "Diagnostics", description = "Connection pool state and acquire latency")
+public class PoolDiagnosticsController {
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    public PoolDiagnosticsController(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        this.dataSource = dataSource.unwrap(HikariDataSource.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Operation(summary = "Connection pool snapshot",
+            description = "Active, idle and waiting connections plus connection acquire latency.")
+    @GetMapping
+    public PoolStatsResponse stats() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire")
+                .tag("pool", dataSource.getPoolName())
+                .timer();
+        HistogramSnapshot snapshot = acquire != null ? acquire.takeSnapshot() : HistogramSnapshot.empty(0, 0, 0);
+        return new PoolStatsResponse(
+                dataSource.getPoolName(),
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getIdleConnections() : 0,
+                pool != null ? pool.getTotalConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                dataSource.getMaximumPoolSize(),
+                dataSource.getMinimumIdle(),
+                snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS),
+                percentile(snapshot, 0.99));
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double p) {
+        for (ValueAtPercentile v : snapshot.percentileValues()) {
+            if (v.percentile() == p) {
+                return v.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+}
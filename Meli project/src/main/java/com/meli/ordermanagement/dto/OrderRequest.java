@@ -0,0 +1,27 @@
+package com.meli.ordermanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+/**
+ * Payload for creating or updating an order. The customer is referenced by id
+ * only; the order date is assigned by the server.
+ * <p>
+ * API change: requests used to bind the Order entity and carried the customer
+ * as a nested object ({@code "customer": {"id": 1}}). That shape is no longer
+ * read; send {@code "customerId": 1} instead. Responses still nest the
+ * customer ({@code customer.id}, {@code customer.fullName}, {@code customer.email}).
+ */
+@Schema(example = "{\"customerId\": 1, \"status\": \"PENDIENTE\", \"shippingAddress\": \"Calle 123\", \"total\": 150.00}")
+public record OrderRequest(
+        @Schema(description = "Id of an existing customer. Replaces the nested customer.id of earlier versions.",
+                example = "1")
+        @NotNull Long customerId,
+        @NotBlank String status,
+        @NotBlank String shippingAddress,
+        @NotNull @PositiveOrZero BigDecimal total) {
+}
@@ -0,0 +1,33 @@
+package com.meli.ordermanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Order as returned by the API. Instances are built by JPQL constructor
+ * expressions that select only these columns, so serializing them never
+ * touches a managed entity or initializes a proxy.
+ */
+public record OrderResponse(
+        Long id,
+        OffsetDateTime orderDate,
+        String status,
+        String shippingAddress,
+        BigDecimal total,
+        CustomerSummary customer) {
+
+    /**
+     * Flat form used by the repository projection queries.
+     */
+    public OrderResponse(Long id, OffsetDateTime orderDate, String status, String shippingAddress,
+                         BigDecimal total, Long customerId, String customerFullName, String customerEmail) {
+        this(id, orderDate, status, shippingAddress, total,
+                new CustomerSummary(customerId, customerFullName, customerEmail));
+    }
+
+    /**
+     * The customer fields an order response needs.
+     */
+    public record CustomerSummary(Long id, String fullName, String email) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.meli.ordermanagement.dto;
+
+/**
+ * Snapshot of the JDBC connection pool: connection counts and the latency
+ * (in milliseconds) of acquiring a connection from it.
+ */
+public record PoolStatsResponse(
+        String poolName,
+        int active,
+        int idle,
+        int total,
+        int waiting,
+        int maximumPoolSize,
+        int minimumIdle,
+        long acquireCount,
+        double acquireMeanMs,
+        double acquireMaxMs,
+        double acquireP99Ms) {
+}
@@ -2,10 +2,17 @@ package com.meli.ordermanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.OffsetDateTime;
 
 @Entity
 @Table(name = "customers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
+@NaturalIdCache(region = "customers-by-email")
 @Data
 public class Customer {
 
@@ -16,6 +23,7 @@ public class Customer {
     @Column(name = "full_name", nullable = false)
     private String fullName;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -2,6 +2,9 @@ package com.meli.ordermanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
@@ -14,7 +17,9 @@ public class Order {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // SELECT instead of JOIN so the customer is resolved from the second-level cache.
     @ManyToOne(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
@@ -2,10 +2,17 @@ package com.meli.ordermanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@NaturalIdCache(region = "products-by-sku")
 @Data
 public class Product {
 
@@ -24,6 +31,7 @@ public class Product {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String sku;
 }
\ No newline at end of file
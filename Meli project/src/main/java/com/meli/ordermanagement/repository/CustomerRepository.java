@@ -1,10 +1,19 @@
 package com.meli.ordermanagement.repository;
 
 import com.meli.ordermanagement.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-}
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
+    /** Full customer list, served from the query cache until the table is written. */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Customer> findAll();
+}
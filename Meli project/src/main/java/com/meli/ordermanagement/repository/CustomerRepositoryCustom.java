@@ -0,0 +1,11 @@
+package com.meli.ordermanagement.repository;
+
+import com.meli.ordermanagement.entity.Customer;
+
+import java.util.Optional;
+
+public interface CustomerRepositoryCustom {
+
+    /** Natural-id lookup by email, resolved through the natural-id cache. */
+    Optional<Customer> findByEmail(String email);
+}
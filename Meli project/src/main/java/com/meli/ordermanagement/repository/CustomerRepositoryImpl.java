@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.repository;
+
+import com.meli.ordermanagement.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Customer> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Customer.class)
+                .loadOptional(email);
+    }
+}
@@ -1,15 +1,32 @@
 package com.meli.ordermanagement.repository;
 
+import com.meli.ordermanagement.dto.OrderResponse;
 import com.meli.ordermanagement.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repositorio para acceder a los datos de las órdenes.
  * Extiende JpaRepository para obtener operaciones CRUD básicas y más.
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    // Aquí se pueden agregar métodos para consultas personalizadas si es necesario.
-    // Por ejemplo: List<Order> findByStatus(String status);
+
+    /**
+     * Proyección de la orden y su cliente en una sola consulta, sin cargar entidades.
+     */
+    String RESPONSE_SELECT = "select new com.meli.ordermanagement.dto.OrderResponse("
+            + "o.id, o.orderDate, o.status, o.shippingAddress, o.total, c.id, c.fullName, c.email) "
+            + "from Order o join o.customer c";
+
+    @Query(RESPONSE_SELECT + " order by o.id")
+    List<OrderResponse> findAllResponses();
+
+    @Query(RESPONSE_SELECT + " where o.id = :id")
+    Optional<OrderResponse> findResponseById(@Param("id") Long id);
 }
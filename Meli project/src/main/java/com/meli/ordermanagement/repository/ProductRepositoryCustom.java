@@ -0,0 +1,11 @@
+package com.meli.ordermanagement.repository;
+
+import com.meli.ordermanagement.entity.Product;
+
+import java.util.Optional;
+
+public interface ProductRepositoryCustom {
+
+    /** Natural-id lookup by SKU, resolved through the natural-id cache. */
+    Optional<Product> findBySku(String sku);
+}
@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.repository;
+
+import com.meli.ordermanagement.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findBySku(String sku) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Product.class)
+                .loadOptional(sku);
+    }
+}
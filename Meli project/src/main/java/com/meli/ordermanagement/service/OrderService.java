@@ -1,5 +1,7 @@
 package com.meli.ordermanagement.service;
 
+import com.meli.ordermanagement.dto.OrderRequest;
+import com.meli.ordermanagement.dto.OrderResponse;
 import com.meli.ordermanagement.entity.Order;
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +12,10 @@ public interface OrderService {
     Optional<Order> getOrderById(Long id);
     Order updateOrder(Long id, Order orderDetails);
     void deleteOrder(Long id);
+
+    // Vistas para la API: se leen con proyecciones, sin serializar entidades.
+    OrderResponse createOrder(OrderRequest request);
+    List<OrderResponse> getAllOrderResponses();
+    Optional<OrderResponse> getOrderResponseById(Long id);
+    OrderResponse updateOrder(Long id, OrderRequest request);
 }
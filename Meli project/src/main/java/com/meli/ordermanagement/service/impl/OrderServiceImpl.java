@@ -1,21 +1,31 @@
 package com.meli.ordermanagement.service.impl;
 
+import com.meli.ordermanagement.dto.OrderRequest;
+import com.meli.ordermanagement.dto.OrderResponse;
+import com.meli.ordermanagement.entity.Customer;
 import com.meli.ordermanagement.entity.Order;
 import com.meli.ordermanagement.exception.ResourceNotFoundException;
+import com.meli.ordermanagement.repository.CustomerRepository;
 import com.meli.ordermanagement.repository.OrderRepository;
 import com.meli.ordermanagement.service.OrderService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = "meli.service")
 public class OrderServiceImpl implements OrderService {
 
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private CustomerRepository customerRepository;
+
 // Dentro de OrderServiceImpl.java
 
 @Override
@@ -62,4 +72,44 @@ public Order createOrder(Order order) {
                 .orElseThrow(() -> new ResourceNotFoundException("Orden no encontrada con id: " + id));
         orderRepository.delete(order);
     }
-}
\ No newline at end of file
+
+    @Override
+    public OrderResponse createOrder(OrderRequest request) {
+        Order order = new Order();
+        order.setOrderDate(OffsetDateTime.now());
+        apply(order, request);
+        Long id = orderRepository.save(order).getId();
+        return orderRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Orden no encontrada con id: " + id));
+    }
+
+    @Override
+    public List<OrderResponse> getAllOrderResponses() {
+        return orderRepository.findAllResponses();
+    }
+
+    @Override
+    public Optional<OrderResponse> getOrderResponseById(Long id) {
+        return orderRepository.findResponseById(id);
+    }
+
+    @Override
+    public OrderResponse updateOrder(Long id, OrderRequest request) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Orden no encontrada con id: " + id));
+        apply(order, request);
+        orderRepository.save(order);
+        return orderRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Orden no encontrada con id: " + id));
+    }
+
+    private void apply(Order order, OrderRequest request) {
+        // El cliente sale de la caché de segundo nivel; no se toca su grafo al responder.
+        Customer customer = customerRepository.findById(request.customerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con id: " + request.customerId()));
+        order.setCustomer(customer);
+        order.setStatus(request.status());
+        order.setShippingAddress(request.shippingAddress());
+        order.setTotal(request.total());
+    }
+}
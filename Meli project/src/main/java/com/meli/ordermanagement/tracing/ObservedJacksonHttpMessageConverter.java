@@ -0,0 +1,43 @@
+package com.meli.ordermanagement.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Spring MVC JSON converter that records each response write as a
+ * "meli.http.serialize" observation, so Jackson time (plus the socket write)
+ * shows up separately from controller time inside the request span.
+ */
+public class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry registry;
+
+    public ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        Observation observation = Observation.createNotStarted("meli.http.serialize", registry)
+                .contextualName("serialize")
+                .lowCardinalityKeyValue("type", object.getClass().getSimpleName())
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.meli.ordermanagement.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds an interceptor to every Spring Data repository that wraps each call in a
+ * "meli.repository" observation (span + timer) named Repository#method.
+ * The JDBC spans of the statements it issues become its children.
+ */
+public class RepositoryObservationPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ObservationRegistry> registry;
+
+    public RepositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxy, info) -> proxy.addAdvice(interceptor(info.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            String method = invocation.getMethod().getName();
+            // Resolved on first call: repositories are created before the registry is.
+            return Observation.createNotStarted("meli.repository",
+                            registry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                    .contextualName(repository + "#" + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .observeChecked(invocation::proceed);
+        };
+    }
+}
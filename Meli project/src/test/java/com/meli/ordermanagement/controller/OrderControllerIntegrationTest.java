@@ -1,6 +1,7 @@
 package com.meli.ordermanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.OrderRequest;
 import com.meli.ordermanagement.entity.Customer;
 import com.meli.ordermanagement.entity.Order;
 import com.meli.ordermanagement.repository.CustomerRepository;
@@ -60,11 +61,8 @@ class OrderControllerIntegrationTest {
     @Test
     void givenOrderObject_whenCreateOrder_thenReturnSavedOrder() throws Exception {
         // given
-        Order order = new Order();
-        order.setCustomer(savedCustomer);
-        order.setStatus("PENDIENTE");
-        order.setShippingAddress("123 Test St");
-        order.setTotal(new BigDecimal("199.99"));
+        OrderRequest order = new OrderRequest(
+                savedCustomer.getId(), "PENDIENTE", "123 Test St", new BigDecimal("199.99"));
 
         // when
         ResultActions response = mockMvc.perform(post("/api/v1/orders")
@@ -75,7 +73,24 @@ class OrderControllerIntegrationTest {
         response.andDo(print())
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.customer.fullName", is(savedCustomer.getFullName())))
-                .andExpect(jsonPath("$.status", is("PENDIENTE")));
+                .andExpect(jsonPath("$.status", is("PENDIENTE")))
+                .andExpect(jsonPath("$.orderDate").exists())
+                .andExpect(jsonPath("$.customer.registrationDate").doesNotExist());
+    }
+
+    @DisplayName("Integration test for POST /api/v1/orders (unknown customer)")
+    @Test
+    void givenUnknownCustomer_whenCreateOrder_thenReturnNotFound() throws Exception {
+        // given
+        OrderRequest order = new OrderRequest(9999L, "PENDIENTE", "123 Test St", new BigDecimal("1.00"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/v1/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(order)));
+
+        // then
+        response.andExpect(status().isNotFound());
     }
 
     @DisplayName("Integration test for GET /api/v1/orders (get all orders)")
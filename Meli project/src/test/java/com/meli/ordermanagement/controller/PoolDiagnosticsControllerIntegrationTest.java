@@ -0,0 +1,39 @@
+package com.meli.ordermanagement.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PoolDiagnosticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Integration test for GET /api/v1/admin/pool (pool snapshot)")
+    @Test
+    void whenGetPoolStats_thenReturnsPoolSnapshot() throws Exception {
+        // given - at least one connection was acquired by the repositories
+        mockMvc.perform(get("/api/v1/orders")).andExpect(status().isOk());
+
+        // when / then
+        mockMvc.perform(get("/api/v1/admin/pool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.poolName", is("meli-test")))
+                .andExpect(jsonPath("$.maximumPoolSize", is(5)))
+                .andExpect(jsonPath("$.waiting", is(0)))
+                .andExpect(jsonPath("$.acquireCount", greaterThanOrEqualTo(1)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.meli.ordermanagement.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.entity.Customer;
+import com.meli.ordermanagement.entity.Order;
+import com.meli.ordermanagement.repository.CustomerRepository;
+import com.meli.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the list response built from entities (the previous controller
+ * output) with the one built from projections: payload size, serialization
+ * time alone and load + serialization time. Tagged "perf": it only runs
+ * with {@code mvn -Pperf test}.
+ */
+@Tag("perf")
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderSerializationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSerializationBenchmarkTest.class);
+
+    private static final int ORDERS = 500;
+    private static final int WARMUP = 30;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Customer customer = new Customer();
+            customer.setFullName("Bench Customer " + i);
+            customer.setEmail("bench" + i + "@customer.com");
+            customer.setRegistrationDate(OffsetDateTime.now().minusDays(i));
+            customer.setPhoneNumber("+54 11 5555-" + String.format("%04d", i));
+            customers.add(customerRepository.save(customer));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setCustomer(customers.get(i % customers.size()));
+            order.setOrderDate(OffsetDateTime.now().minusMinutes(i));
+            order.setStatus("PENDIENTE");
+            order.setShippingAddress("Calle " + i);
+            order.setTotal(BigDecimal.valueOf(1000 + i, 2));
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @DisplayName("Projection responses are smaller than entity responses and carry the same orders")
+    @Test
+    void givenOrders_whenSerialized_thenProjectionPayloadIsSmaller() throws Exception {
+        // given
+        List<Order> entities = orderRepository.findAll();
+        List<OrderResponse> views = orderRepository.findAllResponses();
+
+        // when
+        byte[] entityJson = objectMapper.writeValueAsBytes(entities);
+        byte[] viewJson = objectMapper.writeValueAsBytes(views);
+        double entitySerializeUs = timeMicros(() -> write(entities));
+        double viewSerializeUs = timeMicros(() -> write(views));
+        double entityEndToEndUs = timeMicros(() -> write(orderRepository.findAll()));
+        double viewEndToEndUs = timeMicros(() -> write(orderRepository.findAllResponses()));
+
+        log.info("entity: {} bytes, serialize {} us, load+serialize {} us",
+                entityJson.length, Math.round(entitySerializeUs), Math.round(entityEndToEndUs));
+        log.info("projection: {} bytes, serialize {} us, load+serialize {} us",
+                viewJson.length, Math.round(viewSerializeUs), Math.round(viewEndToEndUs));
+
+        // then
+        assertThat(views).hasSize(ORDERS);
+        assertThat(objectMapper.readTree(viewJson).get(0).get("customer").has("phoneNumber")).isFalse();
+        assertThat(viewJson.length).isLessThan(entityJson.length);
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double timeMicros(Supplier<byte[]> run) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += run.get().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += run.get().length;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return elapsed / 1_000.0 / ITERATIONS;
+    }
+}
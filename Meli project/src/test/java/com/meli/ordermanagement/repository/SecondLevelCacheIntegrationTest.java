@@ -0,0 +1,115 @@
+package com.meli.ordermanagement.repository;
+
+import com.meli.ordermanagement.entity.Customer;
+import com.meli.ordermanagement.entity.Order;
+import com.meli.ordermanagement.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.meli.ordermanagement.repository.SqlStatementCounter")
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer savedCustomer;
+    private Order savedOrder;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        Customer customer = new Customer();
+        customer.setFullName("Cached Customer");
+        customer.setEmail("cached@customer.com");
+        savedCustomer = customerRepository.save(customer);
+
+        Order order = new Order();
+        order.setCustomer(savedCustomer);
+        order.setStatus("PENDIENTE");
+        order.setShippingAddress("123 Cache St");
+        order.setTotal(new BigDecimal("10.00"));
+        savedOrder = orderRepository.save(order);
+    }
+
+    @DisplayName("Repeated order loads issue zero customer selects")
+    @Test
+    void givenCachedCustomer_whenOrdersLoadedRepeatedly_thenNoCustomerSelects() {
+        // given - first load warms the cache
+        orderRepository.findById(savedOrder.getId()).orElseThrow();
+        SqlStatementCounter.reset();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            Order order = orderRepository.findById(savedOrder.getId()).orElseThrow();
+            assertThat(order.getCustomer().getFullName()).isEqualTo("Cached Customer");
+            assertThat(orderRepository.findAll()).hasSize(1);
+        }
+
+        // then
+        assertThat(SqlStatementCounter.selectsFrom("orders")).isEqualTo(6);
+        assertThat(SqlStatementCounter.selectsFrom("customers")).isZero();
+    }
+
+    @DisplayName("Natural-id lookups by email and SKU are served from the cache")
+    @Test
+    void givenNaturalIds_whenLookedUpTwice_thenSecondLookupHitsCache() {
+        // given
+        Product product = new Product();
+        product.setName("Mouse");
+        product.setPrice(new BigDecimal("15.50"));
+        product.setStockQuantity(10);
+        product.setSku("SKU-CACHE-1");
+        productRepository.save(product);
+
+        customerRepository.findByEmail("cached@customer.com").orElseThrow();
+        productRepository.findBySku("SKU-CACHE-1").orElseThrow();
+        SqlStatementCounter.reset();
+
+        // when
+        Customer customer = customerRepository.findByEmail("cached@customer.com").orElseThrow();
+        Product cached = productRepository.findBySku("SKU-CACHE-1").orElseThrow();
+
+        // then
+        assertThat(customer.getId()).isEqualTo(savedCustomer.getId());
+        assertThat(cached.getName()).isEqualTo("Mouse");
+        assertThat(SqlStatementCounter.selectsFrom("customers")).isZero();
+        assertThat(SqlStatementCounter.selectsFrom("products")).isZero();
+    }
+
+    @DisplayName("Writes to a customer evict the cached entry")
+    @Test
+    void givenCachedCustomer_whenCustomerUpdated_thenOrderSeesNewValues() {
+        // given
+        orderRepository.findById(savedOrder.getId()).orElseThrow();
+
+        // when
+        savedCustomer.setFullName("Renamed Customer");
+        customerRepository.save(savedCustomer);
+
+        // then
+        Order order = orderRepository.findById(savedOrder.getId()).orElseThrow();
+        assertThat(order.getCustomer().getFullName()).isEqualTo("Renamed Customer");
+        assertThat(customerRepository.findAll()).extracting(Customer::getFullName)
+                .containsExactly("Renamed Customer");
+    }
+}
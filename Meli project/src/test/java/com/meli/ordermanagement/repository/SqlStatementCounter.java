@@ -0,0 +1,30 @@
+package com.meli.ordermanagement.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Test helper: records every SQL statement Hibernate sends to the database. */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /** Number of SELECTs reading from the given table. */
+    public static long selectsFrom(String table) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .count();
+    }
+}
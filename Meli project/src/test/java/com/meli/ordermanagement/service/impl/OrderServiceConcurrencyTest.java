@@ -0,0 +1,162 @@
+package com.meli.ordermanagement.service.impl;
+
+import com.meli.ordermanagement.dto.OrderRequest;
+import com.meli.ordermanagement.dto.OrderResponse;
+import com.meli.ordermanagement.entity.Customer;
+import com.meli.ordermanagement.repository.CustomerRepository;
+import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.service.OrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the order service from many more threads than the pool has
+ * connections: every create must land exactly once, no call may fail and
+ * every connection must be back in the pool when the threads are done.
+ * <p>
+ * {@code updateOrder} overwrites the whole row (last write wins, no version
+ * column), so these tests do not cover lost updates of read-modify-write
+ * callers; the update test only checks that rows are never torn.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 25;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        customer = new Customer();
+        customer.setFullName("Concurrent Customer");
+        customer.setEmail("concurrent@customer.com");
+        customer.setRegistrationDate(OffsetDateTime.now());
+        customer = customerRepository.save(customer);
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @DisplayName("Concurrent creates persist every order once with a unique id")
+    @Test
+    void givenManyThreads_whenCreatingOrders_thenEveryOrderIsPersistedOnce() throws Exception {
+        // given
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // when
+        Queue<Throwable> errors = hammer(thread -> {
+            for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                OrderResponse created = orderService.createOrder(request("PENDIENTE", thread * 1000 + i));
+                ids.add(created.id());
+            }
+        });
+
+        // then
+        assertThat(errors).isEmpty();
+        assertThat(ids).hasSize(THREADS * CALLS_PER_THREAD);
+        assertThat(orderRepository.count()).isEqualTo(THREADS * CALLS_PER_THREAD);
+        assertPoolDrained();
+    }
+
+    @DisplayName("Concurrent updates of one order leave a row written by a single caller")
+    @Test
+    void givenOneOrder_whenUpdatedFromManyThreads_thenRowIsNotTorn() throws Exception {
+        // given
+        Long id = orderService.createOrder(request("PENDIENTE", 0)).id();
+
+        // when
+        Queue<Throwable> errors = hammer(thread -> {
+            for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                orderService.updateOrder(id, request("ENVIADO-" + thread, thread));
+            }
+        });
+
+        // then - the status and the address were written together
+        assertThat(errors).isEmpty();
+        OrderResponse order = orderService.getOrderResponseById(id).orElseThrow();
+        int writer = Integer.parseInt(order.status().substring("ENVIADO-".length()));
+        assertThat(order.shippingAddress()).isEqualTo("Calle " + writer);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertPoolDrained();
+    }
+
+    private OrderRequest request(String status, int n) {
+        return new OrderRequest(customer.getId(), status, "Calle " + n, BigDecimal.valueOf(1000 + n, 2));
+    }
+
+    private Queue<Throwable> hammer(Worker worker) throws InterruptedException {
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    worker.run(thread);
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS))
+                .as("workers finished (deadlock or pool exhaustion otherwise)")
+                .isTrue();
+        return errors;
+    }
+
+    private void assertPoolDrained() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertThat(THREADS).isGreaterThan(hikari.getMaximumPoolSize());
+        assertThat(hikari.getHikariPoolMXBean().getActiveConnections()).isZero();
+        assertThat(hikari.getHikariPoolMXBean().getThreadsAwaitingConnection()).isZero();
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+}
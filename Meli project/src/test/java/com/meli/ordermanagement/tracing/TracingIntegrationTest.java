@@ -0,0 +1,120 @@
+package com.meli.ordermanagement.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.OrderRequest;
+import com.meli.ordermanagement.entity.Customer;
+import com.meli.ordermanagement.repository.CustomerRepository;
+import com.meli.ordermanagement.repository.OrderRepository;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+
+    @TestConfiguration
+    static class InMemoryExporter {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spans;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Customer savedCustomer;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        Customer customer = new Customer();
+        customer.setFullName("Traced Customer");
+        customer.setEmail("traced@customer.com");
+        savedCustomer = customerRepository.save(customer);
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spans.reset();
+    }
+
+    // The OTel bridge kebab-cases span names: OrderController#createOrder -> order-controller#create-order
+    @DisplayName("POST /api/v1/orders produces nested request, controller, service, repository and SQL spans")
+    @Test
+    void givenCreateOrder_whenTraced_thenSpansNestByLayer() throws Exception {
+        // given
+        OrderRequest request = new OrderRequest(savedCustomer.getId(), "PENDIENTE", "1 Trace St", new BigDecimal("5.00"));
+
+        // when
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // then
+        SpanData server = spans.getFinishedSpanItems().stream()
+                .filter(s -> s.getKind() == SpanKind.SERVER)
+                .findFirst().orElseThrow();
+        List<SpanData> trace = spans.getFinishedSpanItems().stream()
+                .filter(s -> s.getTraceId().equals(server.getTraceId()))
+                .toList();
+
+        SpanData controller = named(trace, "order-controller#create-order");
+        SpanData service = named(trace, "order-service-impl#create-order");
+        SpanData save = named(trace, "order-repository#save");
+        SpanData serialize = named(trace, "serialize");
+
+        assertThat(controller.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(controller.getSpanId());
+        assertThat(save.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(trace).anySatisfy(sql -> {
+            assertThat(sql.getParentSpanId()).isEqualTo(save.getSpanId());
+            assertThat(sql.getName()).isEqualTo("query");
+        });
+        assertThat(serialize.getParentSpanId()).isEqualTo(server.getSpanId());
+    }
+
+    private static SpanData named(List<SpanData> trace, String name) {
+        return trace.stream().filter(s -> s.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError(name + " not in " + trace.stream().map(SpanData::getName).toList()));
+    }
+}
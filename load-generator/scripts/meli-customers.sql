@@ -0,0 +1,4 @@
+-- Clientes para la carga contra Meli project (la API no crea clientes).
+-- Ids 1..50: coinciden con el --customer-ids=1-50 por defecto del generador.
+INSERT INTO customers (full_name, email, registration_date, phone_number)
+SELECT 'Customer ' || X, 'customer' || X || '@example.com', CURRENT_TIMESTAMP, NULL FROM SYSTEM_RANGE(1, 50);
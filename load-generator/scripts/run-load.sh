@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Levanta el servicio con H2 en memoria, corre el generador de carga y lo detiene.
+# Resultados (summary.csv + *.hgrm) en load-generator/target/loadgen/<target>-<fecha>/.
+#
+#   scripts/run-load.sh order-service --concurrency=32 --duration=60s
+#   scripts/run-load.sh meli --mix=create:10,get:60,list:20,status:10
+#
+# Variables:
+#   PORT (8080), SERVER_CPUS / LOADGEN_CPUS (listas para taskset, p. ej. 0-3 y 4-7:
+#   separa servidor y generador para que no compitan por CPU), JAVA_OPTS (JVM del servidor),
+#   ADMISSION (false: desactiva el control de admisión de order-service para medir capacidad).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+ROOT="$(pwd)/.."
+TARGET="${1:-order-service}"; shift || true
+PORT="${PORT:-8080}"
+JAVA_OPTS="${JAVA_OPTS:--Xms1g -Xmx1g}"
+ADMISSION="${ADMISSION:-false}"
+
+pin() { # $1 = lista de CPUs (vacía = sin pinning)
+  if [[ -n "$1" ]] && command -v taskset >/dev/null; then echo "taskset -c $1"; fi
+}
+
+case "$TARGET" in
+  order-service)
+    APP_DIR="$ROOT/order-service"
+    APP_ARGS="--orders.admission.enabled=$ADMISSION"
+    ;;
+  meli)
+    APP_DIR="$ROOT/Meli project"
+    APP_ARGS="--spring.profiles.active=dev --spring.jpa.show-sql=false --spring.sql.init.mode=always"
+    APP_ARGS="$APP_ARGS --spring.sql.init.data-locations=file:$(pwd)/scripts/meli-customers.sql"
+    APP_ARGS="$APP_ARGS --spring.jpa.defer-datasource-initialization=true"
+    ;;
+  *) echo "target desconocido: $TARGET (order-service | meli)" >&2; exit 2 ;;
+esac
+
+(cd "$APP_DIR" && mvn -B -q -DskipTests package)
+mvn -B -q -DskipTests package
+APP_JAR="$(ls "$APP_DIR"/target/*-SNAPSHOT.jar | head -1)"
+
+$(pin "${SERVER_CPUS:-}") java $JAVA_OPTS -jar "$APP_JAR" --server.port="$PORT" $APP_ARGS > "target/$TARGET-server.log" 2>&1 &
+SERVER_PID=$!
+trap 'kill $SERVER_PID 2>/dev/null || true; wait $SERVER_PID 2>/dev/null || true' EXIT
+
+until curl -fs -o /dev/null "http://localhost:$PORT/actuator/health"; do
+  if ! kill -0 "$SERVER_PID" 2>/dev/null; then echo "el servidor terminó; ver target/$TARGET-server.log" >&2; exit 1; fi
+  sleep 0.5
+done
+
+OUT="target/loadgen/$TARGET-$(date +%Y%m%d-%H%M%S)"
+$(pin "${LOADGEN_CPUS:-}") java -jar target/load-generator.jar \
+  --target="$TARGET" --base-url="http://localhost:$PORT" --out="$OUT" "$@"
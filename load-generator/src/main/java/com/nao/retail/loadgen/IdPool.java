@@ -0,0 +1,30 @@
+package com.nao.retail.loadgen;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** Últimos ids creados (buffer circular) para los GET y cambios de estado. */
+public class IdPool {
+
+    private final AtomicReferenceArray<String> ids;
+    private final AtomicLong written = new AtomicLong();
+
+    public IdPool(int capacity) {
+        this.ids = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(String id) {
+        ids.set((int) (written.getAndIncrement() % ids.length()), id);
+    }
+
+    /** Id al azar entre los guardados, o null si todavía no hay ninguno. */
+    public String random(Random random) {
+        long n = Math.min(written.get(), ids.length());
+        return n == 0 ? null : ids.get(random.nextInt((int) n));
+    }
+
+    public long size() {
+        return Math.min(written.get(), ids.length());
+    }
+}
@@ -0,0 +1,107 @@
+package com.nao.retail.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la corrida, como argumentos --clave=valor.
+ * Ejemplo: --target=order-service --concurrency=32 --duration=60s --mix=create:20,get:50,list:20,status:10
+ */
+public class LoadConfig {
+
+    static final String USAGE = String.join("\n",
+            "Uso: java -jar load-generator.jar [--clave=valor ...]",
+            "  --target=order-service|meli        API destino (order-service)",
+            "  --base-url=URL                     (http://localhost:8080)",
+            "  --concurrency=N                    workers concurrentes (16)",
+            "  --duration=60s                     duración medida (s, m o ms)",
+            "  --warmup=10s                       calentamiento descartado",
+            "  --rate=0                           requests/s totales; 0 = lazo cerrado (máximo)",
+            "  --mix=create:20,get:50,list:20,status:10",
+            "  --items=1:50,2:30,5:15,20:5        ítems por orden creada (cantidad:peso)",
+            "  --page-size=20                     tamaño de página en list",
+            "  --prefill=200                      órdenes creadas antes de empezar",
+            "  --customer-ids=1-50                clientes existentes (sólo meli)",
+            "  --timeout=5s                       timeout por request",
+            "  --report-interval=5s               reporte parcial por consola",
+            "  --seed=42                          semilla para repetir la misma secuencia",
+            "  --out=target/loadgen               directorio de resultados (summary.csv, *.hgrm)");
+
+    String target = "order-service";
+    String baseUrl = "http://localhost:8080";
+    int concurrency = 16;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    double rate = 0;
+    WeightedChoice<Operation> mix = WeightedChoice.parse("create:20,get:50,list:20,status:10", Operation::of);
+    WeightedChoice<Integer> items = WeightedChoice.parse("1:50,2:30,5:15,20:5", Integer::valueOf);
+    int pageSize = 20;
+    int prefill = 200;
+    long customerIdFrom = 1;
+    long customerIdTo = 50;
+    Duration timeout = Duration.ofSeconds(5);
+    Duration reportInterval = Duration.ofSeconds(5);
+    long seed = 42;
+    Path out = Path.of("target", "loadgen");
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument '" + arg + "'\n" + USAGE);
+            }
+            int eq = arg.indexOf('=');
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        LoadConfig c = new LoadConfig();
+        for (Map.Entry<String, String> e : opts.entrySet()) {
+            String v = e.getValue();
+            switch (e.getKey()) {
+                case "target" -> c.target = v;
+                case "base-url" -> c.baseUrl = v.endsWith("/") ? v.substring(0, v.length() - 1) : v;
+                case "concurrency" -> c.concurrency = Integer.parseInt(v);
+                case "duration" -> c.duration = duration(v);
+                case "warmup" -> c.warmup = duration(v);
+                case "rate" -> c.rate = Double.parseDouble(v);
+                case "mix" -> c.mix = WeightedChoice.parse(v, Operation::of);
+                case "items" -> c.items = WeightedChoice.parse(v, Integer::valueOf);
+                case "page-size" -> c.pageSize = Integer.parseInt(v);
+                case "prefill" -> c.prefill = Integer.parseInt(v);
+                case "customer-ids" -> {
+                    String[] range = v.split("-");
+                    c.customerIdFrom = Long.parseLong(range[0].trim());
+                    c.customerIdTo = Long.parseLong(range[range.length - 1].trim());
+                }
+                case "timeout" -> c.timeout = duration(v);
+                case "report-interval" -> c.reportInterval = duration(v);
+                case "seed" -> c.seed = Long.parseLong(v);
+                case "out" -> c.out = Path.of(v);
+                default -> throw new IllegalArgumentException("Unknown option --" + e.getKey() + "\n" + USAGE);
+            }
+        }
+        if (c.concurrency < 1) {
+            throw new IllegalArgumentException("--concurrency must be >= 1");
+        }
+        if (!c.target.equals("order-service") && !c.target.equals("meli")) {
+            throw new IllegalArgumentException("--target must be order-service or meli");
+        }
+        return c;
+    }
+
+    /** "500ms", "30s", "2m" o segundos sin unidad. */
+    static Duration duration(String v) {
+        String s = v.trim().toLowerCase();
+        if (s.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(s.substring(0, s.length() - 2)));
+        }
+        if (s.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(s.substring(0, s.length() - 1)));
+        }
+        if (s.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(s.substring(0, s.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(s));
+    }
+}
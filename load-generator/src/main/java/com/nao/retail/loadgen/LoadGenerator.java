@@ -0,0 +1,162 @@
+package com.nao.retail.loadgen;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga para order-service / Meli project.
+ * <p>
+ * N workers ejecutan la mezcla de operaciones configurada. Sin --rate cada worker
+ * manda el siguiente request apenas recibe la respuesta (lazo cerrado: mide el
+ * throughput máximo). Con --rate los requests salen a intervalos fijos y la latencia
+ * se mide desde el instante programado, así una pausa del servidor no se esconde
+ * (coordinated omission).
+ */
+public class LoadGenerator {
+
+    private final LoadConfig config;
+    private final TargetApi api;
+    private final LoadStats stats = new LoadStats();
+    private final IdPool ids = new IdPool(100_000);
+    private final HttpClient client;
+
+    public LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.api = TargetApi.of(config);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout)
+                .executor(Executors.newFixedThreadPool(Math.max(2, config.concurrency / 4)))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.println(LoadConfig.USAGE);
+            return;
+        }
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(config).run();
+        System.exit(0);
+    }
+
+    public void run() throws Exception {
+        System.out.printf(Locale.ROOT, "target=%s url=%s concurrency=%d rate=%s duration=%ds warmup=%ds seed=%d%n",
+                config.target, config.baseUrl, config.concurrency,
+                config.rate > 0 ? config.rate + "/s" : "max", config.duration.toSeconds(),
+                config.warmup.toSeconds(), config.seed);
+        prefill();
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        List<Thread> workers = new ArrayList<>(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            int worker = i;
+            Thread t = new Thread(() -> work(worker, start, end), "w" + i);
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+
+        sleepUntil(measureFrom);
+        stats.reset();
+        System.out.println("-- calentamiento terminado, midiendo --");
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        double intervalSeconds = config.reportInterval.toMillis() / 1000.0;
+        reporter.scheduleAtFixedRate(() -> stats.reportInterval(System.out, intervalSeconds),
+                config.reportInterval.toMillis(), config.reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        for (Thread t : workers) {
+            t.join(Math.max(1, (end - System.nanoTime()) / 1_000_000) + config.timeout.toMillis() + 1_000);
+        }
+        reporter.shutdownNow();
+        reporter.awaitTermination(1, TimeUnit.SECONDS);
+        stats.reportInterval(System.out, intervalSeconds);
+
+        double measured = config.duration.toNanos() / 1e9;
+        System.out.println();
+        stats.writeSummary(System.out, config.out, config.target, measured);
+        System.out.println("Resultados en " + config.out.toAbsolutePath());
+    }
+
+    /** Crea órdenes iniciales para que GET/STATUS tengan ids desde el primer momento. */
+    private void prefill() throws IOException, InterruptedException {
+        Random random = new Random(config.seed - 1);
+        int failures = 0;
+        for (int i = 0; i < config.prefill; i++) {
+            HttpResponse<String> response = client.send(
+                    api.request(Operation.CREATE, null, random), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                ids.add(api.createdId(response.body()));
+            } else if (++failures > 10) {
+                throw new IllegalStateException("Prefill failed: HTTP " + response.statusCode() + " " + response.body());
+            }
+        }
+        System.out.println("prefill: " + ids.size() + " ids");
+    }
+
+    private void work(int worker, long start, long end) {
+        Random random = new Random(config.seed + worker);
+        long interval = config.rate > 0 ? (long) (config.concurrency * 1e9 / config.rate) : 0;
+        // desfasar los workers para no disparar todos a la vez
+        long next = start + (interval > 0 ? interval * worker / config.concurrency : 0);
+        while (!Thread.currentThread().isInterrupted()) {
+            if (interval > 0) {
+                sleepUntil(next);
+            }
+            long intended = interval > 0 ? next : System.nanoTime();
+            if (intended >= end) {
+                return;
+            }
+            execute(pick(random), random, intended);
+            next += interval;
+        }
+    }
+
+    /** Operación de la mezcla; GET/STATUS caen en CREATE mientras no haya ids. */
+    private Operation pick(Random random) {
+        Operation op = config.mix.pick(random);
+        return (op == Operation.GET || op == Operation.STATUS) && ids.size() == 0 ? Operation.CREATE : op;
+    }
+
+    private void execute(Operation op, Random random, long intendedStart) {
+        String id = (op == Operation.GET || op == Operation.STATUS) ? ids.random(random) : null;
+        HttpRequest request = api.request(op, id, random);
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(op, System.nanoTime() - intendedStart, response.statusCode());
+            if (op == Operation.CREATE && response.statusCode() / 100 == 2) {
+                ids.add(api.createdId(response.body()));
+            }
+        } catch (IOException ex) {
+            stats.recordFailure(op, System.nanoTime() - intendedStart);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
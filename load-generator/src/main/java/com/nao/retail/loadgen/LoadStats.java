@@ -0,0 +1,125 @@
+package com.nao.retail.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (microsegundos, HdrHistogram) y contadores por operación.
+ * Los workers graban en {@link Recorder}s sin bloqueo; el hilo de reporte toma
+ * histogramas por intervalo y los acumula en el total.
+ */
+public class LoadStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> intervalScratch = new EnumMap<>(Operation.class);
+
+    public LoadStats() {
+        for (Operation op : Operation.values()) {
+            recorders.put(op, new Recorder(MAX_LATENCY_MICROS, 3));
+            totals.put(op, new Histogram(MAX_LATENCY_MICROS, 3));
+            errors.put(op, new LongAdder());
+            rejected.put(op, new LongAdder());
+        }
+    }
+
+    /** Request completado (cualquier status HTTP); 429/503 se cuentan como rechazados por admisión. */
+    public void record(Operation op, long latencyNanos, int status) {
+        recorders.get(op).recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+        if (status == 429 || status == 503) {
+            rejected.get(op).increment();
+        } else if (status >= 400) {
+            errors.get(op).increment();
+        }
+    }
+
+    /** Error de transporte (timeout, conexión rechazada). */
+    public void recordFailure(Operation op, long latencyNanos) {
+        recorders.get(op).recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+        errors.get(op).increment();
+    }
+
+    /** Descarta lo grabado hasta ahora (fin del calentamiento). */
+    public synchronized void reset() {
+        for (Operation op : Operation.values()) {
+            intervalScratch.put(op, recorders.get(op).getIntervalHistogram(intervalScratch.get(op)));
+            totals.get(op).reset();
+            errors.get(op).reset();
+            rejected.get(op).reset();
+        }
+    }
+
+    /** Cierra el intervalo actual, lo suma al total e imprime una línea de resumen. */
+    public synchronized void reportInterval(PrintStream out, double seconds) {
+        Histogram interval = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (Operation op : Operation.values()) {
+            Histogram h = recorders.get(op).getIntervalHistogram(intervalScratch.get(op));
+            intervalScratch.put(op, h);
+            totals.get(op).add(h);
+            interval.add(h);
+        }
+        out.printf(Locale.ROOT, "%8.0f req/s  p50=%7.2f ms  p99=%8.2f ms  max=%8.2f ms%n",
+                interval.getTotalCount() / seconds, ms(interval.getValueAtPercentile(50)),
+                ms(interval.getValueAtPercentile(99)), ms(interval.getMaxValue()));
+    }
+
+    /** Tabla final por consola, summary.csv y un .hgrm por operación en dir. */
+    public synchronized void writeSummary(PrintStream out, Path dir, String target, double seconds) throws IOException {
+        Files.createDirectories(dir);
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(dir.resolve("summary.csv")))) {
+            csv.println("target,operation,count,errors,rejected,throughput_per_s,mean_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            out.printf("%-8s %9s %7s %8s %9s %9s %9s %9s %9s %9s%n",
+                    "op", "count", "errors", "rejected", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Operation op : Operation.values()) {
+                Histogram h = totals.get(op);
+                if (h.getTotalCount() == 0) {
+                    continue;
+                }
+                all.add(h);
+                line(out, csv, target, op.label(), h, errors.get(op).sum(), rejected.get(op).sum(), seconds);
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve(op.label() + ".hgrm")))) {
+                    h.outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+            long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+            long totalRejected = rejected.values().stream().mapToLong(LongAdder::sum).sum();
+            line(out, csv, target, "all", all, totalErrors, totalRejected, seconds);
+        }
+        try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve("all.hgrm")))) {
+            all.outputPercentileDistribution(hgrm, 1000.0);
+        }
+    }
+
+    private static void line(PrintStream out, PrintWriter csv, String target, String op, Histogram h,
+                             long errors, long rejected, double seconds) {
+        double rps = h.getTotalCount() / seconds;
+        out.printf(Locale.ROOT, "%-8s %9d %7d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                op, h.getTotalCount(), errors, rejected, rps, ms(h.getValueAtPercentile(50)),
+                ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        csv.printf(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                target, op, h.getTotalCount(), errors, rejected, rps, h.getMean() / 1000.0,
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nao.retail.loadgen;
+
+import java.util.Locale;
+
+/** Tipos de request que genera la carga. */
+public enum Operation {
+    CREATE, GET, LIST, STATUS;
+
+    public static Operation of(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,126 @@
+package com.nao.retail.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Random;
+
+/** Arma los requests de cada operación según la API destino. */
+public abstract class TargetApi {
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected final LoadConfig config;
+
+    protected TargetApi(LoadConfig config) {
+        this.config = config;
+    }
+
+    public static TargetApi of(LoadConfig config) {
+        return config.target.equals("meli") ? new Meli(config) : new OrderService(config);
+    }
+
+    /** Request de la operación; id es null para CREATE y LIST. */
+    public abstract HttpRequest request(Operation op, String id, Random random);
+
+    /** Id de la orden creada, leído de la respuesta del CREATE. */
+    public String createdId(String body) throws IOException {
+        return MAPPER.readTree(body).get("id").asText();
+    }
+
+    protected HttpRequest.Builder builder(String path, String clientId) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl + path))
+                .timeout(config.timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("X-Client-Id", clientId);
+    }
+
+    protected static String clientId() {
+        return "loadgen-" + Thread.currentThread().getName();
+    }
+
+    /** order-service: UUIDs, ítems embebidos, PATCH de estado. */
+    static class OrderService extends TargetApi {
+
+        private static final String[] STATUSES = { "PAID", "SHIPPED", "CANCELLED" };
+
+        OrderService(LoadConfig config) {
+            super(config);
+        }
+
+        @Override
+        public HttpRequest request(Operation op, String id, Random random) {
+            return switch (op) {
+                case CREATE -> builder("/api/v1/orders", clientId())
+                        .POST(HttpRequest.BodyPublishers.ofString(createBody(random))).build();
+                case GET -> builder("/api/v1/orders/" + id, clientId()).GET().build();
+                case LIST -> builder("/api/v1/orders?page=" + random.nextInt(5) + "&size=" + config.pageSize, clientId())
+                        .GET().build();
+                case STATUS -> builder("/api/v1/orders/" + id + "/status", clientId())
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}"))
+                        .build();
+            };
+        }
+
+        private String createBody(Random random) {
+            int count = config.items.pick(random);
+            StringBuilder items = new StringBuilder();
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < count; i++) {
+                int quantity = 1 + random.nextInt(3);
+                BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(10_000), 2);
+                total = total.add(price.multiply(BigDecimal.valueOf(quantity)));
+                if (i > 0) {
+                    items.append(',');
+                }
+                items.append("{\"sku\":\"SKU-").append(random.nextInt(5_000))
+                        .append("\",\"name\":\"Item ").append(i)
+                        .append("\",\"quantity\":").append(quantity)
+                        .append(",\"unitPrice\":").append(price).append('}');
+            }
+            int customer = random.nextInt(10_000);
+            return "{\"customerName\":\"Customer " + customer + "\",\"customerEmail\":\"c" + customer
+                    + "@example.com\",\"items\":[" + items + "],\"totalAmount\":" + total + "}";
+        }
+    }
+
+    /**
+     * Meli project: ids Long, la orden referencia un cliente existente y no tiene ítems
+     * (la distribución de ítems sólo afecta el total); el cambio de estado es un PUT completo.
+     */
+    static class Meli extends TargetApi {
+
+        private static final String[] STATUSES = { "PENDIENTE", "PAGADA", "ENVIADA", "ENTREGADA", "CANCELADA" };
+
+        Meli(LoadConfig config) {
+            super(config);
+        }
+
+        @Override
+        public HttpRequest request(Operation op, String id, Random random) {
+            return switch (op) {
+                case CREATE -> builder("/api/v1/orders", clientId())
+                        .POST(HttpRequest.BodyPublishers.ofString(body(random, "PENDIENTE"))).build();
+                case GET -> builder("/api/v1/orders/" + id, clientId()).GET().build();
+                case LIST -> builder("/api/v1/orders", clientId()).GET().build();
+                case STATUS -> builder("/api/v1/orders/" + id, clientId())
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                body(random, STATUSES[random.nextInt(STATUSES.length)])))
+                        .build();
+            };
+        }
+
+        private String body(Random random, String status) {
+            long customer = config.customerIdFrom
+                    + (long) (random.nextDouble() * (config.customerIdTo - config.customerIdFrom + 1));
+            BigDecimal total = BigDecimal.valueOf((long) config.items.pick(random) * (100 + random.nextInt(10_000)), 2);
+            return "{\"customerId\":" + customer + ",\"status\":\"" + status
+                    + "\",\"shippingAddress\":\"Calle " + random.nextInt(1000) + "\",\"total\":" + total + "}";
+        }
+    }
+}
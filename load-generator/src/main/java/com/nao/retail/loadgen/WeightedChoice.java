@@ -0,0 +1,64 @@
+package com.nao.retail.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/** Elección aleatoria ponderada, definida como "valor:peso,valor:peso,...". */
+public class WeightedChoice<T> {
+
+    private final List<T> values = new ArrayList<>();
+    private final List<Double> cumulative = new ArrayList<>();
+    private double total;
+
+    public static <T> WeightedChoice<T> parse(String spec, Function<String, T> parser) {
+        WeightedChoice<T> choice = new WeightedChoice<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected value:weight but got '" + part + "' in " + spec);
+            }
+            choice.add(parser.apply(kv[0].trim()), Double.parseDouble(kv[1].trim()));
+        }
+        if (choice.total <= 0) {
+            throw new IllegalArgumentException("Weights must add up to more than 0: " + spec);
+        }
+        return choice;
+    }
+
+    public void add(T value, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for " + value);
+        }
+        total += weight;
+        values.add(value);
+        cumulative.add(total);
+    }
+
+    public T pick(Random random) {
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < values.size(); i++) {
+            if (r < cumulative.get(i)) {
+                return values.get(i);
+            }
+        }
+        return values.get(values.size() - 1);
+    }
+
+    public List<T> values() {
+        return values;
+    }
+
+    /** Proporción de un valor sobre el total (0 si no está). */
+    public double share(T value) {
+        double previous = 0;
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i).equals(value)) {
+                return (cumulative.get(i) - previous) / total;
+            }
+            previous = cumulative.get(i);
+        }
+        return 0;
+    }
+}
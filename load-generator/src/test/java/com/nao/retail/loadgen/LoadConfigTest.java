@@ -0,0 +1,47 @@
+package com.nao.retail.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadConfigTest {
+
+    @Test
+    void parsesMixItemsAndDurations() {
+        LoadConfig c = LoadConfig.parse(new String[] {
+                "--target=meli", "--base-url=http://localhost:9090/", "--duration=2m", "--warmup=500ms",
+                "--mix=create:1,get:3", "--items=1:1,10:1", "--customer-ids=5-9"});
+
+        assertEquals("http://localhost:9090", c.baseUrl);
+        assertEquals(Duration.ofMinutes(2), c.duration);
+        assertEquals(Duration.ofMillis(500), c.warmup);
+        assertEquals(0.75, c.mix.share(Operation.GET), 1e-9);
+        assertEquals(0.0, c.mix.share(Operation.LIST), 1e-9);
+        assertEquals(5, c.customerIdFrom);
+        assertEquals(9, c.customerIdTo);
+    }
+
+    @Test
+    void weightedChoiceFollowsWeightsAndIsReproducible() {
+        WeightedChoice<Operation> mix = WeightedChoice.parse("create:20,get:80", Operation::of);
+        Random random = new Random(42);
+        int gets = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (mix.pick(random) == Operation.GET) {
+                gets++;
+            }
+        }
+        assertEquals(0.8, gets / 10_000.0, 0.02);
+        assertEquals(mix.pick(new Random(7)), mix.pick(new Random(7)));
+    }
+
+    @Test
+    void rejectsUnknownOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--threads=4"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--mix=create"}));
+    }
+}
@@ -0,0 +1,12 @@
+package com.nao.retail.orders.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/** Servicio de sólo lectura (WebFlux + R2DBC) sobre las tablas orders/order_items. */
+@SpringBootApplication
+public class OrderReactiveApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(OrderReactiveApplication.class, args);
+    }
+}
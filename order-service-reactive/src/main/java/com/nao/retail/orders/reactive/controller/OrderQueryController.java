@@ -0,0 +1,85 @@
+package com.nao.retail.orders.reactive.controller;
+
+import com.nao.retail.orders.reactive.dto.OrderResponse;
+import com.nao.retail.orders.reactive.entity.OrderStatus;
+import com.nao.retail.orders.reactive.exception.ResourceNotFoundException;
+import com.nao.retail.orders.reactive.repository.OrderReadRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * API REST reactiva de lectura de órdenes.
+ * Base path: /api/v1/orders (mismas rutas de lectura que order-service).
+ */
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderQueryController {
+
+    private final OrderReadRepository repo;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxIds;
+
+    public OrderQueryController(OrderReadRepository repo,
+                                @Value("${orders.multi-get.batch-size:100}") int batchSize,
+                                @Value("${orders.multi-get.concurrency:4}") int concurrency,
+                                @Value("${orders.multi-get.max-ids:500}") int maxIds) {
+        this.repo = repo;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxIds = maxIds;
+    }
+
+    /** Obtener por id */
+    @GetMapping("/{id}")
+    public Mono<OrderResponse> get(@PathVariable UUID id) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order not found: " + id)));
+    }
+
+    /** Listar con paginación y filtro opcional por estado */
+    @GetMapping
+    public Mono<Page<OrderResponse>> list(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return Mono.zip(repo.findPage(status, page, size).collectList(), repo.count(status))
+                .map(t -> new PageImpl<>(t.getT1(), PageRequest.of(page, size), t.getT2()));
+    }
+
+    /** Multi-get: ?ids=a,b,c; respuesta NDJSON emitida a medida que se resuelve cada lote */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> stream(@RequestParam List<UUID> ids) {
+        return multiGet(ids);
+    }
+
+    /** Multi-get con los ids en el body (listas grandes) */
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> streamPost(@RequestBody List<UUID> ids) {
+        return multiGet(ids);
+    }
+
+    /**
+     * Lotes de batchSize ids, varios en vuelo a la vez, conservando el orden pedido.
+     * Más de max-ids distintos: 400 antes de consultar.
+     */
+    private Flux<OrderResponse> multiGet(List<UUID> ids) {
+        LinkedHashSet<UUID> unique = new LinkedHashSet<>(ids);
+        if (unique.size() > maxIds) {
+            throw new IllegalArgumentException("Too many ids: " + unique.size() + " (max " + maxIds + ")");
+        }
+        return Flux.fromIterable(unique)
+                .buffer(batchSize)
+                .flatMapSequential(repo::findAllById, concurrency);
+    }
+}
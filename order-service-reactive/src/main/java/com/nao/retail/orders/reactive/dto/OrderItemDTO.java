@@ -0,0 +1,24 @@
+package com.nao.retail.orders.reactive.dto;
+
+import java.math.BigDecimal;
+
+/** Item DTO para responses. */
+public class OrderItemDTO {
+    private String sku;
+    private String name;
+    private int quantity;
+    private BigDecimal unitPrice;
+
+    // getters & setters
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+}
@@ -0,0 +1,6 @@
+package com.nao.retail.orders.reactive.entity;
+
+/** Estados posibles de una orden (los mismos que order-service, que escribe la tabla). */
+public enum OrderStatus {
+    NEW, PAID, SHIPPED, CANCELLED, ARCHIVED
+}
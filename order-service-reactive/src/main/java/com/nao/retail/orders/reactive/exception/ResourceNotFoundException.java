@@ -0,0 +1,6 @@
+package com.nao.retail.orders.reactive.exception;
+
+/** Excepción 404 para recursos inexistentes. */
+public class ResourceNotFoundException extends RuntimeException {
+    public ResourceNotFoundException(String message) { super(message); }
+}
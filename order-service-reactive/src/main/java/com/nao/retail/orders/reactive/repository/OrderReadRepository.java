@@ -0,0 +1,124 @@
+package com.nao.retail.orders.reactive.repository;
+
+import com.nao.retail.orders.reactive.dto.OrderItemDTO;
+import com.nao.retail.orders.reactive.dto.OrderResponse;
+import com.nao.retail.orders.reactive.entity.OrderStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Lecturas no bloqueantes sobre orders/order_items. Cada lote de órdenes se
+ * resuelve con dos consultas: las filas de orders y sus ítems con un único IN (...).
+ */
+@Repository
+public class OrderReadRepository {
+
+    private static final String ORDER_COLUMNS =
+            "id, customer_name, customer_email, total_amount, status, created_at, updated_at";
+
+    private final DatabaseClient db;
+
+    public OrderReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<OrderResponse> findById(UUID id) {
+        return findAllById(List.of(id)).next();
+    }
+
+    /** Órdenes de los ids dados, en el orden de la lista (los inexistentes se omiten). */
+    public Flux<OrderResponse> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return db.sql("SELECT " + ORDER_COLUMNS + " FROM orders WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(OrderReadRepository::toOrder)
+                .all()
+                .collectMap(OrderResponse::getId)
+                .flatMapMany(byId -> withItems(ids.stream()
+                        .map(byId::get)
+                        .filter(o -> o != null)
+                        .toList()));
+    }
+
+    /** Página de órdenes, opcionalmente filtrada por estado. */
+    public Flux<OrderResponse> findPage(OrderStatus status, int page, int size) {
+        String where = status == null ? "" : " WHERE status = :status";
+        DatabaseClient.GenericExecuteSpec spec = db.sql("SELECT " + ORDER_COLUMNS + " FROM orders" + where
+                        + " ORDER BY created_at DESC, id LIMIT :limit OFFSET :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map(OrderReadRepository::toOrder)
+                .all()
+                .collectList()
+                .flatMapMany(this::withItems);
+    }
+
+    public Mono<Long> count(OrderStatus status) {
+        DatabaseClient.GenericExecuteSpec spec = (status == null)
+                ? db.sql("SELECT COUNT(*) FROM orders")
+                : db.sql("SELECT COUNT(*) FROM orders WHERE status = :status").bind("status", status.name());
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * Completa las órdenes con sus ítems usando una sola consulta IN (...). order_items no
+     * guarda posición: se ordenan por sku y nombre para que cada lectura dé el mismo orden.
+     */
+    private Flux<OrderResponse> withItems(List<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<UUID, OrderResponse> byId = new HashMap<>();
+        orders.forEach(o -> {
+            o.setItems(new ArrayList<>());
+            byId.put(o.getId(), o);
+        });
+        return db.sql("SELECT order_id, sku, name, quantity, unit_price FROM order_items WHERE order_id IN (:ids)"
+                        + " ORDER BY order_id, sku, name")
+                .bind("ids", byId.keySet())
+                .map(row -> {
+                    byId.get(row.get("order_id", UUID.class)).getItems().add(toItem(row));
+                    return 1;
+                })
+                .all()
+                .thenMany(Flux.fromIterable(orders));
+    }
+
+    private static OrderResponse toOrder(Readable row) {
+        OrderResponse r = new OrderResponse();
+        r.setId(row.get("id", UUID.class));
+        r.setCustomerName(row.get("customer_name", String.class));
+        r.setCustomerEmail(row.get("customer_email", String.class));
+        r.setTotalAmount(row.get("total_amount", BigDecimal.class));
+        r.setStatus(OrderStatus.valueOf(row.get("status", String.class)));
+        r.setCreatedAt(row.get("created_at", OffsetDateTime.class));
+        r.setUpdatedAt(row.get("updated_at", OffsetDateTime.class));
+        return r;
+    }
+
+    private static OrderItemDTO toItem(Readable row) {
+        OrderItemDTO d = new OrderItemDTO();
+        d.setSku(row.get("sku", String.class));
+        d.setName(row.get("name", String.class));
+        d.setQuantity(row.get("quantity", Integer.class));
+        d.setUnitPrice(row.get("unit_price", BigDecimal.class));
+        return d;
+    }
+}
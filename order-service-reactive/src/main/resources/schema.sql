@@ -0,0 +1,21 @@
+-- Mismo esquema que genera Hibernate en order-service (orders + order_items)
+CREATE TABLE IF NOT EXISTS orders (
+    id UUID PRIMARY KEY,
+    customer_name VARCHAR(255) NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    total_amount NUMERIC(12, 2) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    order_id UUID NOT NULL REFERENCES orders (id),
+    sku VARCHAR(255),
+    name VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(38, 2)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status);
@@ -0,0 +1,168 @@
+package com.nao.retail.orders.reactive.controller;
+
+import com.nao.retail.orders.reactive.dto.OrderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class OrderQueryControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient db;
+
+    private UUID paid;
+    private UUID fresh;
+
+    @BeforeEach
+    void setup() {
+        db.sql("DELETE FROM order_items").then().block();
+        db.sql("DELETE FROM orders").then().block();
+        paid = insert("PAID", 2);
+        fresh = insert("NEW", 1);
+    }
+
+    @DisplayName("GET /api/v1/orders/{id} devuelve la orden con sus ítems")
+    @Test
+    void givenId_whenGet_thenOrderWithItems() {
+        client.get().uri("/api/v1/orders/{id}", paid)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("PAID")
+                .jsonPath("$.items.length()").isEqualTo(2);
+    }
+
+    @DisplayName("GET /api/v1/orders/{id} inexistente responde 404")
+    @Test
+    void givenUnknownId_whenGet_thenNotFound() {
+        client.get().uri("/api/v1/orders/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @DisplayName("GET /api/v1/orders?status filtra y pagina")
+    @Test
+    void givenStatus_whenList_thenFilteredPage() {
+        client.get().uri("/api/v1/orders?status=NEW")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(fresh.toString());
+    }
+
+    @DisplayName("Las órdenes archivadas por el barrido de order-service se leen y se filtran")
+    @Test
+    void givenArchivedOrder_whenGetAndList_thenStatusIsArchived() {
+        // given
+        UUID archived = insert("ARCHIVED", 1);
+
+        // when / then
+        client.get().uri("/api/v1/orders/{id}", archived)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("ARCHIVED");
+        client.get().uri("/api/v1/orders?status=ARCHIVED")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(archived.toString());
+    }
+
+    @DisplayName("POST /api/v1/orders/stream emite NDJSON en el orden pedido")
+    @Test
+    void givenIds_whenStream_thenOrdersInRequestOrder() {
+        List<OrderResponse> body = client.post().uri("/api/v1/orders/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(List.of(fresh, UUID.randomUUID(), paid))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(OrderResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(body).extracting(OrderResponse::getId).containsExactly(fresh, paid);
+        assertThat(body.get(1).getItems()).hasSize(2);
+    }
+
+    @DisplayName("POST /api/v1/orders/stream con más ids que max-ids responde 400 sin consultar")
+    @Test
+    void givenTooManyIds_whenStream_thenBadRequest() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(501).toList();
+
+        client.post().uri("/api/v1/orders/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .bodyValue(ids)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Too many ids: 501 (max 500)");
+    }
+
+    @DisplayName("Los ítems de cada orden salen siempre en el mismo orden (por sku)")
+    @Test
+    void givenItemsInsertedOutOfOrder_whenGet_thenItemsSortedBySku() {
+        // given
+        UUID id = insert("NEW", 0);
+        for (String sku : List.of("SKU-2", "SKU-0", "SKU-1")) {
+            db.sql("INSERT INTO order_items (order_id, sku, name, quantity, unit_price)"
+                            + " VALUES (:id, :sku, 'Mouse', 1, 5.00)")
+                    .bind("id", id)
+                    .bind("sku", sku)
+                    .then().block();
+        }
+
+        // when / then
+        client.get().uri("/api/v1/orders/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].sku").isEqualTo("SKU-0")
+                .jsonPath("$.items[1].sku").isEqualTo("SKU-1")
+                .jsonPath("$.items[2].sku").isEqualTo("SKU-2");
+    }
+
+    private UUID insert(String status, int items) {
+        UUID id = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        db.sql("INSERT INTO orders (id, customer_name, customer_email, total_amount, status, created_at, updated_at)"
+                        + " VALUES (:id, 'Test Customer', 'test@customer.com', 10.00, :status, :now, :now)")
+                .bind("id", id)
+                .bind("status", status)
+                .bind("now", now)
+                .then().block();
+        for (int i = 0; i < items; i++) {
+            db.sql("INSERT INTO order_items (order_id, sku, name, quantity, unit_price)"
+                            + " VALUES (:id, :sku, 'Mouse', 1, :price)")
+                    .bind("id", id)
+                    .bind("sku", "SKU-" + i)
+                    .bind("price", new BigDecimal("5.00"))
+                    .then().block();
+        }
+        return id;
+    }
+}
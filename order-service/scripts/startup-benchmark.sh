@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta el primer request (time-to-first-request) del servicio.
+# Compara el jar normal contra el artefacto de arranque rápido (AOT + CDS).
+#
+#   mvn -DskipTests package                    # jar normal
+#   mvn -Pfast-startup -DskipTests package     # target/fast-startup/ (AOT + app.jsa)
+#   scripts/startup-benchmark.sh [runs]
+#
+# Variables: PORT (8080), URL (http://localhost:$PORT/ping), EXTRA_ARGS (args extra para la app).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="${URL:-http://localhost:${PORT}/ping}"
+EXTRA_ARGS="${EXTRA_ARGS:-}"
+JAR="$(ls target/*-SNAPSHOT.jar 2>/dev/null | head -1 || true)"
+FAST_DIR="target/fast-startup"
+
+now_ms() { date +%s%3N; }
+
+# $1 = etiqueta, $2.. = comando java
+measure() {
+  local label="$1"; shift
+  local total=0
+  for i in $(seq 1 "$RUNS"); do
+    local start; start=$(now_ms)
+    "$@" --server.port="$PORT" $EXTRA_ARGS > /dev/null 2>&1 &
+    local pid=$!
+    until curl -fs -o /dev/null "$URL"; do
+      if ! kill -0 "$pid" 2>/dev/null; then echo "$label: la app terminó antes de responder" >&2; exit 1; fi
+      sleep 0.05
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    total=$(( total + elapsed ))
+    echo "$label run $i: ${elapsed} ms"
+  done
+  echo "$label promedio: $(( total / RUNS )) ms"
+}
+
+if [[ -n "$JAR" && -f "$JAR" && ! -f "$FAST_DIR/app.jsa" ]]; then
+  measure "jar" java -jar "$JAR" --spring.profiles.active=prod
+fi
+
+if [[ -f "$FAST_DIR/app.jsa" ]]; then
+  FAST_JAR="$(ls "$FAST_DIR"/*.jar | head -1)"
+  measure "fast-startup (aot+cds)" \
+    java -XX:SharedArchiveFile="$FAST_DIR/app.jsa" -Xlog:cds=off -Dspring.aot.enabled=true -jar "$FAST_JAR" --spring.profiles.active=prod
+  measure "fast-startup (sin aot/cds)" java -jar "$FAST_JAR" --spring.profiles.active=prod
+else
+  echo "No existe $FAST_DIR/app.jsa: ejecuta 'mvn -Pfast-startup -DskipTests package' para comparar." >&2
+fi
@@ -0,0 +1,79 @@
+package com.nao.retail.orders.admission;
+
+/**
+ * Límite de concurrencia adaptativo (AIMD guiado por latencia).
+ * <p>
+ * Se toma como referencia la menor latencia observada en la ventana reciente.
+ * Mientras las respuestas se mantienen por debajo de {@code tolerance} veces esa
+ * referencia, el límite crece ~1 por cada "ventana" completa de requests; cuando
+ * la latencia se degrada (la base de datos se satura) el límite se multiplica por
+ * {@code backoff}, como mucho una vez por referencia de latencia.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int MIN_RTT_WINDOW = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoff;
+
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long lastDecrease;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+    }
+
+    /** Reserva un lugar; false si ya hay {@link #getLimit()} requests en curso. */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /** Libera el lugar y ajusta el límite con la latencia medida. */
+    public synchronized void release(long rttNanos) {
+        inFlight--;
+        updateMinRtt(rttNanos);
+        long now = System.nanoTime();
+        if (rttNanos > minRttNanos * tolerance) {
+            if (now - lastDecrease > minRttNanos) {
+                limit = Math.max(minLimit, limit * backoff);
+                lastDecrease = now;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            // sólo crece si el límite se está usando
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /** Libera el lugar sin tomar la latencia: requests largos por diseño (importación, exportación). */
+    public synchronized void releaseWithoutSample() {
+        inFlight--;
+    }
+
+    /** Mínimo de la ventana anterior: así la referencia se adapta si la base de datos cambia. */
+    private void updateMinRtt(long rttNanos) {
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        if (++windowSamples >= MIN_RTT_WINDOW) {
+            minRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+}
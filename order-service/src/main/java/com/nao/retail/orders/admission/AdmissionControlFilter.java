@@ -0,0 +1,160 @@
+package com.nao.retail.orders.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Control de admisión para escrituras, antes de tocar la base de datos:
+ * token bucket por cliente (X-Client-Id o IP) y por endpoint → 429, y límite de
+ * concurrencia adaptativo según la latencia observada → 503. Ambos con Retry-After.
+ * Health checks y lecturas no pasan por los límites (ver {@link RequestPriority}).
+ * <p>
+ * El endpoint es el patrón del handler que atendería el request ("PUT /api/v1/orders/{id}"),
+ * así que hay un bucket por ruta declarada; un request sin handler no crea buckets y sigue
+ * hasta el 404/405 del DispatcherServlet. X-Client-Id lo manda el propio cliente: el límite
+ * por cliente es orientativo salvo que un gateway lo fije (y descarte el del cliente).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    /** Ocupan un lugar pero su duración no es señal de saturación: no entran al AIMD. */
+    private static final Set<String> UNSAMPLED = Set.of("POST /api/v1/orders/import", "POST /api/v1/orders/export");
+
+    private final boolean enabled;
+    private final double clientRate;
+    private final double clientBurst;
+    private final double endpointRate;
+    private final double endpointBurst;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final HandlerMapping routes;
+    private final MeterRegistry registry;
+
+    // acotado y con expiración: no crece sin límite con clientes nuevos
+    private final Cache<String, TokenBucket> clientBuckets = Caffeine.newBuilder()
+            .maximumSize(10_000).expireAfterAccess(Duration.ofMinutes(10)).build();
+    // uno por ruta declarada: el conjunto es fijo
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+
+    public AdmissionControlFilter(MeterRegistry registry,
+                                  @Qualifier("requestMappingHandlerMapping") HandlerMapping routes,
+                                  @Value("${orders.admission.enabled:true}") boolean enabled,
+                                  @Value("${orders.admission.client.rate-per-second:50}") double clientRate,
+                                  @Value("${orders.admission.client.burst:100}") double clientBurst,
+                                  @Value("${orders.admission.endpoint.rate-per-second:500}") double endpointRate,
+                                  @Value("${orders.admission.endpoint.burst:1000}") double endpointBurst,
+                                  @Value("${orders.admission.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${orders.admission.concurrency.min-limit:2}") int minLimit,
+                                  @Value("${orders.admission.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${orders.admission.concurrency.latency-tolerance:2.0}") double tolerance,
+                                  @Value("${orders.admission.concurrency.backoff:0.9}") double backoff) {
+        this.registry = registry;
+        this.routes = routes;
+        this.enabled = enabled;
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.endpointRate = endpointRate;
+        this.endpointBurst = endpointBurst;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, backoff);
+        Gauge.builder("orders.admission.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .register(registry);
+        Gauge.builder("orders.admission.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || RequestPriority.of(request) != RequestPriority.WRITE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = route(request);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        // primero el cliente: uno que ya superó su límite no gasta tokens del endpoint
+        TokenBucket clientBucket = clientBuckets.get(clientKey(request), k -> new TokenBucket(clientBurst, clientRate));
+        if (!clientBucket.tryAcquire()) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, clientBucket.secondsUntilNextToken(),
+                    "Rate limit exceeded for client", "client-rate");
+            return;
+        }
+        TokenBucket endpointBucket = endpointBuckets.computeIfAbsent(endpoint, k -> new TokenBucket(endpointBurst, endpointRate));
+        if (!endpointBucket.tryAcquire()) {
+            clientBucket.refund();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, endpointBucket.secondsUntilNextToken(),
+                    "Rate limit exceeded for " + endpoint, "endpoint-rate");
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Server overloaded, retry later", "concurrency");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (UNSAMPLED.contains(endpoint)) {
+                concurrencyLimit.releaseWithoutSample();
+            } else {
+                concurrencyLimit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** "MÉTODO /patrón" del handler que atendería el request, o null si no hay ninguno. */
+    private String route(HttpServletRequest request) {
+        try {
+            if (routes.getHandler(request) == null) {
+                return null;
+            }
+        } catch (Exception ex) {
+            // método o content type no soportados: lo responde el DispatcherServlet
+            return null;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String client = request.getHeader(CLIENT_HEADER);
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        String message, String reason) throws IOException {
+        registry.counter("orders.admission.rejected", "reason", reason).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
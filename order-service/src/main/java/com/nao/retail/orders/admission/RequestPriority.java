@@ -0,0 +1,27 @@
+package com.nao.retail.orders.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/** Clases de prioridad para admisión: sólo las escrituras se limitan y descartan. */
+public enum RequestPriority {
+    /**
+     * Lecturas, health checks y métricas (cualquier método): pasan siempre, para que sigan
+     * fluyendo aunque se descarten escrituras.
+     */
+    READ,
+    /** Escrituras: rate limit por cliente/endpoint y límite de concurrencia adaptativo. */
+    WRITE;
+
+    public static RequestPriority of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.equals("/ping") || path.startsWith("/actuator")) {
+            return READ;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)
+                || path.endsWith(":batchGet")) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
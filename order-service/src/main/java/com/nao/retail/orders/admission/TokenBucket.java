@@ -0,0 +1,52 @@
+package com.nao.retail.orders.admission;
+
+/**
+ * Token bucket: hasta {@code capacity} requests en ráfaga y recarga continua de
+ * {@code refillPerSecond} tokens por segundo.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /** Consume un token si hay disponible. */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /** Devuelve un token tomado con {@link #tryAcquire()} por un request que no se admitió. */
+    public synchronized void refund() {
+        refill();
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /** Segundos (redondeados hacia arriba) hasta el próximo token; para Retry-After. */
+    public synchronized long secondsUntilNextToken() {
+        refill();
+        if (tokens >= 1 || refillPerNano <= 0) {
+            return tokens >= 1 ? 0 : 1;
+        }
+        double nanos = (1 - tokens) / refillPerNano;
+        return Math.max(1, (long) Math.ceil(nanos / 1_000_000_000d));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
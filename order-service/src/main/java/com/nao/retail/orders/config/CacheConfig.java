@@ -0,0 +1,10 @@
+package com.nao.retail.orders.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/** Habilita la caché de respuestas (Caffeine, configurada en spring.cache). */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
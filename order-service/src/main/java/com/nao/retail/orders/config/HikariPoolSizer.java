@@ -0,0 +1,62 @@
+package com.nao.retail.orders.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensiona el pool Hikari a partir de la máquina y del límite de la base de datos
+ * cuando no se fija spring.datasource.hikari.maximum-pool-size:
+ * min(cores * 2 + spindles, (db-max-connections - reserved) / instances), pool fijo.
+ * Actúa antes de la inicialización, cuando el bean todavía es el HikariDataSource sin envolver.
+ */
+@Component
+public class HikariPoolSizer implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private final Environment env;
+    private final boolean autoSize;
+    private final int spindles;
+    private final int dbMaxConnections;
+    private final int reserved;
+    private final int instances;
+
+    public HikariPoolSizer(Environment env,
+                           @Value("${orders.datasource.pool.auto-size:true}") boolean autoSize,
+                           @Value("${orders.datasource.pool.spindles:1}") int spindles,
+                           @Value("${orders.datasource.pool.db-max-connections:100}") int dbMaxConnections,
+                           @Value("${orders.datasource.pool.reserved-connections:10}") int reserved,
+                           @Value("${orders.datasource.pool.instances:1}") int instances) {
+        this.env = env;
+        this.autoSize = autoSize;
+        this.spindles = spindles;
+        this.dbMaxConnections = dbMaxConnections;
+        this.reserved = reserved;
+        this.instances = instances;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari && autoSize
+                && !env.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int size = poolSize(cores);
+            hikari.setMaximumPoolSize(size);
+            hikari.setMinimumIdle(size);
+            log.info("Pool Hikari '{}': {} conexiones (cores={}, dbMaxConnections={}, instances={})",
+                    hikari.getPoolName(), size, cores, dbMaxConnections, instances);
+        }
+        return bean;
+    }
+
+    int poolSize(int cores) {
+        int byCores = cores * 2 + spindles;
+        int byDatabase = Math.max(1, (dbMaxConnections - reserved) / Math.max(1, instances));
+        return Math.max(2, Math.min(byCores, byDatabase));
+    }
+}
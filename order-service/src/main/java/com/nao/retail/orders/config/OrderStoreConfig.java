@@ -0,0 +1,26 @@
+package com.nao.retail.orders.config;
+
+import com.nao.retail.orders.store.OffHeapOrderStore;
+import com.nao.retail.orders.store.OrderStore;
+import com.nao.retail.orders.store.OrderStoreProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Órdenes en memoria (orders.store.enabled); apagado, un store que nunca responde. */
+@Configuration
+public class OrderStoreConfig {
+
+    @Bean
+    public OrderStore orderStore(OrderStoreProperties props, MeterRegistry meterRegistry) {
+        if (!props.isEnabled()) {
+            return OrderStore.DISABLED;
+        }
+        OrderStore store = new OffHeapOrderStore(props.getChunkBytes(), props.getInitialCapacity());
+        Gauge.builder("orders.store.size", store, OrderStore::size).register(meterRegistry);
+        Gauge.builder("orders.store.offheap.bytes", store, OrderStore::offHeapBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nao.retail.orders.config;
+
+import com.nao.retail.orders.parser.StreamedOrderRequestArgumentResolver;
+import com.nao.retail.orders.parser.StreamingOrderRequestParser;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/** Registra el parser streaming para parámetros {@code @StreamedOrderRequest}. */
+@Configuration
+public class RequestParsingConfig implements WebMvcConfigurer {
+
+    private final StreamingOrderRequestParser parser;
+
+    public RequestParsingConfig(StreamingOrderRequestParser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new StreamedOrderRequestArgumentResolver(parser));
+    }
+}
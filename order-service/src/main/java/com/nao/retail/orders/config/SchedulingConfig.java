@@ -0,0 +1,12 @@
+package com.nao.retail.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Jobs programados (barridos de ciclo de vida); sólo con orders.lifecycle.enabled=true. */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "orders.lifecycle.enabled", havingValue = "true")
+public class SchedulingConfig {
+}
@@ -0,0 +1,100 @@
+package com.nao.retail.orders.config;
+
+import com.nao.retail.orders.sharding.ShardRouter;
+import com.nao.retail.orders.sharding.ShardRoutingDataSource;
+import com.nao.retail.orders.sharding.ShardSchemaUpdater;
+import com.nao.retail.orders.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharding de órdenes (orders.sharding.enabled=true): un pool Hikari por shard detrás
+ * de un DataSource enrutado por {@code ShardContext}. El proxy lazy difiere la elección
+ * del shard a la primera sentencia, así el servicio puede fijarlo dentro de la transacción.
+ * Reemplaza al DataSource autoconfigurado (spring.datasource.* no se usa).
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /** Pools de los shards, en orden; se cierran al apagar. */
+    public static class ShardPools implements AutoCloseable {
+
+        private final List<HikariDataSource> pools;
+
+        ShardPools(List<HikariDataSource> pools) {
+            this.pools = List.copyOf(pools);
+        }
+
+        public List<HikariDataSource> get() {
+            return pools;
+        }
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardPools shardPools(ShardingProperties props, MeterRegistry meterRegistry) {
+        if (props.getShards().isEmpty()) {
+            throw new IllegalStateException("orders.sharding.enabled=true requires orders.sharding.shards");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ShardingProperties.Shard shard : props.getShards()) {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName("orders-shard-" + pools.size());
+            ds.setJdbcUrl(shard.getUrl());
+            ds.setUsername(shard.getUsername());
+            ds.setPassword(shard.getPassword());
+            ds.setMaximumPoolSize(props.getPoolSize());
+            ds.setConnectionTimeout(3000);
+            ds.setMetricRegistry(meterRegistry);   // hikaricp.connections.* con tag pool=orders-shard-N
+            pools.add(ds);
+        }
+        return new ShardPools(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardPools pools) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < pools.get().size(); i++) {
+            targets.put(i, pools.get().get(i));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(pools.get().get(0));
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ShardSchemaUpdater shardSchemaUpdater(ShardingProperties props) {
+        return new ShardSchemaUpdater(props.isSchemaUpdate() ? props.shardCount() : 0);
+    }
+
+    /** Router para el generador de ids e integrador para el esquema de los demás shards. */
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateProperties(ShardRouter router, ShardSchemaUpdater schema) {
+        return properties -> {
+            properties.put(ShardRouter.HIBERNATE_PROPERTY, router);
+            properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(schema));
+        };
+    }
+}
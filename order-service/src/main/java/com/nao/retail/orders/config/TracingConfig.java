@@ -0,0 +1,54 @@
+package com.nao.retail.orders.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.tracing.FileSpanExporter;
+import com.nao.retail.orders.tracing.ObservedJacksonHttpMessageConverter;
+import com.nao.retail.orders.tracing.RepositoryObservationPostProcessor;
+import com.nao.retail.orders.tracing.TracingProperties;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Trazas por etapa: request HTTP (Spring Boot) → OrderController → OrderService
+ * (@Observed) → repositorio → sentencia SQL, más la escritura Jackson de la respuesta.
+ * Cualquier bean {@link SpanExporter} recibe los spans (OTLP si se fija
+ * management.otlp.tracing.endpoint; archivo con orders.tracing.file).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    static RepositoryObservationPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> registry, ObjectProvider<TracingProperties> props) {
+        return new RepositoryObservationPostProcessor(registry, props);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.tracing.serialization", havingValue = "true", matchIfMissing = true)
+    ObservedJacksonHttpMessageConverter observedJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                           ObservationRegistry registry) {
+        return new ObservedJacksonHttpMessageConverter(objectMapper, registry);
+    }
+
+    @Bean(destroyMethod = "")   // el SdkTracerProvider lo apaga al cerrar
+    @ConditionalOnExpression("!'${orders.tracing.file:}'.isEmpty()")
+    SpanExporter fileSpanExporter(TracingProperties props) {
+        return new FileSpanExporter(Path.of(props.getFile()));
+    }
+
+    /** Sin trazas para actuator y consola H2: no consumen muestreo ni exporter. */
+    @Bean
+    ObservationPredicate skipInfrastructureRequests(TracingProperties props) {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && props.getSkipPaths().stream().anyMatch(request.getCarrier().getRequestURI()::startsWith));
+    }
+}
@@ -0,0 +1,17 @@
+package com.nao.retail.orders.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/** Pool fork-join propio para importación/exportación (no usa el commonPool). */
+@Configuration
+public class TransferConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool transferPool(@Value("${orders.transfer.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
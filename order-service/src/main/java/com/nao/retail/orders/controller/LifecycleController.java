@@ -0,0 +1,24 @@
+package com.nao.retail.orders.controller;
+
+import com.nao.retail.orders.lifecycle.LifecycleSweeper;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/** Ejecución manual de los barridos de ciclo de vida (respeta el lease de líder). */
+@RestController
+public class LifecycleController {
+
+    private final LifecycleSweeper sweeper;
+
+    public LifecycleController(LifecycleSweeper sweeper) {
+        this.sweeper = sweeper;
+    }
+
+    /** Órdenes cambiadas por barrido; vacío si otra réplica tiene el lease */
+    @PostMapping("/api/v1/admin/lifecycle/run")
+    public Map<String, Long> run() {
+        return sweeper.runOnce();
+    }
+}
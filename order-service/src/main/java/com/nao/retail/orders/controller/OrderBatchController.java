@@ -0,0 +1,60 @@
+package com.nao.retail.orders.controller;
+
+import com.nao.retail.orders.dto.BatchGetRequest;
+import com.nao.retail.orders.dto.BatchGetResponse;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Multi-get de órdenes (estilo "custom method" de Google APIs).
+ * Vive fuera de OrderController porque la ruta /api/v1/orders:batchGet no es
+ * un sub-path de /api/v1/orders.
+ */
+@RestController
+public class OrderBatchController {
+
+    private final OrderService service;
+    private final int maxIds;
+
+    public OrderBatchController(OrderService service,
+                                @Value("${orders.batch-get.max-ids:500}") int maxIds) {
+        this.service = service;
+        this.maxIds = maxIds;
+    }
+
+    /** Multi-get con los ids en el body */
+    @PostMapping("/api/v1/orders:batchGet")
+    public BatchGetResponse batchGet(@Valid @RequestBody BatchGetRequest req) {
+        return batchGet(req.getIds());
+    }
+
+    /** Multi-get con ?ids=a,b,c */
+    @GetMapping("/api/v1/orders:batchGet")
+    public BatchGetResponse batchGet(@RequestParam List<UUID> ids) {
+        List<UUID> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (unique.size() > maxIds) {
+            throw new IllegalArgumentException("Too many ids: " + unique.size() + " (max " + maxIds + ")");
+        }
+        Map<UUID, OrderResponse> found = service.getAll(unique);
+        List<OrderResponse> orders = new ArrayList<>();
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : unique) {
+            OrderResponse r = found.get(id);
+            if (r != null) {
+                orders.add(r);
+            } else {
+                notFound.add(id);
+            }
+        }
+        return new BatchGetResponse(orders, notFound);
+    }
+}
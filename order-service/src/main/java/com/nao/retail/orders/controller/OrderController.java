@@ -1,15 +1,25 @@
 package com.nao.retail.orders.controller;
 
+import com.nao.retail.orders.dto.BulkOrderRequest;
+import com.nao.retail.orders.dto.BulkResult;
+import com.nao.retail.orders.dto.BulkStatusRequest;
+import com.nao.retail.orders.dto.ChangesResponse;
 import com.nao.retail.orders.dto.OrderRequest;
 import com.nao.retail.orders.dto.OrderResponse;
 import com.nao.retail.orders.dto.UpdateStatusRequest;
 import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.parser.StreamedOrderRequest;
+import com.nao.retail.orders.service.OrderChangeFeed;
+import com.nao.retail.orders.service.OrderLookupCoalescer;
 import com.nao.retail.orders.service.OrderService;
+import com.nao.retail.orders.wal.OrderWriteAheadLog;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
@@ -19,39 +29,71 @@ import java.util.UUID;
  * Base path: /api/v1/orders
  */
 @RestController
+@Observed(name = "orders.controller")
 @RequestMapping("/api/v1/orders")
 public class OrderController {
 
     private final OrderService service;
+    private final OrderLookupCoalescer lookups;
+    private final OrderChangeFeed changeFeed;
+    private final OrderWriteAheadLog wal;
 
-    public OrderController(OrderService service) { this.service = service; }
+    public OrderController(OrderService service, OrderLookupCoalescer lookups, OrderChangeFeed changeFeed,
+                           OrderWriteAheadLog wal) {
+        this.service = service;
+        this.lookups = lookups;
+        this.changeFeed = changeFeed;
+        this.wal = wal;
+    }
 
-    /** Crear orden */
+    /**
+     * Crear orden. Con la base caída (y orders.wal.enabled) la orden queda en el log local
+     * y se responde 202 con su id; se inserta cuando la base vuelve.
+     */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public OrderResponse create(@Valid @RequestBody OrderRequest req) {
-        return service.create(req);
+    public ResponseEntity<OrderResponse> create(@StreamedOrderRequest OrderRequest req) {
+        if (wal.degraded()) {
+            return ResponseEntity.accepted().body(wal.accept(req));
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.create(req));
+        } catch (RuntimeException ex) {
+            if (!wal.enabled() || !OrderWriteAheadLog.isOutage(ex)) {
+                throw ex;
+            }
+            return ResponseEntity.accepted().body(wal.accept(req));
+        }
     }
 
-    /** Obtener por id */
+    /** Obtener por id (GETs concurrentes se agrupan en una sola consulta) */
     @GetMapping("/{id}")
     public OrderResponse get(@PathVariable UUID id) {
-        return service.get(id);
+        return lookups.get(id);
     }
 
-    /** Listar con paginación y filtro opcional por estado */
+    /** Listar con paginación y filtros opcionales por estado y cliente (desde memoria si el store lo permite) */
     @GetMapping
     public Page<OrderResponse> list(
             @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String customerEmail,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return service.list(status, pageable);
+        Page<OrderResponse> stored = service.listStored(status, customerEmail, pageable);
+        return stored != null ? stored : service.list(status, customerEmail, pageable);
+    }
+
+    /** Cambios (altas, modificaciones y borrados) posteriores al token, en orden */
+    @GetMapping("/changes")
+    public ChangesResponse changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return changeFeed.changesSince(since, limit);
     }
 
     /** Reemplazo total de la orden */
     @PutMapping("/{id}")
-    public OrderResponse update(@PathVariable UUID id, @Valid @RequestBody OrderRequest req) {
+    public OrderResponse update(@PathVariable UUID id, @StreamedOrderRequest OrderRequest req) {
         return service.update(id, req);
     }
 
@@ -67,4 +109,16 @@ public class OrderController {
     public void delete(@PathVariable UUID id) {
         service.delete(id);
     }
+
+    /** Borrado masivo por ids o filtros */
+    @DeleteMapping
+    public BulkResult deleteAll(@RequestBody BulkOrderRequest req) {
+        return service.deleteAll(req);
+    }
+
+    /** Cambio de estado masivo por ids o filtros */
+    @PatchMapping("/status")
+    public BulkResult updateStatusAll(@Valid @RequestBody BulkStatusRequest req) {
+        return service.updateStatusAll(req.toSelection(), req.getStatus());
+    }
 }
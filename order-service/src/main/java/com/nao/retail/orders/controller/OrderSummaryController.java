@@ -0,0 +1,37 @@
+package com.nao.retail.orders.controller;
+
+import com.nao.retail.orders.dto.OrderSummaryResponse;
+import com.nao.retail.orders.service.OrderSummaryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/** Conteos y montos precalculados por estado y hora (para dashboards, sin COUNT(*) sobre orders). */
+@RestController
+public class OrderSummaryController {
+
+    private final OrderSummaryService summary;
+
+    public OrderSummaryController(OrderSummaryService summary) {
+        this.summary = summary;
+    }
+
+    /** Totales por estado y serie horaria en [from, to) (por defecto las últimas 24 h) */
+    @GetMapping("/api/v1/orders/summary")
+    public OrderSummaryResponse summary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        return summary.summary(from, to);
+    }
+
+    /** Recalcula el resumen desde la tabla orders */
+    @PostMapping("/api/v1/admin/summary/rebuild")
+    public Map<String, Long> rebuild() {
+        return Map.of("orders", summary.rebuild());
+    }
+}
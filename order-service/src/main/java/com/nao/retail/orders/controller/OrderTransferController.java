@@ -0,0 +1,70 @@
+package com.nao.retail.orders.controller;
+
+import com.nao.retail.orders.dto.ExportResult;
+import com.nao.retail.orders.dto.ImportResult;
+import com.nao.retail.orders.parser.LimitedInputStream;
+import com.nao.retail.orders.parser.PayloadTooLargeException;
+import com.nao.retail.orders.transfer.OrderExporter;
+import com.nao.retail.orders.transfer.OrderImporter;
+import com.nao.retail.orders.transfer.TransferFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Importación/exportación masiva de órdenes.
+ * Base path: /api/v1/orders
+ */
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderTransferController {
+
+    private final OrderImporter importer;
+    private final OrderExporter exporter;
+    private final long maxImportBytes;
+
+    public OrderTransferController(OrderImporter importer, OrderExporter exporter,
+                                   @Value("${orders.transfer.max-import-bytes:1073741824}") long maxImportBytes) {
+        this.importer = importer;
+        this.exporter = exporter;
+        this.maxImportBytes = maxImportBytes;
+    }
+
+    /**
+     * Importar un archivo CSV/NDJSON enviado como cuerpo (se copia a disco, no a memoria).
+     * Más de max-import-bytes: 413, por Content-Length o al pasarlo mientras se copia.
+     */
+    @PostMapping("/import")
+    public ImportResult importOrders(@RequestParam(defaultValue = "ndjson") String format,
+                                     HttpServletRequest request) throws IOException {
+        TransferFormat fmt = TransferFormat.of(format);
+        long contentLength = request.getContentLengthLong();
+        if (maxImportBytes > 0 && contentLength > maxImportBytes) {
+            throw new PayloadTooLargeException("Body of " + contentLength + " bytes exceeds " + maxImportBytes);
+        }
+        Path tmp = Files.createTempFile("orders-import-", "." + fmt.extension());
+        try (InputStream body = maxImportBytes > 0
+                ? new LimitedInputStream(request.getInputStream(), maxImportBytes)
+                : request.getInputStream()) {
+            Files.copy(body, tmp, StandardCopyOption.REPLACE_EXISTING);
+            return importer.importFile(tmp, fmt);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Exportar todas las órdenes a archivos gzip por rango de ids */
+    @PostMapping("/export")
+    public ExportResult exportOrders(@RequestParam(defaultValue = "ndjson") String format) throws IOException {
+        return exporter.export(TransferFormat.of(format));
+    }
+}
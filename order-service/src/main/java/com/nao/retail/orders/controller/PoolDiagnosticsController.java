@@ -0,0 +1,70 @@
+package com.nao.retail.orders.controller;
+
+import com.nao.retail.orders.config.ShardingConfig;
+import com.nao.retail.orders.dto.PoolStatsResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diagnóstico de los pools de conexiones (activas, ociosas, en espera, latencia de adquisición):
+ * uno por shard con sharding, si no el único pool.
+ */
+@RestController
+public class PoolDiagnosticsController {
+
+    private final List<HikariDataSource> pools;
+    private final MeterRegistry meterRegistry;
+
+    public PoolDiagnosticsController(DataSource dataSource,
+                                     ObjectProvider<ShardingConfig.ShardPools> shardPools,
+                                     MeterRegistry meterRegistry) throws SQLException {
+        ShardingConfig.ShardPools shards = shardPools.getIfAvailable();
+        // con sharding el DataSource enruta: unwrap sólo llegaría al shard por defecto
+        this.pools = shards != null ? shards.get() : List.of(dataSource.unwrap(HikariDataSource.class));
+        this.meterRegistry = meterRegistry;
+    }
+
+    @GetMapping("/api/v1/admin/pool")
+    public List<PoolStatsResponse> stats() {
+        return pools.stream().map(this::stats).toList();
+    }
+
+    private PoolStatsResponse stats(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire")
+                .tag("pool", dataSource.getPoolName())
+                .timer();
+        HistogramSnapshot snapshot = acquire != null ? acquire.takeSnapshot() : HistogramSnapshot.empty(0, 0, 0);
+
+        PoolStatsResponse r = new PoolStatsResponse();
+        r.setPoolName(dataSource.getPoolName());
+        if (pool != null) {
+            r.setActive(pool.getActiveConnections());
+            r.setIdle(pool.getIdleConnections());
+            r.setTotal(pool.getTotalConnections());
+            r.setWaiting(pool.getThreadsAwaitingConnection());
+        }
+        r.setMaximumPoolSize(dataSource.getMaximumPoolSize());
+        r.setAcquireCount(snapshot.count());
+        r.setAcquireMeanMs(snapshot.mean(TimeUnit.MILLISECONDS));
+        r.setAcquireMaxMs(snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile v : snapshot.percentileValues()) {
+            if (v.percentile() == 0.99) {
+                r.setAcquireP99Ms(v.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        return r;
+    }
+}
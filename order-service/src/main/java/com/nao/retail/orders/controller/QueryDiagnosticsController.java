@@ -0,0 +1,22 @@
+package com.nao.retail.orders.controller;
+
+import com.nao.retail.orders.dto.QueryDiagnosticsResponse;
+import com.nao.retail.orders.querybudget.QueryRecorder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Sentencias SQL por endpoint (vs. presupuesto) y últimas sentencias lentas. */
+@RestController
+public class QueryDiagnosticsController {
+
+    private final QueryRecorder recorder;
+
+    public QueryDiagnosticsController(QueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @GetMapping("/api/v1/admin/queries")
+    public QueryDiagnosticsResponse queries() {
+        return recorder.snapshot();
+    }
+}
@@ -0,0 +1,15 @@
+package com.nao.retail.orders.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Payload de multi-get: ids a resolver en una sola operación. */
+public class BatchGetRequest {
+    @NotEmpty
+    private List<UUID> ids;
+
+    public List<UUID> getIds() { return ids; }
+    public void setIds(List<UUID> ids) { this.ids = ids; }
+}
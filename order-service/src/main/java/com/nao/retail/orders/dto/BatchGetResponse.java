@@ -0,0 +1,23 @@
+package com.nao.retail.orders.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Respuesta de multi-get: órdenes en el orden pedido + ids inexistentes. */
+public class BatchGetResponse {
+    private List<OrderResponse> orders;
+    private List<UUID> notFound;
+
+    public BatchGetResponse() { }
+
+    public BatchGetResponse(List<OrderResponse> orders, List<UUID> notFound) {
+        this.orders = orders;
+        this.notFound = notFound;
+    }
+
+    // getters & setters
+    public List<OrderResponse> getOrders() { return orders; }
+    public void setOrders(List<OrderResponse> orders) { this.orders = orders; }
+    public List<UUID> getNotFound() { return notFound; }
+    public void setNotFound(List<UUID> notFound) { this.notFound = notFound; }
+}
@@ -0,0 +1,29 @@
+package com.nao.retail.orders.dto;
+
+import com.nao.retail.orders.entity.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** Selección de órdenes para operaciones masivas: lista de ids o filtros. */
+public class BulkOrderRequest {
+    private List<UUID> ids;
+
+    /** Filtro opcional por estado actual. */
+    private OrderStatus status;
+
+    /** Filtro opcional: sólo órdenes creadas antes de esta fecha. */
+    private OffsetDateTime createdBefore;
+
+    public boolean hasIds() { return ids != null && !ids.isEmpty(); }
+    public boolean hasFilter() { return status != null || createdBefore != null; }
+
+    // getters & setters
+    public List<UUID> getIds() { return ids; }
+    public void setIds(List<UUID> ids) { this.ids = ids; }
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    public OffsetDateTime getCreatedBefore() { return createdBefore; }
+    public void setCreatedBefore(OffsetDateTime createdBefore) { this.createdBefore = createdBefore; }
+}
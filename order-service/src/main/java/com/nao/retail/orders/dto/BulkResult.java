@@ -0,0 +1,20 @@
+package com.nao.retail.orders.dto;
+
+/** Resultado de una operación masiva: ids solicitados vs filas afectadas. */
+public class BulkResult {
+    private int requested;
+    private int affected;
+
+    public BulkResult() { }
+
+    public BulkResult(int requested, int affected) {
+        this.requested = requested;
+        this.affected = affected;
+    }
+
+    // getters & setters
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getAffected() { return affected; }
+    public void setAffected(int affected) { this.affected = affected; }
+}
@@ -0,0 +1,41 @@
+package com.nao.retail.orders.dto;
+
+import com.nao.retail.orders.entity.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** Cambio de estado masivo: nuevo estado + selección por ids o filtros. */
+public class BulkStatusRequest {
+    private List<UUID> ids;
+
+    /** Filtro opcional por estado actual. */
+    private OrderStatus fromStatus;
+
+    /** Filtro opcional: sólo órdenes creadas antes de esta fecha. */
+    private OffsetDateTime createdBefore;
+
+    @NotNull
+    private OrderStatus status;
+
+    /** Selección equivalente a la de un borrado masivo. */
+    public BulkOrderRequest toSelection() {
+        BulkOrderRequest sel = new BulkOrderRequest();
+        sel.setIds(ids);
+        sel.setStatus(fromStatus);
+        sel.setCreatedBefore(createdBefore);
+        return sel;
+    }
+
+    // getters & setters
+    public List<UUID> getIds() { return ids; }
+    public void setIds(List<UUID> ids) { this.ids = ids; }
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public void setFromStatus(OrderStatus fromStatus) { this.fromStatus = fromStatus; }
+    public OffsetDateTime getCreatedBefore() { return createdBefore; }
+    public void setCreatedBefore(OffsetDateTime createdBefore) { this.createdBefore = createdBefore; }
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+}
@@ -0,0 +1,26 @@
+package com.nao.retail.orders.dto;
+
+import java.util.List;
+
+/** Página del feed de cambios; nextToken se usa como since en la siguiente llamada. */
+public class ChangesResponse {
+    private List<OrderChange> changes;
+    private long nextToken;
+    private boolean hasMore;
+
+    public ChangesResponse() { }
+
+    public ChangesResponse(List<OrderChange> changes, long nextToken, boolean hasMore) {
+        this.changes = changes;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    // getters & setters
+    public List<OrderChange> getChanges() { return changes; }
+    public void setChanges(List<OrderChange> changes) { this.changes = changes; }
+    public long getNextToken() { return nextToken; }
+    public void setNextToken(long nextToken) { this.nextToken = nextToken; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,45 @@
+package com.nao.retail.orders.dto;
+
+import java.util.List;
+
+/** Resultado de una exportación: un archivo comprimido por rango de ids. */
+public class ExportResult {
+    private String directory;
+    private long exported;
+    private List<ExportFile> files;
+
+    /** Archivo generado y cantidad de órdenes que contiene. */
+    public static class ExportFile {
+        private String name;
+        private long orders;
+
+        public ExportFile() { }
+
+        public ExportFile(String name, long orders) {
+            this.name = name;
+            this.orders = orders;
+        }
+
+        // getters & setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public long getOrders() { return orders; }
+        public void setOrders(long orders) { this.orders = orders; }
+    }
+
+    public ExportResult() { }
+
+    public ExportResult(String directory, long exported, List<ExportFile> files) {
+        this.directory = directory;
+        this.exported = exported;
+        this.files = files;
+    }
+
+    // getters & setters
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    public long getExported() { return exported; }
+    public void setExported(long exported) { this.exported = exported; }
+    public List<ExportFile> getFiles() { return files; }
+    public void setFiles(List<ExportFile> files) { this.files = files; }
+}
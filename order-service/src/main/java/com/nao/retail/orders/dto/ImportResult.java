@@ -0,0 +1,22 @@
+package com.nao.retail.orders.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Resultado de una importación: órdenes leídas, insertadas, rechazadas y primeros errores. */
+public class ImportResult {
+    private long read;
+    private long imported;
+    private long rejected;
+    private List<String> errors = new ArrayList<>();
+
+    // getters & setters
+    public long getRead() { return read; }
+    public void setRead(long read) { this.read = read; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
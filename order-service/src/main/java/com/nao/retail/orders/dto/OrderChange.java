@@ -0,0 +1,38 @@
+package com.nao.retail.orders.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Un cambio del feed: alta/modificación (con la orden) o borrado (sin ella). */
+public class OrderChange {
+
+    public enum Type { UPSERT, DELETE }
+
+    private long seq;
+    private Type type;
+    private UUID id;
+    private OffsetDateTime changedAt;
+    private OrderResponse order;
+
+    public OrderChange() { }
+
+    public OrderChange(long seq, Type type, UUID id, OffsetDateTime changedAt, OrderResponse order) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.changedAt = changedAt;
+        this.order = order;
+    }
+
+    // getters & setters
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public OffsetDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(OffsetDateTime changedAt) { this.changedAt = changedAt; }
+    public OrderResponse getOrder() { return order; }
+    public void setOrder(OrderResponse order) { this.order = order; }
+}
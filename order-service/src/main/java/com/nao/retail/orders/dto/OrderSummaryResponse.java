@@ -0,0 +1,83 @@
+package com.nao.retail.orders.dto;
+
+import com.nao.retail.orders.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Cantidad y monto de órdenes por estado (histórico) y por hora de creación y estado (ventana pedida). */
+public class OrderSummaryResponse {
+    private long totalOrders;
+    private BigDecimal totalAmount;
+    private List<StatusTotal> byStatus;
+    private OffsetDateTime from;
+    private OffsetDateTime to;
+    private List<HourTotal> byHour;
+
+    /** Totales de un estado. */
+    public static class StatusTotal {
+        private OrderStatus status;
+        private long count;
+        private BigDecimal totalAmount;
+
+        public StatusTotal() { }
+
+        public StatusTotal(OrderStatus status, long count, BigDecimal totalAmount) {
+            this.status = status;
+            this.count = count;
+            this.totalAmount = totalAmount;
+        }
+
+        // getters & setters
+        public OrderStatus getStatus() { return status; }
+        public void setStatus(OrderStatus status) { this.status = status; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public BigDecimal getTotalAmount() { return totalAmount; }
+        public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    }
+
+    /** Totales de las órdenes creadas en una hora (UTC) que hoy están en un estado. */
+    public static class HourTotal {
+        private OffsetDateTime hour;
+        private OrderStatus status;
+        private long count;
+        private BigDecimal totalAmount;
+
+        public HourTotal() { }
+
+        public HourTotal(OffsetDateTime hour, OrderStatus status, long count, BigDecimal totalAmount) {
+            this.hour = hour;
+            this.status = status;
+            this.count = count;
+            this.totalAmount = totalAmount;
+        }
+
+        // getters & setters
+        public OffsetDateTime getHour() { return hour; }
+        public void setHour(OffsetDateTime hour) { this.hour = hour; }
+        public OrderStatus getStatus() { return status; }
+        public void setStatus(OrderStatus status) { this.status = status; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public BigDecimal getTotalAmount() { return totalAmount; }
+        public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    }
+
+    public OrderSummaryResponse() { }
+
+    // getters & setters
+    public long getTotalOrders() { return totalOrders; }
+    public void setTotalOrders(long totalOrders) { this.totalOrders = totalOrders; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public List<StatusTotal> getByStatus() { return byStatus; }
+    public void setByStatus(List<StatusTotal> byStatus) { this.byStatus = byStatus; }
+    public OffsetDateTime getFrom() { return from; }
+    public void setFrom(OffsetDateTime from) { this.from = from; }
+    public OffsetDateTime getTo() { return to; }
+    public void setTo(OffsetDateTime to) { this.to = to; }
+    public List<HourTotal> getByHour() { return byHour; }
+    public void setByHour(List<HourTotal> byHour) { this.byHour = byHour; }
+}
@@ -0,0 +1,37 @@
+package com.nao.retail.orders.dto;
+
+/** Estado del pool JDBC: conexiones y latencia (ms) para obtener una conexión. */
+public class PoolStatsResponse {
+    private String poolName;
+    private int active;
+    private int idle;
+    private int total;
+    private int waiting;
+    private int maximumPoolSize;
+    private long acquireCount;
+    private double acquireMeanMs;
+    private double acquireMaxMs;
+    private double acquireP99Ms;
+
+    // getters & setters
+    public String getPoolName() { return poolName; }
+    public void setPoolName(String poolName) { this.poolName = poolName; }
+    public int getActive() { return active; }
+    public void setActive(int active) { this.active = active; }
+    public int getIdle() { return idle; }
+    public void setIdle(int idle) { this.idle = idle; }
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    public int getWaiting() { return waiting; }
+    public void setWaiting(int waiting) { this.waiting = waiting; }
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    public long getAcquireCount() { return acquireCount; }
+    public void setAcquireCount(long acquireCount) { this.acquireCount = acquireCount; }
+    public double getAcquireMeanMs() { return acquireMeanMs; }
+    public void setAcquireMeanMs(double acquireMeanMs) { this.acquireMeanMs = acquireMeanMs; }
+    public double getAcquireMaxMs() { return acquireMaxMs; }
+    public void setAcquireMaxMs(double acquireMaxMs) { this.acquireMaxMs = acquireMaxMs; }
+    public double getAcquireP99Ms() { return acquireP99Ms; }
+    public void setAcquireP99Ms(double acquireP99Ms) { this.acquireP99Ms = acquireP99Ms; }
+}
@@ -0,0 +1,71 @@
+package com.nao.retail.orders.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Sentencias SQL por endpoint y últimas sentencias lentas (de la más lenta a la más rápida). */
+public class QueryDiagnosticsResponse {
+    private List<EndpointQueries> endpoints;
+    private List<SlowStatement> slowest;
+
+    /** Totales de un endpoint ("MÉTODO /patrón"). */
+    public static class EndpointQueries {
+        private String endpoint;
+        private long requests;
+        private long statements;
+        private long maxStatements;
+        private int budget;
+        private long overBudget;
+
+        // getters & setters
+        public String getEndpoint() { return endpoint; }
+        public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+        public long getRequests() { return requests; }
+        public void setRequests(long requests) { this.requests = requests; }
+        public long getStatements() { return statements; }
+        public void setStatements(long statements) { this.statements = statements; }
+        public long getMaxStatements() { return maxStatements; }
+        public void setMaxStatements(long maxStatements) { this.maxStatements = maxStatements; }
+        public int getBudget() { return budget; }
+        public void setBudget(int budget) { this.budget = budget; }
+        public long getOverBudget() { return overBudget; }
+        public void setOverBudget(long overBudget) { this.overBudget = overBudget; }
+    }
+
+    /** Sentencia lenta: SQL, tipos de los parámetros (no sus valores) y duración. */
+    public static class SlowStatement {
+        private String sql;
+        private String parameters;
+        private int batchSize;
+        private double durationMs;
+        private String endpoint;
+        private OffsetDateTime at;
+
+        // getters & setters
+        public String getSql() { return sql; }
+        public void setSql(String sql) { this.sql = sql; }
+        public String getParameters() { return parameters; }
+        public void setParameters(String parameters) { this.parameters = parameters; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public double getDurationMs() { return durationMs; }
+        public void setDurationMs(double durationMs) { this.durationMs = durationMs; }
+        public String getEndpoint() { return endpoint; }
+        public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+        public OffsetDateTime getAt() { return at; }
+        public void setAt(OffsetDateTime at) { this.at = at; }
+    }
+
+    public QueryDiagnosticsResponse() { }
+
+    public QueryDiagnosticsResponse(List<EndpointQueries> endpoints, List<SlowStatement> slowest) {
+        this.endpoints = endpoints;
+        this.slowest = slowest;
+    }
+
+    // getters & setters
+    public List<EndpointQueries> getEndpoints() { return endpoints; }
+    public void setEndpoints(List<EndpointQueries> endpoints) { this.endpoints = endpoints; }
+    public List<SlowStatement> getSlowest() { return slowest; }
+    public void setSlowest(List<SlowStatement> slowest) { this.slowest = slowest; }
+}
@@ -0,0 +1,34 @@
+package com.nao.retail.orders.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Transacción larga de escritura en curso (cambio masivo, lote de barrido, importación):
+ * todo lo que confirme tendrá change_seq mayor que lowSeq. El feed de cambios no avanza
+ * más allá del menor lowSeq vigente (ver ChangeFeedWatermark).
+ */
+@Entity
+@Table(name = "change_feed_writers")
+public class ChangeFeedWriter {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private long lowSeq;
+
+    /** Pasada esta fecha se ignora: el escritor murió sin darse de baja. */
+    @Column(nullable = false)
+    private OffsetDateTime expiresAt;
+
+    // getters & setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public long getLowSeq() { return lowSeq; }
+    public void setLowSeq(long lowSeq) { this.lowSeq = lowSeq; }
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(OffsetDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,21 @@
+package com.nao.retail.orders.entity;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Columna que toma el siguiente valor de {@link #SEQUENCE} en cada INSERT y UPDATE
+ * de la entidad (lo calcula la base de datos dentro de la misma sentencia).
+ */
+@ValueGenerationType(generatedBy = ChangeSeqGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ChangeSeq {
+
+    /** Secuencia compartida por órdenes y tombstones (ver {@link OrderTombstone}). */
+    String SEQUENCE = "order_change_seq";
+}
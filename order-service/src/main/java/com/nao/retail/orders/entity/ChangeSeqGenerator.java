@@ -0,0 +1,36 @@
+package com.nao.retail.orders.entity;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.OnExecutionGenerator;
+
+import java.util.EnumSet;
+
+/** Genera {@link ChangeSeq} con "nextval" en el SQL del dialecto (H2 / PostgreSQL). */
+public class ChangeSeqGenerator implements OnExecutionGenerator {
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_AND_UPDATE;
+    }
+
+    @Override
+    public boolean referenceColumnsInSql(Dialect dialect) {
+        return true;
+    }
+
+    @Override
+    public boolean writePropertyValue() {
+        return false;
+    }
+
+    @Override
+    public String[] getReferencedColumnValues(Dialect dialect) {
+        return new String[] { nextValue(dialect) };
+    }
+
+    public static String nextValue(Dialect dialect) {
+        return dialect.getSequenceSupport().getSelectSequenceNextValString(ChangeSeq.SEQUENCE);
+    }
+}
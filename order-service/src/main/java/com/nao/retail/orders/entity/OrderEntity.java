@@ -13,11 +13,14 @@ import java.util.UUID;
 
 /** Entidad principal Order. */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_orders_customer_email", columnList = "customer_email")
+})
 public class OrderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardAwareUuid
     private UUID id;
 
     @NotBlank
@@ -47,6 +50,11 @@ public class OrderEntity {
     @Column(nullable = false)
     private OffsetDateTime updatedAt = OffsetDateTime.now();
 
+    /** Posición en el feed de cambios; la asigna la base de datos en cada INSERT/UPDATE. */
+    @ChangeSeq
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = OffsetDateTime.now();
@@ -69,4 +77,5 @@ public class OrderEntity {
     public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public Long getChangeSeq() { return changeSeq; }
 }
@@ -1,6 +1,6 @@
 package com.nao.retail.orders.entity;
 
-/** Estados posibles de una orden. */
+/** Estados posibles de una orden. ARCHIVED: enviada hace tiempo, la pasa el barrido de ciclo de vida. */
 public enum OrderStatus {
-    NEW, PAID, SHIPPED, CANCELLED
+    NEW, PAID, SHIPPED, CANCELLED, ARCHIVED
 }
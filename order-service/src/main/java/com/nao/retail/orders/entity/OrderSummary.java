@@ -0,0 +1,65 @@
+package com.nao.retail.orders.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Resumen precalculado: cantidad y monto de órdenes por hora de creación (UTC) y estado.
+ * Cada (hora, estado) se reparte en varias filas "stripe" que se suman al leer, para que
+ * las altas concurrentes no se serialicen sobre una sola fila caliente.
+ * Lo mantiene {@code OrderSummaryService}; no se escribe con JPA.
+ */
+@Entity
+@Table(name = "order_summary")
+@IdClass(OrderSummary.Key.class)
+public class OrderSummary {
+
+    /** Clave compuesta. */
+    public static class Key implements Serializable {
+        private OffsetDateTime bucketHour;
+        private OrderStatus status;
+        private int stripe;
+
+        public Key() { }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(bucketHour, k.bucketHour)
+                    && status == k.status && stripe == k.stripe;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketHour, status, stripe);
+        }
+    }
+
+    @Id
+    @Column(name = "bucket_hour")
+    private OffsetDateTime bucketHour;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    @Id
+    private int stripe;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // getters
+    public OffsetDateTime getBucketHour() { return bucketHour; }
+    public OrderStatus getStatus() { return status; }
+    public int getStripe() { return stripe; }
+    public long getOrderCount() { return orderCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+}
@@ -0,0 +1,38 @@
+package com.nao.retail.orders.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Registro de una orden borrada, para el feed de cambios. */
+@Entity
+@Table(name = "order_tombstones")
+public class OrderTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_change_seq")
+    @SequenceGenerator(name = "order_change_seq", sequenceName = ChangeSeq.SEQUENCE, allocationSize = 1)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private OffsetDateTime deletedAt;
+
+    public OrderTombstone() { }
+
+    public OrderTombstone(UUID orderId, OffsetDateTime deletedAt) {
+        this.orderId = orderId;
+        this.deletedAt = deletedAt;
+    }
+
+    // getters & setters
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+    public UUID getOrderId() { return orderId; }
+    public void setOrderId(UUID orderId) { this.orderId = orderId; }
+    public OffsetDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(OffsetDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,29 @@
+package com.nao.retail.orders.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/** Lease de un job programado: sólo la réplica dueña y con el lease vigente lo ejecuta. */
+@Entity
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    @Column(nullable = false)
+    private OffsetDateTime expiresAt;
+
+    // getters & setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(OffsetDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,18 @@
+package com.nao.retail.orders.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id UUID aleatorio que, con sharding activo, cae en el mismo shard que el
+ * email del cliente de la orden (ver {@code ShardRouter#newOrderId}).
+ */
+@IdGeneratorType(ShardAwareUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardAwareUuid {
+}
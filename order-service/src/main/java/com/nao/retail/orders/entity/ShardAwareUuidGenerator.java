@@ -0,0 +1,32 @@
+package com.nao.retail.orders.entity;
+
+import com.nao.retail.orders.sharding.ShardRouter;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Genera {@link ShardAwareUuid}. El router llega como propiedad de la SessionFactory
+ * (sólo con sharding activo); sin él, UUID aleatorio como GenerationType.UUID.
+ */
+public class ShardAwareUuidGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        Object router = session.getFactory().getProperties().get(ShardRouter.HIBERNATE_PROPERTY);
+        if (router instanceof ShardRouter r && owner instanceof OrderEntity order) {
+            return r.newOrderId(order.getCustomerEmail());
+        }
+        return UUID.randomUUID();
+    }
+}
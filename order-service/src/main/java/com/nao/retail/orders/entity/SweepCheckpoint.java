@@ -0,0 +1,38 @@
+package com.nao.retail.orders.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Cursor de un barrido de ciclo de vida: último id procesado de la pasada en curso (null = empezar). */
+@Entity
+@Table(name = "lifecycle_checkpoint")
+public class SweepCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String sweep;
+
+    private UUID cursorId;
+
+    @Column(nullable = false)
+    private long processed;
+
+    private OffsetDateTime lastCompletedAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime updatedAt;
+
+    // getters & setters
+    public String getSweep() { return sweep; }
+    public void setSweep(String sweep) { this.sweep = sweep; }
+    public UUID getCursorId() { return cursorId; }
+    public void setCursorId(UUID cursorId) { this.cursorId = cursorId; }
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+    public OffsetDateTime getLastCompletedAt() { return lastCompletedAt; }
+    public void setLastCompletedAt(OffsetDateTime lastCompletedAt) { this.lastCompletedAt = lastCompletedAt; }
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,5 +1,7 @@
 package com.nao.retail.orders.exception;
 
+import com.nao.retail.orders.parser.OrderRequestViolationException;
+import com.nao.retail.orders.parser.PayloadTooLargeException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -28,6 +30,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /** Mismo formato que {@link MethodArgumentNotValidException}, con la primera violación. */
+    @ExceptionHandler(OrderRequestViolationException.class)
+    public ResponseEntity<?> handleViolation(OrderRequestViolationException ex) {
+        Map<String, Object> errors = new HashMap<>();
+        errors.put(ex.getField(), ex.getViolation());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<?> handleTooLarge(PayloadTooLargeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGeneric(Exception ex) {
         Map<String, Object> body = new HashMap<>();
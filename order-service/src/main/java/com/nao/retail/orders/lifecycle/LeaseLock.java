@@ -0,0 +1,62 @@
+package com.nao.retail.orders.lifecycle;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Elección de líder con una fila por job en scheduler_lease (con sharding, en el shard 0).
+ * Adquirir o renovar es un único UPDATE condicional (dueño actual o lease vencido);
+ * la primera vez, un INSERT que pierde contra otra réplica con clave duplicada.
+ * Los tiempos son los del reloj de cada réplica: el TTL debe ser holgado frente al desfase.
+ */
+@Component
+public class LeaseLock {
+
+    private final JdbcTemplate jdbc;
+    private final String owner;
+
+    public LeaseLock(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    /** true si esta réplica tiene (o acaba de tomar) el lease hasta now + ttl. */
+    public boolean tryAcquire(String name, Duration ttl) {
+        OffsetDateTime now = OffsetDateTime.now();
+        int updated = jdbc.update("UPDATE scheduler_lease SET owner = ?, expires_at = ?"
+                + " WHERE name = ? AND (owner = ? OR expires_at < ?)", owner, now.plus(ttl), name, owner, now);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            return jdbc.update("INSERT INTO scheduler_lease (name, owner, expires_at) VALUES (?, ?, ?)",
+                    name, owner, now.plus(ttl)) > 0;
+        } catch (DuplicateKeyException taken) {
+            return false;
+        }
+    }
+
+    /** Libera el lease si es de esta réplica (otra puede tomarlo sin esperar el TTL). */
+    public void release(String name) {
+        jdbc.update("UPDATE scheduler_lease SET expires_at = ? WHERE name = ? AND owner = ?",
+                OffsetDateTime.now(), name, owner);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            return "unknown";
+        }
+    }
+}
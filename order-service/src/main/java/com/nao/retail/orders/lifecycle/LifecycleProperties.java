@@ -0,0 +1,39 @@
+package com.nao.retail.orders.lifecycle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/** Configuración orders.lifecycle.* (barridos de ciclo de vida). */
+@Component
+@ConfigurationProperties(prefix = "orders.lifecycle")
+public class LifecycleProperties {
+
+    /** Barridos programados: apagados salvo que se activen (cancelan y archivan órdenes). */
+    private boolean enabled = false;
+    /** NEW sin pagar más antiguas que esto (por createdAt) pasan a CANCELLED (0 = apagado). */
+    private Duration expireNewAfter = Duration.ofHours(48);
+    /** SHIPPED sin cambios desde hace esto (por updatedAt) pasan a ARCHIVED (0 = apagado). */
+    private Duration archiveShippedAfter = Duration.ofDays(30);
+    /** Órdenes por lote (un SELECT ... FOR UPDATE + un UPDATE por lote). */
+    private int batchSize = 200;
+    /** Tope de filas por segundo de cada barrido (0 = sin tope). */
+    private int maxRowsPerSecond = 1000;
+    /** Vigencia del lease de líder; se renueva tras cada lote. */
+    private Duration leaseTtl = Duration.ofMinutes(2);
+
+    // getters & setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getExpireNewAfter() { return expireNewAfter; }
+    public void setExpireNewAfter(Duration expireNewAfter) { this.expireNewAfter = expireNewAfter; }
+    public Duration getArchiveShippedAfter() { return archiveShippedAfter; }
+    public void setArchiveShippedAfter(Duration archiveShippedAfter) { this.archiveShippedAfter = archiveShippedAfter; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxRowsPerSecond() { return maxRowsPerSecond; }
+    public void setMaxRowsPerSecond(int maxRowsPerSecond) { this.maxRowsPerSecond = maxRowsPerSecond; }
+    public Duration getLeaseTtl() { return leaseTtl; }
+    public void setLeaseTtl(Duration leaseTtl) { this.leaseTtl = leaseTtl; }
+}
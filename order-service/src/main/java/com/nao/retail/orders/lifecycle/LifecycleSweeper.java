@@ -0,0 +1,224 @@
+package com.nao.retail.orders.lifecycle;
+
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.service.ChangeFeedWatermark;
+import com.nao.retail.orders.service.OrderService;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Barridos de ciclo de vida: NEW viejas -> CANCELLED, SHIPPED viejas -> ARCHIVED.
+ * <p>
+ * Sólo corre en la réplica con el lease "lifecycle-sweeper" ({@link LeaseLock}). Cada
+ * barrido recorre orders por id (keyset: id > cursor ORDER BY id LIMIT n) en lotes;
+ * cada lote, en una transacción registrada en el feed de cambios ({@link ChangeFeedWatermark}),
+ * bloquea sus filas (FOR UPDATE), les cambia el estado por el camino masivo de OrderService
+ * (change_seq, resumen, caché) y guarda el cursor en lifecycle_checkpoint. Si la réplica cae, la siguiente sigue desde el último lote
+ * confirmado. Entre lotes se renueva el lease y se duerme para no pasar max-rows-per-second.
+ * <p>
+ * Métricas: orders.lifecycle.rows (contador por barrido: su tasa es filas/s),
+ * orders.lifecycle.rows-per-second (último lote), orders.lifecycle.batch (timer)
+ * y orders.lifecycle.leader (1 si esta réplica tiene el lease).
+ * <p>
+ * Sin lazy-init: con spring.main.lazy-initialization (prod) nadie lo pide y el
+ * {@code @Scheduled} sólo se registra si el bean se crea al arrancar. Boot ya excluye
+ * los beans con {@code @Scheduled}; el {@code @Lazy(false)} no depende de ese filtro.
+ */
+@Component
+@Lazy(false)
+public class LifecycleSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(LifecycleSweeper.class);
+
+    static final String LEASE = "lifecycle-sweeper";
+
+    /** Un barrido: órdenes en from con ageColumn anterior a now - age pasan a to. */
+    record Sweep(String name, OrderStatus from, OrderStatus to, String ageColumn, Duration age) { }
+
+    private record Batch(int rows, boolean done) { }
+
+    private final OrderService orders;
+    private final LeaseLock lease;
+    private final ShardTemplate shards;
+    private final ChangeFeedWatermark watermark;
+    private final JdbcTemplate jdbc;
+    private final LifecycleProperties props;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicInteger leader = new AtomicInteger();
+    private final Map<String, double[]> rowsPerSecond = new ConcurrentHashMap<>();
+
+    public LifecycleSweeper(OrderService orders,
+                            LeaseLock lease,
+                            ShardTemplate shards,
+                            ChangeFeedWatermark watermark,
+                            JdbcTemplate jdbc,
+                            LifecycleProperties props,
+                            MeterRegistry meterRegistry) {
+        this.orders = orders;
+        this.lease = lease;
+        this.shards = shards;
+        this.watermark = watermark;
+        this.jdbc = jdbc;
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("orders.lifecycle.leader", leader, AtomicInteger::get).register(meterRegistry);
+    }
+
+    List<Sweep> sweeps() {
+        List<Sweep> out = new ArrayList<>();
+        if (isPositive(props.getExpireNewAfter())) {
+            out.add(new Sweep("expire-new", OrderStatus.NEW, OrderStatus.CANCELLED, "created_at",
+                    props.getExpireNewAfter()));
+        }
+        if (isPositive(props.getArchiveShippedAfter())) {
+            out.add(new Sweep("archive-shipped", OrderStatus.SHIPPED, OrderStatus.ARCHIVED, "updated_at",
+                    props.getArchiveShippedAfter()));
+        }
+        return out;
+    }
+
+    private static boolean isPositive(Duration d) {
+        return d != null && !d.isZero() && !d.isNegative();
+    }
+
+    @Scheduled(initialDelayString = "${orders.lifecycle.initial-delay-ms:60000}",
+            fixedDelayString = "${orders.lifecycle.interval-ms:60000}")
+    public void scheduledRun() {
+        if (props.isEnabled()) {
+            runOnce();
+        }
+    }
+
+    /** Ejecuta todos los barridos si esta réplica es líder; filas cambiadas por barrido (vacío si no). */
+    public Map<String, Long> runOnce() {
+        running.lock();
+        try {
+            if (!lease.tryAcquire(LEASE, props.getLeaseTtl())) {
+                leader.set(0);
+                return Map.of();
+            }
+            leader.set(1);
+            Map<String, Long> processed = new LinkedHashMap<>();
+            for (Sweep sweep : sweeps()) {
+                processed.put(sweep.name(), sweep(sweep));
+            }
+            return processed;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private long sweep(Sweep sweep) {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(sweep.age());
+        Counter rows = meterRegistry.counter("orders.lifecycle.rows", "sweep", sweep.name());
+        Timer batches = meterRegistry.timer("orders.lifecycle.batch", "sweep", sweep.name());
+        double[] rate = rowsPerSecond.computeIfAbsent(sweep.name(), name -> {
+            double[] holder = new double[1];
+            Gauge.builder("orders.lifecycle.rows-per-second", holder, h -> h[0])
+                    .tag("sweep", name).register(meterRegistry);
+            return holder;
+        });
+        long total = 0;
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            while (true) {
+                long start = System.nanoTime();
+                Batch batch = watermark.inTransaction(shard, () -> batch(sweep, cutoff));
+                long elapsed = System.nanoTime() - start;
+                batches.record(elapsed, TimeUnit.NANOSECONDS);
+                rows.increment(batch.rows());
+                rate[0] = batch.rows() * 1e9 / Math.max(1, elapsed);
+                total += batch.rows();
+                if (batch.done()) {
+                    break;
+                }
+                if (!lease.tryAcquire(LEASE, props.getLeaseTtl())) {
+                    log.warn("Lease {} perdido durante el barrido {}; se retoma desde el checkpoint", LEASE, sweep.name());
+                    leader.set(0);
+                    return total;
+                }
+                if (!throttle(batch.rows(), elapsed)) {
+                    return total;
+                }
+            }
+        }
+        if (total > 0) {
+            log.info("Barrido {}: {} órdenes {} -> {}", sweep.name(), total, sweep.from(), sweep.to());
+        }
+        return total;
+    }
+
+    private Batch batch(Sweep sweep, OffsetDateTime cutoff) {
+        String key = sweep.name();
+        List<UUID> cursor = jdbc.queryForList("SELECT cursor_id FROM lifecycle_checkpoint WHERE sweep = ?",
+                UUID.class, key);
+        UUID after = cursor.isEmpty() ? null : cursor.get(0);
+
+        String sql = "SELECT id FROM orders WHERE status = ? AND " + sweep.ageColumn() + " < ?"
+                + (after != null ? " AND id > ?" : "") + " ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+        List<UUID> ids = after != null
+                ? jdbc.queryForList(sql, UUID.class, sweep.from().name(), cutoff, after, props.getBatchSize())
+                : jdbc.queryForList(sql, UUID.class, sweep.from().name(), cutoff, props.getBatchSize());
+
+        OffsetDateTime now = OffsetDateTime.now();
+        if (ids.isEmpty()) {
+            saveCheckpoint(key, cursor.isEmpty(), null, 0, now);
+            return new Batch(0, true);
+        }
+        int changed = orders.updateStatusLocked(ids, sweep.to());
+        boolean done = ids.size() < props.getBatchSize();
+        saveCheckpoint(key, cursor.isEmpty(), done ? null : ids.get(ids.size() - 1), changed, done ? now : null);
+        return new Batch(changed, done);
+    }
+
+    /** Cursor del lote confirmado; al terminar la pasada vuelve a null (la próxima empieza de cero). */
+    private void saveCheckpoint(String sweep, boolean insert, UUID cursorId, int processed, OffsetDateTime completedAt) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (insert) {
+            jdbc.update("INSERT INTO lifecycle_checkpoint (sweep, cursor_id, processed, last_completed_at, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?)", sweep, cursorId, processed, completedAt, now);
+        } else {
+            jdbc.update("UPDATE lifecycle_checkpoint SET cursor_id = ?, processed = processed + ?,"
+                    + " last_completed_at = COALESCE(?, last_completed_at), updated_at = ? WHERE sweep = ?",
+                    cursorId, processed, completedAt, now, sweep);
+        }
+    }
+
+    /** Duerme lo necesario para no pasar max-rows-per-second; false si el hilo fue interrumpido. */
+    private boolean throttle(int rows, long elapsedNanos) {
+        if (props.getMaxRowsPerSecond() <= 0) {
+            return true;
+        }
+        long sleep = rows * 1_000_000_000L / props.getMaxRowsPerSecond() - elapsedNanos;
+        if (sleep > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -38,6 +38,27 @@ public class OrderMapper {
         return r;
     }
 
+    /** Copia independiente (ítems incluidos) de una respuesta. */
+    public static OrderResponse copy(OrderResponse src) {
+        OrderResponse r = new OrderResponse();
+        r.setId(src.getId());
+        r.setCustomerName(src.getCustomerName());
+        r.setCustomerEmail(src.getCustomerEmail());
+        r.setItems(src.getItems() == null ? null : src.getItems().stream().map(i -> {
+            OrderItemDTO d = new OrderItemDTO();
+            d.setSku(i.getSku());
+            d.setName(i.getName());
+            d.setQuantity(i.getQuantity());
+            d.setUnitPrice(i.getUnitPrice());
+            return d;
+        }).collect(Collectors.toList()));
+        r.setTotalAmount(src.getTotalAmount());
+        r.setStatus(src.getStatus());
+        r.setCreatedAt(src.getCreatedAt());
+        r.setUpdatedAt(src.getUpdatedAt());
+        return r;
+    }
+
     private static List<OrderItem> toItems(List<OrderItemDTO> dtos) {
         return dtos.stream().map(d -> {
             OrderItem i = new OrderItem();
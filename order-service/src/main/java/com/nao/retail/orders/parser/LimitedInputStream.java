@@ -0,0 +1,45 @@
+package com.nao.retail.orders.parser;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Corta la lectura al pasar el máximo aunque no venga Content-Length (chunked):
+ * {@link PayloadTooLargeException} (HTTP 413).
+ */
+public final class LimitedInputStream extends FilterInputStream {
+
+    private final long max;
+    private long read;
+
+    public LimitedInputStream(InputStream in, long max) {
+        super(in);
+        this.max = max;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    private void count(int n) {
+        read += n;
+        if (read > max) {
+            throw new PayloadTooLargeException("Body exceeds " + max + " bytes");
+        }
+    }
+}
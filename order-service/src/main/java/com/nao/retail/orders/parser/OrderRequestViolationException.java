@@ -0,0 +1,17 @@
+package com.nao.retail.orders.parser;
+
+/** Primera violación encontrada al parsear; campo con la misma ruta que Bean Validation ("items[3].quantity"). */
+public class OrderRequestViolationException extends RuntimeException {
+
+    private final String field;
+    private final String violation;
+
+    public OrderRequestViolationException(String field, String violation) {
+        super(field + ": " + violation);
+        this.field = field;
+        this.violation = violation;
+    }
+
+    public String getField() { return field; }
+    public String getViolation() { return violation; }
+}
@@ -0,0 +1,8 @@
+package com.nao.retail.orders.parser;
+
+/** Body o cantidad de ítems por encima del máximo configurado (HTTP 413). */
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
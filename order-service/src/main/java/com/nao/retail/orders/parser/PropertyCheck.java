@@ -0,0 +1,100 @@
+package com.nao.retail.orders.parser;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Restricciones de una propiedad, leídas una vez de los metadatos de Bean Validation y
+ * compiladas a predicados simples. Un valor válido no pasa por el Validator; uno inválido
+ * (o una restricción sin predicado, como @Email) sí, así el mensaje es el mismo que con @Valid.
+ */
+final class PropertyCheck {
+
+    private final Validator validator;
+    private final Class<?> bean;
+    private final String property;
+    private final List<Predicate<Object>> fast = new ArrayList<>();
+    private boolean needsValidator;
+
+    private PropertyCheck(Validator validator, Class<?> bean, String property) {
+        this.validator = validator;
+        this.bean = bean;
+        this.property = property;
+    }
+
+    static PropertyCheck of(Validator validator, Class<?> bean, String property) {
+        PropertyCheck check = new PropertyCheck(validator, bean, property);
+        PropertyDescriptor descriptor = validator.getConstraintsForClass(bean).getConstraintsForProperty(property);
+        if (descriptor != null) {
+            for (ConstraintDescriptor<?> constraint : descriptor.getConstraintDescriptors()) {
+                Predicate<Object> predicate = predicate(constraint.getAnnotation());
+                if (predicate != null) {
+                    check.fast.add(predicate);
+                } else {
+                    check.needsValidator = true;
+                }
+            }
+        }
+        return check;
+    }
+
+    private static Predicate<Object> predicate(Annotation annotation) {
+        Class<? extends Annotation> type = annotation.annotationType();
+        if (type == NotNull.class) {
+            return v -> v != null;
+        }
+        if (type == NotBlank.class) {
+            return v -> v != null && !v.toString().isBlank();
+        }
+        if (type == NotEmpty.class) {
+            return v -> v != null && !(v instanceof CharSequence s && s.isEmpty())
+                    && !(v instanceof Collection<?> c && c.isEmpty());
+        }
+        if (type == Positive.class) {
+            return v -> v == null || signum(v) > 0;
+        }
+        if (type == PositiveOrZero.class) {
+            return v -> v == null || signum(v) >= 0;
+        }
+        return null;
+    }
+
+    private static int signum(Object v) {
+        if (v instanceof BigDecimal d) {
+            return d.signum();
+        }
+        return Long.signum(((Number) v).longValue());
+    }
+
+    /** null si el valor cumple; si no, el mensaje de la primera violación. */
+    String violation(Object value) {
+        boolean valid = true;
+        for (Predicate<Object> p : fast) {
+            if (!p.test(value)) {
+                valid = false;
+                break;
+            }
+        }
+        if (valid && !needsValidator) {
+            return null;
+        }
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Set<ConstraintViolation<?>> violations = (Set) validator.validateValue(bean, property, value);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+}
@@ -0,0 +1,17 @@
+package com.nao.retail.orders.parser;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reemplaza {@code @Valid @RequestBody} en parámetros {@code OrderRequest}: el body se lee
+ * con {@link StreamingOrderRequestParser}, validando mientras se parsea.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StreamedOrderRequest {
+}
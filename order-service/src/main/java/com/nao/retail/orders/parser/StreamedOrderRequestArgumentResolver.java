@@ -0,0 +1,32 @@
+package com.nao.retail.orders.parser;
+
+import com.nao.retail.orders.dto.OrderRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/** Resuelve parámetros {@code @StreamedOrderRequest OrderRequest} con {@link StreamingOrderRequestParser}. */
+public class StreamedOrderRequestArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final StreamingOrderRequestParser parser;
+
+    public StreamedOrderRequestArgumentResolver(StreamingOrderRequestParser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(StreamedOrderRequest.class)
+                && parameter.getParameterType() == OrderRequest.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return parser.parse(request.getInputStream(), request.getContentLengthLong());
+    }
+}
@@ -0,0 +1,190 @@
+package com.nao.retail.orders.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderRequest;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser de {@link OrderRequest} sobre el stream del body (Jackson JsonParser, sin árbol ni
+ * binding reflexivo). Cada campo se valida al leerlo y cada ítem al cerrarse: la primera
+ * violación corta la lectura. Los límites de tamaño y de ítems se aplican mientras se lee,
+ * antes de tener el payload completo en memoria.
+ */
+@Component
+public class StreamingOrderRequestParser {
+
+    private final JsonFactory json;
+    private final int maxItems;
+    private final long maxBodyBytes;
+    private final PropertyCheck customerName;
+    private final PropertyCheck customerEmail;
+    private final PropertyCheck items;
+    private final PropertyCheck totalAmount;
+    private final PropertyCheck sku;
+    private final PropertyCheck name;
+    private final PropertyCheck quantity;
+    private final PropertyCheck unitPrice;
+
+    public StreamingOrderRequestParser(ObjectMapper objectMapper, Validator validator,
+                                       @Value("${orders.request-parser.max-items:1000}") int maxItems,
+                                       @Value("${orders.request-parser.max-body-bytes:1048576}") long maxBodyBytes) {
+        this.json = objectMapper.getFactory();
+        this.maxItems = maxItems;
+        this.maxBodyBytes = maxBodyBytes;
+        this.customerName = PropertyCheck.of(validator, OrderRequest.class, "customerName");
+        this.customerEmail = PropertyCheck.of(validator, OrderRequest.class, "customerEmail");
+        this.items = PropertyCheck.of(validator, OrderRequest.class, "items");
+        this.totalAmount = PropertyCheck.of(validator, OrderRequest.class, "totalAmount");
+        this.sku = PropertyCheck.of(validator, OrderItemDTO.class, "sku");
+        this.name = PropertyCheck.of(validator, OrderItemDTO.class, "name");
+        this.quantity = PropertyCheck.of(validator, OrderItemDTO.class, "quantity");
+        this.unitPrice = PropertyCheck.of(validator, OrderItemDTO.class, "unitPrice");
+    }
+
+    /**
+     * @param contentLength Content-Length declarado (-1 si no viene): si supera el máximo
+     *                      se rechaza sin leer el body
+     */
+    public OrderRequest parse(InputStream body, long contentLength) throws IOException {
+        if (maxBodyBytes > 0 && contentLength > maxBodyBytes) {
+            throw new PayloadTooLargeException("Body of " + contentLength + " bytes exceeds " + maxBodyBytes);
+        }
+        try (JsonParser p = json.createParser(maxBodyBytes > 0 ? new LimitedInputStream(body, maxBodyBytes) : body)) {
+            JsonToken first = p.nextToken();
+            if (first == null) {
+                throw new IllegalArgumentException("Request body is required");
+            }
+            if (first != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            OrderRequest req = new OrderRequest();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "customerName" -> req.setCustomerName(check(customerName, field, text(p, field)));
+                    case "customerEmail" -> req.setCustomerEmail(check(customerEmail, field, text(p, field)));
+                    case "totalAmount" -> req.setTotalAmount(check(totalAmount, field, decimal(p, field)));
+                    case "items" -> req.setItems(check(items, field, items(p)));
+                    default -> p.skipChildren();
+                }
+            }
+            // campos ausentes (null): mismas restricciones que si vinieran en null
+            check(customerName, "customerName", req.getCustomerName());
+            check(customerEmail, "customerEmail", req.getCustomerEmail());
+            check(items, "items", req.getItems());
+            check(totalAmount, "totalAmount", req.getTotalAmount());
+            return req;
+        } catch (StreamReadException ex) {
+            throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private List<OrderItemDTO> items(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("items: expected an array");
+        }
+        List<OrderItemDTO> out = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (maxItems > 0 && out.size() == maxItems) {
+                throw new PayloadTooLargeException("More than " + maxItems + " items");
+            }
+            out.add(item(p, "items[" + out.size() + "]"));
+        }
+        return out;
+    }
+
+    private OrderItemDTO item(JsonParser p, String path) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException(path + ": expected an object");
+        }
+        OrderItemDTO item = new OrderItemDTO();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "sku" -> item.setSku(text(p, path + ".sku"));
+                case "name" -> item.setName(text(p, path + ".name"));
+                case "quantity" -> item.setQuantity(integer(p, path + ".quantity"));
+                case "unitPrice" -> item.setUnitPrice(decimal(p, path + ".unitPrice"));
+                default -> p.skipChildren();
+            }
+        }
+        check(sku, path + ".sku", item.getSku());
+        check(name, path + ".name", item.getName());
+        check(quantity, path + ".quantity", item.getQuantity());
+        check(unitPrice, path + ".unitPrice", item.getUnitPrice());
+        return item;
+    }
+
+    private static <T> T check(PropertyCheck check, String field, T value) {
+        String violation = check.violation(value);
+        if (violation != null) {
+            throw new OrderRequestViolationException(field, violation);
+        }
+        return value;
+    }
+
+    private static String text(JsonParser p, String field) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!t.isScalarValue()) {
+            throw new IllegalArgumentException(field + ": expected a string");
+        }
+        return p.getText();
+    }
+
+    private static BigDecimal decimal(JsonParser p, String field) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (t.isNumeric()) {
+            return p.getDecimalValue();
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            try {
+                return new BigDecimal(p.getText().trim());
+            } catch (NumberFormatException ignored) {
+                // cae al error de abajo
+            }
+        }
+        throw new IllegalArgumentException(field + ": expected a number");
+    }
+
+    private static int integer(JsonParser p, String field) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (t == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == JsonParser.NumberType.INT) {
+            return p.getIntValue();
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(p.getText().trim());
+            } catch (NumberFormatException ignored) {
+                // cae al error de abajo
+            }
+        }
+        throw new IllegalArgumentException(field + ": expected an integer");
+    }
+}
@@ -0,0 +1,8 @@
+package com.nao.retail.orders.querybudget;
+
+/** Un request ejecutó más sentencias SQL que su presupuesto (modo FAIL). */
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
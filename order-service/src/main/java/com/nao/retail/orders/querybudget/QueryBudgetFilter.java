@@ -0,0 +1,71 @@
+package com.nao.retail.orders.querybudget;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Cuenta las sentencias SQL y el tiempo en base de datos de cada request y los
+ * compara con el presupuesto del endpoint ("MÉTODO /patrón", p. ej. "GET /api/v1/orders/{id}").
+ * Un lazy load nuevo dentro de list() aparece como presupuesto excedido. En modo FAIL el
+ * corte ocurre dentro del request (ver {@link QueryRecorder#beforeStatement}); aquí sólo
+ * queda el registro por endpoint y el warning del modo LOG.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryRecorder recorder;
+    private final QueryBudgetProperties props;
+
+    public QueryBudgetFilter(QueryRecorder recorder, QueryBudgetProperties props) {
+        this.recorder = recorder;
+        this.props = props;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryRecorder.RequestQueries queries = recorder.begin(request.getMethod() + " " + request.getRequestURI(),
+                () -> endpoint(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recorder.end();
+        }
+        String endpoint = endpoint(request);
+        int budget = props.budgetFor(endpoint);
+        boolean exceeded = budget > 0 && queries.statements > budget;
+        recorder.onRequestEnd(endpoint, queries, budget, exceeded);
+        if (exceeded && !queries.rejected) {
+            String message = QueryRecorder.exceeded(endpoint, queries, budget);
+            // sólo sin respuesta escrita: con el body ya enviado la excepción no cambiaría el status
+            if (props.getMode() == QueryBudgetProperties.Mode.FAIL && !response.isCommitted()) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
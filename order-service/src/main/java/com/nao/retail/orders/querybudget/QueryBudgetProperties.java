@@ -0,0 +1,47 @@
+package com.nao.retail.orders.querybudget;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Configuración orders.query-budget.* (presupuesto de sentencias SQL por request). */
+@Component
+@ConfigurationProperties(prefix = "orders.query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * LOG: warning al final del request y sigue; FAIL: la sentencia que excede el presupuesto
+     * lanza QueryBudgetExceededException y el request responde 500 (para tests).
+     */
+    public enum Mode { LOG, FAIL }
+
+    private boolean enabled = true;
+    private Mode mode = Mode.LOG;
+    /** Sentencias permitidas en endpoints sin presupuesto propio (0 = sin límite). */
+    private int defaultMaxStatements = 20;
+    /** Presupuesto por "MÉTODO /patrón" (0 = sin límite). */
+    private Map<String, Integer> budgets = new HashMap<>();
+    /** Sentencias más lentas que esto entran al buffer de lentas. */
+    private long slowThresholdMs = 50;
+    private int slowBufferSize = 100;
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultMaxStatements);
+    }
+
+    // getters & setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+    public int getDefaultMaxStatements() { return defaultMaxStatements; }
+    public void setDefaultMaxStatements(int defaultMaxStatements) { this.defaultMaxStatements = defaultMaxStatements; }
+    public Map<String, Integer> getBudgets() { return budgets; }
+    public void setBudgets(Map<String, Integer> budgets) { this.budgets = budgets; }
+    public long getSlowThresholdMs() { return slowThresholdMs; }
+    public void setSlowThresholdMs(long slowThresholdMs) { this.slowThresholdMs = slowThresholdMs; }
+    public int getSlowBufferSize() { return slowBufferSize; }
+    public void setSlowBufferSize(int slowBufferSize) { this.slowBufferSize = slowBufferSize; }
+}
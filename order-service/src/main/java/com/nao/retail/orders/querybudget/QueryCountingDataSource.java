@@ -0,0 +1,185 @@
+package com.nao.retail.orders.querybudget;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que envuelve conexiones y sentencias para medir cada execute*:
+ * SQL, duración, tamaño de batch y la "forma" de los parámetros (sus tipos).
+ * Con observaciones, cada execute* dentro de una observación abierta (request, tarea
+ * programada) es además un span "orders.jdbc" hijo de ella.
+ * unwrap() sigue llegando al pool real (Hikari).
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> OPERATIONS = Set.of("select", "insert", "update", "delete", "merge", "call");
+
+    private final QueryRecorder recorder;
+    private final Supplier<ObservationRegistry> observations;
+
+    public QueryCountingDataSource(DataSource target, QueryRecorder recorder) {
+        this(target, recorder, null);
+    }
+
+    /** @param observations registry para spans por sentencia (null = sin spans) */
+    public QueryCountingDataSource(DataSource target, QueryRecorder recorder,
+                                   Supplier<ObservationRegistry> observations) {
+        super(target);
+        this.recorder = recorder;
+        this.observations = observations;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object result = call(target, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> statement(result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> statement(result, CallableStatement.class, (String) args[0]);
+                        case "createStatement" -> statement(result, Statement.class, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object statement(Object target, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                new StatementHandler(target, sql));
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private final String sql;
+        private final Map<Integer, String> params = new TreeMap<>();
+        private int batched;
+        private String batchSql;
+
+        StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                params.put(index, name.equals("setNull") || args[1] == null ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            } else if (name.equals("addBatch")) {
+                batched++;
+                if (args != null && args.length == 1 && batchSql == null) {
+                    batchSql = (String) args[0];
+                }
+            } else if (name.startsWith("execute")) {
+                boolean batch = name.endsWith("Batch");
+                String executed = args != null && args.length > 0 && args[0] instanceof String s ? s
+                        : (batch && batchSql != null ? batchSql : sql);
+                int batchSize = batch ? batched : 1;
+                String shape = shape();
+                recorder.beforeStatement(executed);
+                Observation observation = observe(executed, batchSize);
+                long start = System.nanoTime();
+                try {
+                    return call(target, method, args);
+                } catch (Throwable e) {
+                    observation.error(e);
+                    throw e;
+                } finally {
+                    recorder.onStatement(executed, shape, System.nanoTime() - start, batchSize);
+                    observation.stop();
+                    if (batch) {
+                        batched = 0;
+                        batchSql = null;
+                    }
+                }
+            }
+            return call(target, method, args);
+        }
+
+        private Observation observe(String executed, int batchSize) {
+            if (observations == null || executed == null) {
+                return Observation.NOOP;
+            }
+            ObservationRegistry registry = observations.get();
+            if (registry.getCurrentObservation() == null) {
+                return Observation.NOOP;   // DDL de arranque y similares: sin trazas sueltas por sentencia
+            }
+            String operation = operation(executed);
+            return Observation.createNotStarted("orders.jdbc", registry)
+                    .contextualName(operation)
+                    .lowCardinalityKeyValue("db.operation", operation)
+                    .highCardinalityKeyValue("db.statement", executed)
+                    .highCardinalityKeyValue("db.batch.size", String.valueOf(batchSize))
+                    .start();
+        }
+
+        /** Tipos en orden, con repeticiones compactadas: "(UUID x5, null x95)" para un IN (...) con padding. */
+        private String shape() {
+            StringJoiner joiner = new StringJoiner(", ", "(", ")");
+            String previous = null;
+            int run = 0;
+            for (String type : params.values()) {
+                if (type.equals(previous)) {
+                    run++;
+                    continue;
+                }
+                if (previous != null) {
+                    joiner.add(run > 1 ? previous + " x" + run : previous);
+                }
+                previous = type;
+                run = 1;
+            }
+            if (previous != null) {
+                joiner.add(run > 1 ? previous + " x" + run : previous);
+            }
+            return joiner.toString();
+        }
+    }
+
+    private static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String verb = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return OPERATIONS.contains(verb) ? verb : "other";
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
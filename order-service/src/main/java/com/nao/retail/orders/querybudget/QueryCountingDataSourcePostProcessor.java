@@ -0,0 +1,48 @@
+package com.nao.retail.orders.querybudget;
+
+import com.nao.retail.orders.tracing.TracingProperties;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource de la aplicación en un {@link QueryCountingDataSource}, con
+ * presupuesto de sentencias o con spans JDBC activos (orders.tracing.jdbc).
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryRecorder> recorder;
+    private final ObjectProvider<QueryBudgetProperties> props;
+    private final ObjectProvider<TracingProperties> tracing;
+    private final ObjectProvider<ObservationRegistry> observations;
+
+    public QueryCountingDataSourcePostProcessor(ObjectProvider<QueryRecorder> recorder,
+                                                ObjectProvider<QueryBudgetProperties> props,
+                                                ObjectProvider<TracingProperties> tracing,
+                                                ObjectProvider<ObservationRegistry> observations) {
+        this.recorder = recorder;
+        this.props = props;
+        this.tracing = tracing;
+        this.observations = observations;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource ds) || bean instanceof QueryCountingDataSource) {
+            return bean;
+        }
+        boolean spans = tracing.getObject().isJdbc();
+        if (!props.getObject().isEnabled() && !spans) {
+            return bean;
+        }
+        // el registry se resuelve en la primera sentencia, no al crear el DataSource
+        return new QueryCountingDataSource(ds, recorder.getObject(), spans
+                ? SingletonSupplier.of(() -> observations.getIfAvailable(() -> ObservationRegistry.NOOP))
+                : null);
+    }
+}
@@ -0,0 +1,178 @@
+package com.nao.retail.orders.querybudget;
+
+import com.nao.retail.orders.dto.QueryDiagnosticsResponse;
+import io.micrometer.context.ContextRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Recibe cada sentencia JDBC ejecutada: la suma al request en curso del hilo (si hay),
+ * guarda las lentas en un buffer circular y acumula totales por endpoint.
+ * En modo FAIL corta el request en la sentencia que excede el presupuesto, antes de
+ * ejecutarla: la excepción llega al controller mientras la respuesta todavía no se escribió.
+ * <p>
+ * El contador del request está registrado en el ContextRegistry de context-propagation:
+ * viaja con el snapshot que ShardTemplate toma para los hilos orders-scatter, así que las
+ * consultas por shard en paralelo también se cuentan (por eso se actualiza sincronizado).
+ */
+@Component
+public class QueryRecorder {
+
+    /** Sentencias registradas por request en el mensaje de presupuesto excedido. */
+    private static final int MAX_SQL_PER_REQUEST = 25;
+
+    /** Contador del request en curso. */
+    public static final class RequestQueries {
+        final String uri;
+        /** "MÉTODO /patrón": el patrón se conoce recién cuando el request llega al handler. */
+        final Supplier<String> endpoint;
+        int statements;
+        long nanos;
+        final List<String> sql = new ArrayList<>();
+        /** El request ya se cortó por presupuesto (modo FAIL). */
+        boolean rejected;
+
+        RequestQueries(String uri, Supplier<String> endpoint) {
+            this.uri = uri;
+            this.endpoint = endpoint;
+        }
+    }
+
+    private static final class EndpointStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder overBudget = new LongAdder();
+        volatile int budget;
+    }
+
+    /** Clave del contador en el ContextRegistry. */
+    static final String CONTEXT_KEY = "orders.query-budget.request";
+
+    // estático: el accessor del ContextRegistry es global (uno por clave)
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final QueryBudgetProperties props;
+    private final QueryDiagnosticsResponse.SlowStatement[] slow;
+    private long slowWritten;
+
+    public QueryRecorder(QueryBudgetProperties props) {
+        this.props = props;
+        this.slow = new QueryDiagnosticsResponse.SlowStatement[Math.max(1, props.getSlowBufferSize())];
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CONTEXT_KEY,
+                CURRENT::get, CURRENT::set, CURRENT::remove);
+    }
+
+    RequestQueries begin(String uri, Supplier<String> endpoint) {
+        RequestQueries q = new RequestQueries(uri, endpoint);
+        CURRENT.set(q);
+        return q;
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Llamado por el proxy JDBC antes de cada execute*. En modo FAIL, si el request ya
+     * agotó su presupuesto, cuenta la sentencia sin ejecutarla y lanza
+     * {@link QueryBudgetExceededException}.
+     */
+    void beforeStatement(String sql) {
+        RequestQueries q = CURRENT.get();
+        if (q == null || props.getMode() != QueryBudgetProperties.Mode.FAIL) {
+            return;
+        }
+        String endpoint = q.endpoint.get();
+        int budget = props.budgetFor(endpoint);
+        synchronized (q) {
+            if (budget > 0 && q.statements >= budget) {
+                q.statements++;
+                if (q.sql.size() < MAX_SQL_PER_REQUEST) {
+                    q.sql.add(sql);
+                }
+                q.rejected = true;
+                throw new QueryBudgetExceededException(exceeded(endpoint, q, budget));
+            }
+        }
+    }
+
+    /** Llamado por el proxy JDBC después de cada execute*. */
+    void onStatement(String sql, String paramShape, long nanos, int batchSize) {
+        RequestQueries q = CURRENT.get();
+        if (q != null) {
+            synchronized (q) {
+                q.statements++;
+                q.nanos += nanos;
+                if (q.sql.size() < MAX_SQL_PER_REQUEST) {
+                    q.sql.add(sql);
+                }
+            }
+        }
+        if (nanos >= props.getSlowThresholdMs() * 1_000_000) {
+            QueryDiagnosticsResponse.SlowStatement s = new QueryDiagnosticsResponse.SlowStatement();
+            s.setSql(sql);
+            s.setParameters(paramShape);
+            s.setBatchSize(batchSize);
+            s.setDurationMs(nanos / 1_000_000.0);
+            s.setEndpoint(q != null ? q.uri : null);
+            s.setAt(OffsetDateTime.now());
+            synchronized (slow) {
+                slow[(int) (slowWritten++ % slow.length)] = s;
+            }
+        }
+    }
+
+    void onRequestEnd(String endpoint, RequestQueries q, int budget, boolean exceeded) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, k -> new EndpointStats());
+        stats.requests.increment();
+        stats.statements.add(q.statements);
+        stats.maxStatements.accumulate(q.statements);
+        stats.budget = budget;
+        if (exceeded) {
+            stats.overBudget.increment();
+        }
+    }
+
+    static String exceeded(String endpoint, RequestQueries q, int budget) {
+        return String.format(Locale.ROOT,
+                "Query budget exceeded: %s ran %d SQL statements (budget %d) in %.1f ms: %s",
+                endpoint, q.statements, budget, q.nanos / 1e6, q.sql);
+    }
+
+    public QueryDiagnosticsResponse snapshot() {
+        List<QueryDiagnosticsResponse.SlowStatement> slowest = new ArrayList<>();
+        synchronized (slow) {
+            for (QueryDiagnosticsResponse.SlowStatement s : slow) {
+                if (s != null) {
+                    slowest.add(s);
+                }
+            }
+        }
+        slowest.sort(Comparator.comparingDouble(QueryDiagnosticsResponse.SlowStatement::getDurationMs).reversed());
+
+        List<QueryDiagnosticsResponse.EndpointQueries> perEndpoint = new ArrayList<>();
+        endpoints.forEach((endpoint, s) -> {
+            QueryDiagnosticsResponse.EndpointQueries e = new QueryDiagnosticsResponse.EndpointQueries();
+            e.setEndpoint(endpoint);
+            e.setRequests(s.requests.sum());
+            e.setStatements(s.statements.sum());
+            e.setMaxStatements(s.maxStatements.get());
+            e.setBudget(s.budget);
+            e.setOverBudget(s.overBudget.sum());
+            perEndpoint.add(e);
+        });
+        perEndpoint.sort(Comparator.comparing(QueryDiagnosticsResponse.EndpointQueries::getEndpoint));
+        return new QueryDiagnosticsResponse(perEndpoint, slowest);
+    }
+}
@@ -2,13 +2,83 @@ package com.nao.retail.orders.repository;
 
 import com.nao.retail.orders.entity.OrderEntity;
 import com.nao.retail.orders.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /** Acceso a datos Order. */
-public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
+public interface OrderRepository extends JpaRepository<OrderEntity, UUID>, OrderRepositoryCustom {
+
+    /** Lo que el resumen por estado/hora necesita de una orden. */
+    interface SummaryRow {
+        OffsetDateTime getCreatedAt();
+        OrderStatus getStatus();
+        BigDecimal getTotalAmount();
+    }
+
     Page<OrderEntity> findByStatus(OrderStatus status, Pageable pageable);
+
+    /** Órdenes de un cliente (usa idx_orders_customer_email; con sharding, un único shard). */
+    Page<OrderEntity> findByCustomerEmail(String customerEmail, Pageable pageable);
+
+    Page<OrderEntity> findByCustomerEmailAndStatus(String customerEmail, OrderStatus status, Pageable pageable);
+
+    /** Ids que cumplen los filtros de una operación masiva (null = sin filtro), como mucho limit. */
+    @Query("select o.id from OrderEntity o"
+            + " where (:status is null or o.status = :status)"
+            + " and (:createdBefore is null or o.createdAt < :createdBefore)")
+    List<UUID> findIdsMatching(@Param("status") OrderStatus status,
+                               @Param("createdBefore") OffsetDateTime createdBefore,
+                               Limit limit);
+
+    /** Estado, fecha y monto de las órdenes de una operación masiva, antes de modificarlas. */
+    @Query("select o.createdAt as createdAt, o.status as status, o.totalAmount as totalAmount"
+            + " from OrderEntity o where o.id in :ids")
+    List<SummaryRow> findSummaryRows(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * DELETE ... WHERE id IN (...) sin cargar las entidades. Hibernate borra antes
+     * los order_items con un único DELETE ... WHERE order_id IN (subselect).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from OrderEntity o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /** Feed de cambios: siguientes órdenes por change_seq (usa idx_orders_change_seq). */
+    List<OrderEntity> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long since, Limit limit);
+
+    /** Carga del store en memoria: páginas por keyset sobre la PK. */
+    List<OrderEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<OrderEntity> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    /** Replay del WAL: ids que ya están en la base. */
+    @Query("select o.id from OrderEntity o where o.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Orden a modificar con su fila bloqueada hasta el commit: los deltas del resumen
+     * salen del estado leído y otra transacción no puede cambiarlo en el medio.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from OrderEntity o where o.id = :id")
+    Optional<OrderEntity> findByIdForUpdate(@Param("id") UUID id);
+
+    /** Bloquea las filas antes de un cambio masivo, en orden de id (el mismo en todas las transacciones). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id from OrderEntity o where o.id in :ids order by o.id")
+    List<UUID> lockByIdIn(@Param("ids") Collection<UUID> ids);
 }
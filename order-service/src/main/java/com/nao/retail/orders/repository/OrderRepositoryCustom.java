@@ -0,0 +1,14 @@
+package com.nao.retail.orders.repository;
+
+import com.nao.retail.orders.entity.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/** Operaciones de OrderRepository que necesitan SQL propio del dialecto. */
+public interface OrderRepositoryCustom {
+
+    /** UPDATE ... WHERE id IN (...) sin cargar las entidades; asigna change_seq por fila. */
+    int updateStatusByIdIn(Collection<UUID> ids, OrderStatus status, OffsetDateTime now);
+}
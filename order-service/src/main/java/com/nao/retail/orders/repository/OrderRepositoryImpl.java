@@ -0,0 +1,36 @@
+package com.nao.retail.orders.repository;
+
+import com.nao.retail.orders.entity.ChangeSeqGenerator;
+import com.nao.retail.orders.entity.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/** Implementación de {@link OrderRepositoryCustom}. */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional
+    public int updateStatusByIdIn(Collection<UUID> ids, OrderStatus status, OffsetDateTime now) {
+        // SQL nativo: JPQL no puede tomar el nextval de la secuencia para cada fila
+        String nextSeq = ChangeSeqGenerator.nextValue(em.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+        em.flush();
+        int updated = em.createNativeQuery("UPDATE orders SET status = :status, updated_at = :now,"
+                        + " change_seq = " + nextSeq + " WHERE id IN (:ids)")
+                .setParameter("status", status.name())
+                .setParameter("now", now)
+                .setParameter("ids", ids)
+                .executeUpdate();
+        em.clear();
+        return updated;
+    }
+}
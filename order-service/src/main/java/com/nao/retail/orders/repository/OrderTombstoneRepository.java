@@ -0,0 +1,30 @@
+package com.nao.retail.orders.repository;
+
+import com.nao.retail.orders.entity.OrderTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** Tombstones de órdenes borradas. */
+public interface OrderTombstoneRepository extends JpaRepository<OrderTombstone, Long> {
+
+    /** Feed de cambios: siguientes borrados por change_seq (clave primaria). */
+    List<OrderTombstone> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long since, Limit limit);
+
+    /** INSERT ... SELECT de un tombstone por cada orden existente, antes de un borrado masivo. */
+    @Modifying
+    @Query("insert into OrderTombstone (orderId, deletedAt)"
+            + " select o.id, :now from OrderEntity o where o.id in :ids")
+    int insertForIds(@Param("ids") Collection<UUID> ids, @Param("now") OffsetDateTime now);
+
+    /** Replay del WAL: ids ya borrados (no se vuelven a insertar). */
+    @Query("select t.orderId from OrderTombstone t where t.orderId in :ids")
+    List<UUID> findDeletedIds(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,89 @@
+package com.nao.retail.orders.service;
+
+import com.nao.retail.orders.entity.ChangeSeqGenerator;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Marca de agua del feed de cambios para transacciones largas.
+ * <p>
+ * change_seq se asigna en cada sentencia pero la fila recién se ve al commit. Una
+ * transacción corta confirma dentro de settle-ms; un bloque masivo, un lote de barrido o
+ * una importación pueden tardar más y el consumidor ya habría pasado sus cambios. Antes
+ * de abrir la transacción, el escritor se registra en change_feed_writers (en su propia
+ * sentencia autocommit) con un nextval de la secuencia: todo lo que escriba después tiene
+ * change_seq mayor. El feed no entrega cambios desde el menor registro vigente hasta que
+ * el escritor confirma y se da de baja. Un registro que vence (writer-lease-ms) se ignora.
+ * <p>
+ * Con sharding no hace nada: el feed no está disponible.
+ */
+@Component
+public class ChangeFeedWatermark {
+
+    private final JdbcTemplate jdbc;
+    private final ShardTemplate shards;
+    private final Duration lease;
+    private final String registerSql;
+    private final String nextSeqSql;
+
+    public ChangeFeedWatermark(JdbcTemplate jdbc,
+                               ShardTemplate shards,
+                               EntityManagerFactory emf,
+                               @Value("${orders.changes.writer-lease-ms:600000}") long leaseMs) {
+        this.jdbc = jdbc;
+        this.shards = shards;
+        this.lease = Duration.ofMillis(leaseMs);
+        String nextSeq = ChangeSeqGenerator.nextValue(
+                emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+        this.registerSql = "INSERT INTO change_feed_writers (id, low_seq, expires_at) VALUES (?, " + nextSeq + ", ?)";
+        this.nextSeqSql = "SELECT " + nextSeq;
+    }
+
+    /**
+     * Ejecuta work en una transacción de escritura sobre el shard, registrada como escritor
+     * largo. Debe llamarse sin transacción abierta: si se uniera a una, el commit llegaría
+     * después de la baja.
+     */
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        if (shards.enabled()) {
+            return shards.inTransaction(shard, false, work);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Long change-feed writers must start outside a transaction");
+        }
+        UUID writer = UUID.randomUUID();
+        jdbc.update(registerSql, writer, OffsetDateTime.now().plus(lease));
+        try {
+            return shards.inTransaction(shard, false, work);
+        } finally {
+            jdbc.update("DELETE FROM change_feed_writers WHERE id = ? OR expires_at < ?", writer, OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Primer change_seq que el feed todavía no puede entregar: el menor registro vigente o,
+     * si no hay escritores largos, un nextval tomado ahora. Se lee antes de consultar los
+     * cambios. El nextval va primero: un escritor que no aparezca en la lectura de registros
+     * se registró después, así que sus cambios tienen seq mayor que el corte. Corre en su
+     * propia transacción de escritura porque nextval no se admite en una de sólo lectura.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long lowWaterMark() {
+        Long next = jdbc.queryForObject(nextSeqSql, Long.class);
+        Long registered = jdbc.queryForObject("SELECT MIN(low_seq) FROM change_feed_writers WHERE expires_at > ?",
+                Long.class, OffsetDateTime.now());
+        return registered == null ? next : Math.min(registered, next);
+    }
+}
@@ -0,0 +1,85 @@
+package com.nao.retail.orders.service;
+
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderRequest;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.ChangeSeqGenerator;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.store.OrderStoreSync;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Alta de órdenes NEW con id ya asignado por JDBC batch (importación y replay del WAL):
+ * órdenes, ítems, resumen por estado/hora y store en memoria. Corre en la transacción
+ * del llamador, que ya fijó el shard de los ids.
+ */
+@Component
+public class OrderBatchInserter {
+
+    /** Orden a insertar: id definitivo (co-ubicado con el cliente) y fecha de alta. */
+    public record NewOrder(UUID id, OrderRequest request, OffsetDateTime createdAt) { }
+
+    private final JdbcTemplate jdbc;
+    private final OrderSummaryService summary;
+    private final OrderStoreSync storeSync;
+    private final String insertOrderSql;
+
+    public OrderBatchInserter(JdbcTemplate jdbc,
+                              OrderSummaryService summary,
+                              OrderStoreSync storeSync,
+                              EntityManagerFactory emf) {
+        this.jdbc = jdbc;
+        this.summary = summary;
+        this.storeSync = storeSync;
+        String nextSeq = ChangeSeqGenerator.nextValue(
+                emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+        this.insertOrderSql = "INSERT INTO orders (id, customer_name, customer_email, total_amount, status,"
+                + " created_at, updated_at, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, " + nextSeq + ")";
+    }
+
+    public int insert(List<NewOrder> orders) {
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        List<OrderResponse> inserted = new ArrayList<>(orders.size());
+        for (NewOrder order : orders) {
+            UUID id = order.id();
+            OrderRequest req = order.request();
+            OffsetDateTime at = order.createdAt();
+            orderRows.add(new Object[] { id, req.getCustomerName(), req.getCustomerEmail(), req.getTotalAmount(),
+                    OrderStatus.NEW.name(), at, at });
+            summary.added(at, OrderStatus.NEW, req.getTotalAmount());
+            for (OrderItemDTO item : req.getItems()) {
+                itemRows.add(new Object[] { id, item.getSku(), item.getName(), item.getQuantity(), item.getUnitPrice() });
+            }
+            inserted.add(response(order));
+        }
+        jdbc.batchUpdate(insertOrderSql, orderRows);
+        jdbc.batchUpdate("INSERT INTO order_items (order_id, sku, name, quantity, unit_price) VALUES (?, ?, ?, ?, ?)",
+                itemRows);
+        storeSync.putAll(inserted);
+        return orders.size();
+    }
+
+    /** La respuesta que tendrá la orden una vez insertada. */
+    public static OrderResponse response(NewOrder order) {
+        OrderRequest req = order.request();
+        OrderResponse r = new OrderResponse();
+        r.setId(order.id());
+        r.setCustomerName(req.getCustomerName());
+        r.setCustomerEmail(req.getCustomerEmail());
+        r.setItems(req.getItems());
+        r.setTotalAmount(req.getTotalAmount());
+        r.setStatus(OrderStatus.NEW);
+        r.setCreatedAt(order.createdAt());
+        r.setUpdatedAt(order.createdAt());
+        return r;
+    }
+}
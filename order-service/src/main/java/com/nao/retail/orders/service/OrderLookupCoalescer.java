@@ -0,0 +1,124 @@
+package com.nao.retail.orders.service;
+
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupa (estilo DataLoader) los GET por id que llegan dentro de una ventana de
+ * pocos milisegundos y los resuelve con un único {@link OrderService#getAll}.
+ * El primer hilo de cada lote espera la ventana y ejecuta la consulta; si el lote
+ * se llena antes, lo ejecuta el hilo que lo completó. Los demás esperan a lo sumo
+ * timeout-ms: si el hilo que consulta se traba, no arrastra a todo el lote.
+ */
+@Component
+public class OrderLookupCoalescer {
+
+    private final OrderService service;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final long timeoutMs;
+
+    private final Object lock = new Object();
+    private Map<UUID, CompletableFuture<OrderResponse>> current = new HashMap<>();
+
+    public OrderLookupCoalescer(OrderService service,
+                                @Value("${orders.coalesce.window-ms:2}") long windowMs,
+                                @Value("${orders.coalesce.max-batch:100}") int maxBatch,
+                                @Value("${orders.coalesce.timeout-ms:5000}") long timeoutMs) {
+        this.service = service;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = maxBatch;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public OrderResponse get(UUID id) {
+        // antes de abrir transacción: con store o caché no se toma conexión del pool
+        OrderResponse cached = service.getCached(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (windowNanos <= 0) {
+            return service.get(id);
+        }
+        Map<UUID, CompletableFuture<OrderResponse>> batch;
+        CompletableFuture<OrderResponse> future;
+        boolean leader;
+        boolean full = false;
+        synchronized (lock) {
+            batch = current;
+            leader = batch.isEmpty();
+            future = batch.computeIfAbsent(id, k -> new CompletableFuture<>());
+            if (batch.size() >= maxBatch) {
+                current = new HashMap<>();
+                full = true;
+            }
+        }
+        if (full) {
+            load(batch);
+        } else if (leader) {
+            sleepWindow();
+            synchronized (lock) {
+                // si el lote ya se despachó por lleno, otro hilo lo resolvió
+                if (current == batch) {
+                    current = new HashMap<>();
+                    full = true;
+                }
+            }
+            if (full) {
+                load(batch);
+            }
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (ex.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException("Order lookup did not complete within " + timeoutMs + " ms: " + id);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for order lookup: " + id);
+        }
+    }
+
+    private void load(Map<UUID, CompletableFuture<OrderResponse>> batch) {
+        try {
+            Map<UUID, OrderResponse> found = service.getAll(batch.keySet());
+            batch.forEach((id, f) -> {
+                OrderResponse r = found.get(id);
+                if (r != null) {
+                    f.complete(r);
+                } else {
+                    f.completeExceptionally(new ResourceNotFoundException("Order not found: " + id));
+                }
+            });
+        } catch (Throwable ex) {
+            // también errores: un futuro sin completar dejaría al resto del lote esperando
+            batch.values().forEach(f -> f.completeExceptionally(ex));
+        }
+    }
+
+    private void sleepWindow() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(windowNanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
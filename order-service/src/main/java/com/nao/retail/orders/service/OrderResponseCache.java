@@ -0,0 +1,79 @@
+package com.nao.retail.orders.service;
+
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.mapper.OrderMapper;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caché de respuestas por id con put/evict aplicados tras el commit (como
+ * TransactionAwareCacheDecorator) y sellos de invalidación por franja de ids: una lectura
+ * toma el sello antes de ir a la base y sólo guarda su valor si ningún evict del mismo id
+ * se confirmó en el medio. Sin el sello, un put diferido podía volver a cachear lo leído
+ * antes de un update y servirlo hasta que venciera el TTL.
+ * Guarda y entrega copias: ninguna instancia queda compartida entre requests.
+ */
+class OrderResponseCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache target;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    OrderResponseCache(Cache target) {
+        this.target = target;
+    }
+
+    OrderResponse get(UUID id) {
+        OrderResponse cached = target.get(id, OrderResponse.class);
+        return cached != null ? OrderMapper.copy(cached) : null;
+    }
+
+    /** Sello a tomar antes de leer la orden de la base. */
+    long stamp(UUID id) {
+        return stamps.get(stripe(id));
+    }
+
+    /** Cachea lo leído si el id no se invalidó desde {@code stamp} (sin pisar otro valor). */
+    void put(UUID id, OrderResponse response, long stamp) {
+        OrderResponse copy = OrderMapper.copy(response);
+        afterCommit(() -> {
+            if (stamps.get(stripe(id)) != stamp) {
+                return;
+            }
+            target.putIfAbsent(id, copy);
+            // un evict entre el chequeo y el put: se descarta lo recién guardado
+            if (stamps.get(stripe(id)) != stamp) {
+                target.evict(id);
+            }
+        });
+    }
+
+    void evict(UUID id) {
+        afterCommit(() -> {
+            stamps.incrementAndGet(stripe(id));
+            target.evict(id);
+        });
+    }
+
+    private static int stripe(UUID id) {
+        return id.hashCode() & (STRIPES - 1);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,72 +1,391 @@
 package com.nao.retail.orders.service;
 
+import com.nao.retail.orders.dto.BulkOrderRequest;
+import com.nao.retail.orders.dto.BulkResult;
 import com.nao.retail.orders.dto.OrderRequest;
 import com.nao.retail.orders.dto.OrderResponse;
 import com.nao.retail.orders.entity.OrderEntity;
 import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.entity.OrderTombstone;
 import com.nao.retail.orders.exception.ResourceNotFoundException;
 import com.nao.retail.orders.mapper.OrderMapper;
 import com.nao.retail.orders.repository.OrderRepository;
+import com.nao.retail.orders.repository.OrderTombstoneRepository;
+import com.nao.retail.orders.sharding.MergedPage;
+import com.nao.retail.orders.sharding.ShardContext;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import com.nao.retail.orders.store.OrderStore;
+import com.nao.retail.orders.store.OrderStoreSync;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
-/** Lógica de negocio para órdenes. */
+/**
+ * Lógica de negocio para órdenes.
+ * <p>
+ * Con sharding (ver {@link ShardTemplate}) cada operación por id fija el shard del id
+ * antes de la primera sentencia; alta y consultas por cliente, el del email; listados y
+ * operaciones masivas por filtro recorren todos los shards. Toda escritura actualiza
+ * el resumen por estado/hora ({@link OrderSummaryService}) en la misma transacción
+ * y, tras el commit, el store en memoria ({@link OrderStore}, si está habilitado).
+ */
 @Service
+@Observed(name = "orders.service")
 public class OrderService {
 
+    /** Caché de respuestas por id (ver spring.cache en application.yml). */
+    public static final String ORDERS_CACHE = "orders";
+
+    /** Orden de los listados que mezclan shards cuando no se pide otro. */
+    static final Sort SHARDED_LIST_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+
+    /** Orden de bloqueo de las operaciones masivas: el de ORDER BY id en la base. */
+    private static final Comparator<UUID> LOCK_ORDER = MergedPage.UUID_ORDER;
+
     private final OrderRepository repo;
+    private final OrderTombstoneRepository tombstones;
+    private final ShardTemplate shards;
+    private final OrderSummaryService summary;
+    private final OrderResponseCache cache;
+    private final OrderStore store;
+    private final OrderStoreSync storeSync;
+    private final ChangeFeedWatermark watermark;
+    private final int bulkChunkSize;
+    private final int bulkMaxIds;
 
-    public OrderService(OrderRepository repo) {
+    public OrderService(OrderRepository repo,
+                        OrderTombstoneRepository tombstones,
+                        ShardTemplate shards,
+                        OrderSummaryService summary,
+                        CacheManager cacheManager,
+                        OrderStore store,
+                        OrderStoreSync storeSync,
+                        ChangeFeedWatermark watermark,
+                        @Value("${orders.cache.enabled:false}") boolean cacheEnabled,
+                        @Value("${orders.bulk.chunk-size:500}") int bulkChunkSize,
+                        @Value("${orders.bulk.max-ids:10000}") int bulkMaxIds) {
         this.repo = repo;
+        this.tombstones = tombstones;
+        this.shards = shards;
+        this.summary = summary;
+        // put/evict dentro de una transacción se aplican recién tras el commit. Opt-in como el
+        // store: la caché es de cada réplica y no ve las escrituras de las demás
+        this.cache = new OrderResponseCache(cacheEnabled
+                ? cacheManager.getCache(ORDERS_CACHE)
+                : new NoOpCache(ORDERS_CACHE));
+        this.store = store;
+        this.storeSync = storeSync;
+        this.watermark = watermark;
+        this.bulkChunkSize = bulkChunkSize;
+        this.bulkMaxIds = bulkMaxIds;
     }
 
     @Transactional
     public OrderResponse create(OrderRequest req) {
         OrderEntity e = OrderMapper.toEntity(req);
-        e = repo.save(e);
-        return OrderMapper.toResponse(e);
+        try (ShardContext.Scope shard = shards.forCustomer(req.getCustomerEmail())) {
+            // flush dentro del scope: el INSERT debe salir por la conexión del shard
+            e = repo.saveAndFlush(e);
+        }
+        summary.added(e.getCreatedAt(), e.getStatus(), e.getTotalAmount());
+        OrderResponse r = OrderMapper.toResponse(e);
+        storeSync.put(r);
+        return r;
     }
 
     @Transactional(readOnly = true)
     public OrderResponse get(UUID id) {
-        OrderEntity e = repo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
-        return OrderMapper.toResponse(e);
+        OrderResponse cached = getCached(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp(id);
+        try (ShardContext.Scope shard = shards.forOrder(id)) {
+            OrderEntity e = repo.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
+            OrderResponse r = OrderMapper.toResponse(e);
+            cache.put(id, r, stamp);
+            return r;
+        }
+    }
+
+    /** Respuesta del store en memoria o de la caché, o null, sin tocar la base de datos. */
+    public OrderResponse getCached(UUID id) {
+        OrderResponse stored = store.get(id);
+        return stored != null ? stored : cache.get(id);
+    }
+
+    /**
+     * Multi-get: primero la caché; los faltantes con un findAllById y sus ítems
+     * en consultas IN (...) por lotes (hibernate.default_batch_fetch_size).
+     * Los ids inexistentes no aparecen en el mapa.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, OrderResponse> getAll(Collection<UUID> ids) {
+        Map<UUID, OrderResponse> found = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            OrderResponse cached = getCached(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<UUID, Long> stamps = new HashMap<>();
+            misses.forEach(id -> stamps.put(id, cache.stamp(id)));
+            List<List<OrderResponse>> byShard = shards.byShard(misses, true,
+                    (shard, shardIds) -> repo.findAllById(shardIds).stream().map(OrderMapper::toResponse).toList());
+            for (List<OrderResponse> responses : byShard) {
+                for (OrderResponse r : responses) {
+                    cache.put(r.getId(), r, stamps.get(r.getId()));
+                    found.put(r.getId(), r);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Listado servido por el store en memoria (sin transacción ni conexión), o null si no
+     * puede: store sin cargar, filtro por cliente u orden distinto del de los listados.
+     */
+    public Page<OrderResponse> listStored(OrderStatus status, String customerEmail, Pageable pageable) {
+        if (customerEmail != null || !store.ready()) {
+            return null;
+        }
+        Sort sort = pageable.getSort();
+        if (sort.isSorted() && !sort.equals(SHARDED_LIST_SORT) && !sort.equals(Sort.by(Sort.Direction.DESC, "createdAt"))) {
+            return null;
+        }
+        return store.list(status, pageable);
     }
 
+    /**
+     * Listado paginado con filtros opcionales. Por cliente va a un único shard; sin
+     * cliente y con sharding, scatter-gather con mezcla ordenada (createdAt desc por defecto).
+     */
     @Transactional(readOnly = true)
-    public Page<OrderResponse> list(OrderStatus status, Pageable pageable) {
-        Page<OrderEntity> page = (status == null)
-                ? repo.findAll(pageable)
-                : repo.findByStatus(status, pageable);
-        return page.map(OrderMapper::toResponse);
+    public Page<OrderResponse> list(OrderStatus status, String customerEmail, Pageable pageable) {
+        if (customerEmail != null) {
+            try (ShardContext.Scope shard = shards.forCustomer(customerEmail)) {
+                Page<OrderEntity> page = (status == null)
+                        ? repo.findByCustomerEmail(customerEmail, pageable)
+                        : repo.findByCustomerEmailAndStatus(customerEmail, status, pageable);
+                return page.map(OrderMapper::toResponse);
+            }
+        }
+        if (!shards.enabled()) {
+            Page<OrderEntity> page = (status == null)
+                    ? repo.findAll(pageable)
+                    : repo.findByStatus(status, pageable);
+            return page.map(OrderMapper::toResponse);
+        }
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort().and(Sort.by("id")) : SHARDED_LIST_SORT;
+        Pageable window = MergedPage.shardWindow(pageable, sort);
+        List<Page<OrderResponse>> pages = shards.onAllShards(true, shard -> (status == null
+                ? repo.findAll(window)
+                : repo.findByStatus(status, window)).map(OrderMapper::toResponse));
+        return MergedPage.merge(pages, pageable, MergedPage.comparator(sort));
     }
 
+    /**
+     * Reemplazo total. Con sharding el id fija el shard del cliente: cambiar customerEmail
+     * dejaría la fila fuera del shard donde la buscan los listados por cliente, así que se
+     * rechaza (400). Mover la orden exigiría otro id.
+     */
     @Transactional
     public OrderResponse update(UUID id, OrderRequest req) {
-        OrderEntity e = repo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
-        OrderMapper.copyToEntity(req, e);
-        return OrderMapper.toResponse(repo.save(e));
+        try (ShardContext.Scope shard = shards.forOrder(id)) {
+            OrderEntity e = repo.findByIdForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
+            if (shards.enabled() && !e.getCustomerEmail().toLowerCase(Locale.ROOT)
+                    .equals(req.getCustomerEmail().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("customerEmail cannot change with orders.sharding.enabled");
+            }
+            BigDecimal previousAmount = e.getTotalAmount();
+            OrderMapper.copyToEntity(req, e);
+            if (previousAmount.compareTo(e.getTotalAmount()) != 0) {
+                summary.removed(e.getCreatedAt(), e.getStatus(), previousAmount);
+                summary.added(e.getCreatedAt(), e.getStatus(), e.getTotalAmount());
+            }
+            // marca la entidad como modificada aunque sólo cambien los ítems (nuevo change_seq)
+            e.setUpdatedAt(OffsetDateTime.now());
+            cache.evict(id);
+            OrderResponse r = OrderMapper.toResponse(repo.save(e));
+            storeSync.put(r);
+            return r;
+        }
     }
 
     @Transactional
     public void delete(UUID id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Order not found: " + id);
+        try (ShardContext.Scope shard = shards.forOrder(id)) {
+            OrderEntity e = repo.findByIdForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
+            repo.delete(e);
+            summary.removed(e.getCreatedAt(), e.getStatus(), e.getTotalAmount());
+            tombstones.save(new OrderTombstone(id, OffsetDateTime.now()));
+            cache.evict(id);
+            storeSync.remove(List.of(id));
         }
-        repo.deleteById(id);
     }
 
     @Transactional
     public OrderResponse updateStatus(UUID id, OrderStatus status) {
-        OrderEntity e = repo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
-        e.setStatus(status);
-        return OrderMapper.toResponse(repo.save(e));
+        try (ShardContext.Scope shard = shards.forOrder(id)) {
+            OrderEntity e = repo.findByIdForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
+            summary.removed(e.getCreatedAt(), e.getStatus(), e.getTotalAmount());
+            summary.added(e.getCreatedAt(), status, e.getTotalAmount());
+            e.setStatus(status);
+            // versión para el store, tomada con la fila bloqueada (@PreUpdate corre recién en el flush)
+            e.setUpdatedAt(OffsetDateTime.now());
+            cache.evict(id);
+            OrderResponse r = OrderMapper.toResponse(repo.save(e));
+            storeSync.put(r);
+            return r;
+        }
+    }
+
+    /**
+     * Borrado masivo: DELETE ... WHERE id IN (...) por bloques, ítems incluidos, con tombstones.
+     * Cada bloque (de un solo shard) en su propia transacción, registrada como escritor largo
+     * del feed de cambios ({@link ChangeFeedWatermark}): si un bloque falla, los anteriores
+     * quedan confirmados.
+     */
+    public BulkResult deleteAll(BulkOrderRequest sel) {
+        List<UUID> ids = resolveIds(sel);
+        OffsetDateTime now = OffsetDateTime.now();
+        int affected = 0;
+        for (Map.Entry<Integer, List<UUID>> group : byShard(ids).entrySet()) {
+            for (List<UUID> chunk : chunks(group.getValue())) {
+                affected += watermark.inTransaction(group.getKey(), () -> {
+                    repo.lockByIdIn(chunk);
+                    for (OrderRepository.SummaryRow o : repo.findSummaryRows(chunk)) {
+                        summary.removed(o.getCreatedAt(), o.getStatus(), o.getTotalAmount());
+                    }
+                    tombstones.insertForIds(chunk, now);
+                    int n = repo.deleteByIdIn(chunk);
+                    chunk.forEach(cache::evict);
+                    storeSync.remove(chunk);
+                    return n;
+                });
+            }
+        }
+        return new BulkResult(ids.size(), affected);
+    }
+
+    /** Cambio de estado masivo: UPDATE ... WHERE id IN (...) por bloques (una transacción por bloque, como deleteAll). */
+    public BulkResult updateStatusAll(BulkOrderRequest sel, OrderStatus status) {
+        List<UUID> ids = resolveIds(sel);
+        int affected = 0;
+        for (Map.Entry<Integer, List<UUID>> group : byShard(ids).entrySet()) {
+            for (List<UUID> chunk : chunks(group.getValue())) {
+                affected += watermark.inTransaction(group.getKey(), () -> {
+                    repo.lockByIdIn(chunk);
+                    // updatedAt después del lock: es la versión que compara el store
+                    OffsetDateTime now = OffsetDateTime.now();
+                    int n = applyStatus(chunk, status, now);
+                    chunk.forEach(cache::evict);
+                    storeSync.updateStatus(chunk, status, now);
+                    return n;
+                });
+            }
+        }
+        return new BulkResult(ids.size(), affected);
+    }
+
+    /**
+     * Cambio de estado de órdenes que el llamador ya bloqueó (SELECT ... FOR UPDATE) en su
+     * transacción y shard actuales, por el mismo camino que el cambio masivo. Lo usan los
+     * barridos de ciclo de vida.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int updateStatusLocked(List<UUID> ids, OrderStatus status) {
+        OffsetDateTime now = OffsetDateTime.now();
+        int affected = 0;
+        for (List<UUID> chunk : chunks(ids)) {
+            affected += applyStatus(chunk, status, now);
+        }
+        ids.forEach(cache::evict);
+        storeSync.updateStatus(ids, status, now);
+        return affected;
+    }
+
+    private int applyStatus(List<UUID> chunk, OrderStatus status, OffsetDateTime now) {
+        for (OrderRepository.SummaryRow o : repo.findSummaryRows(chunk)) {
+            summary.removed(o.getCreatedAt(), o.getStatus(), o.getTotalAmount());
+            summary.added(o.getCreatedAt(), status, o.getTotalAmount());
+        }
+        return repo.updateStatusByIdIn(chunk, status, now);
+    }
+
+    /**
+     * Ids explícitos (sin duplicados) o los que cumplen los filtros, nunca ambos y como mucho
+     * orders.bulk.max-ids; en el orden de la base, para que los bloques bloqueen filas siempre
+     * en el mismo orden.
+     */
+    private List<UUID> resolveIds(BulkOrderRequest sel) {
+        if (sel.hasIds() && sel.hasFilter()) {
+            throw new IllegalArgumentException("Bulk operation takes either ids or filters, not both");
+        }
+        List<UUID> ids;
+        if (sel.hasIds()) {
+            ids = new ArrayList<>(new LinkedHashSet<>(sel.getIds()));
+        } else if (!sel.hasFilter()) {
+            throw new IllegalArgumentException("Bulk operation requires ids or at least one filter");
+        } else {
+            // un id más que el máximo por shard alcanza para saber si el filtro se pasa
+            Limit limit = Limit.of(bulkMaxIds + 1);
+            ids = new ArrayList<>();
+            shards.onAllShards(true, shard -> repo.findIdsMatching(sel.getStatus(), sel.getCreatedBefore(), limit))
+                    .forEach(ids::addAll);
+        }
+        if (ids.size() > bulkMaxIds) {
+            throw new IllegalArgumentException("Bulk operation selects more than " + bulkMaxIds
+                    + " orders; narrow the filters (e.g. createdBefore) or split the ids");
+        }
+        ids.sort(LOCK_ORDER);
+        return ids;
+    }
+
+    /** Ids agrupados por shard (todos en el 0 sin sharding), conservando su orden. */
+    private Map<Integer, List<UUID>> byShard(List<UUID> ids) {
+        Map<Integer, List<UUID>> groups = new TreeMap<>();
+        for (UUID id : ids) {
+            groups.computeIfAbsent(shards.enabled() ? shards.shardOf(id) : 0, k -> new ArrayList<>()).add(id);
+        }
+        return groups;
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> out = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += bulkChunkSize) {
+            out.add(ids.subList(i, Math.min(i + bulkChunkSize, ids.size())));
+        }
+        return out;
     }
 }
@@ -0,0 +1,279 @@
+package com.nao.retail.orders.service;
+
+import com.nao.retail.orders.dto.OrderSummaryResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Savepoint;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resumen de órdenes por estado y por hora de creación (tabla order_summary).
+ * <p>
+ * Las escrituras de OrderService registran deltas (+1/-1, ±monto) que se acumulan por
+ * transacción y se aplican en beforeCommit, dentro de la misma transacción: un único
+ * UPDATE en batch ordenado por clave (mismo orden de bloqueo en todas las transacciones)
+ * y un INSERT sólo para las filas que aún no existen. Un cambio de estado es
+ * "quitar del estado viejo + sumar al nuevo"; los deltas que se anulan no llegan al SQL.
+ * <p>
+ * Al arrancar, si la tabla está vacía pero hay órdenes (p. ej. data.sql o una base
+ * anterior a este resumen), se reconstruye desde orders.
+ */
+@Service
+public class OrderSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    private static final String UPDATE_SQL = "UPDATE order_summary SET order_count = order_count + ?,"
+            + " total_amount = total_amount + ? WHERE bucket_hour = ? AND status = ? AND stripe = ?";
+    private static final String INSERT_SQL = "INSERT INTO order_summary (order_count, total_amount, bucket_hour,"
+            + " status, stripe) VALUES (?, ?, ?, ?, ?)";
+
+    private record Key(OffsetDateTime hour, OrderStatus status) { }
+
+    private static final Comparator<Key> KEY_ORDER =
+            Comparator.comparing(Key::hour).thenComparing(Key::status);
+
+    /** Deltas pendientes de una transacción. */
+    private final class Pending implements TransactionSynchronization {
+        private final Map<Key, long[]> counts = new TreeMap<>(KEY_ORDER);
+        private final Map<Key, BigDecimal> amounts = new HashMap<>();
+
+        void add(Key key, long count, BigDecimal amount) {
+            counts.computeIfAbsent(key, k -> new long[1])[0] += count;
+            amounts.merge(key, amount, BigDecimal::add);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply(this);
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final ShardTemplate shards;
+    private final int stripes;
+    private final int defaultHours;
+    private final int maxHours;
+    private final boolean rebuildOnStartup;
+
+    public OrderSummaryService(JdbcTemplate jdbc,
+                               ShardTemplate shards,
+                               @Value("${orders.summary.stripes:4}") int stripes,
+                               @Value("${orders.summary.default-hours:24}") int defaultHours,
+                               @Value("${orders.summary.max-hours:744}") int maxHours,
+                               @Value("${orders.summary.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.jdbc = jdbc;
+        this.shards = shards;
+        this.stripes = Math.max(1, stripes);
+        this.defaultHours = defaultHours;
+        this.maxHours = maxHours;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /** Orden que entra al resumen (alta, o nuevo estado/monto). */
+    public void added(OffsetDateTime createdAt, OrderStatus status, BigDecimal amount) {
+        record(new Key(hourOf(createdAt), status), 1, amount);
+    }
+
+    /** Orden que sale del resumen (borrado, o estado/monto anterior). */
+    public void removed(OffsetDateTime createdAt, OrderStatus status, BigDecimal amount) {
+        record(new Key(hourOf(createdAt), status), -1, amount.negate());
+    }
+
+    static OffsetDateTime hourOf(OffsetDateTime t) {
+        return t.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private void record(Key key, long count, BigDecimal amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Order summary deltas must be recorded inside a transaction");
+        }
+        Pending pending = null;
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            if (s instanceof Pending p) {
+                pending = p;
+            }
+        }
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(key, count, amount);
+    }
+
+    private void apply(Pending pending) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        List<Object[]> rows = new ArrayList<>(pending.counts.size());
+        pending.counts.forEach((key, count) -> {
+            BigDecimal amount = pending.amounts.get(key);
+            if (count[0] != 0 || amount.signum() != 0) {
+                rows.add(new Object[] { count[0], amount, key.hour(), key.status().name(), stripe });
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> missing = missing(rows, jdbc.batchUpdate(UPDATE_SQL, rows));
+        if (missing.isEmpty()) {
+            return;
+        }
+        // savepoint: en PostgreSQL una clave duplicada (otra transacción insertó la fila
+        // en paralelo) abortaría toda la transacción. Tras el rollback sólo las filas que
+        // ahora existen pasan a UPDATE; las demás se vuelven a insertar.
+        jdbc.execute((ConnectionCallback<Void>) con -> {
+            List<Object[]> remaining = missing;
+            while (!remaining.isEmpty()) {
+                Savepoint savepoint = con.setSavepoint();
+                try {
+                    jdbc.batchUpdate(INSERT_SQL, remaining);
+                    con.releaseSavepoint(savepoint);
+                    return null;
+                } catch (DuplicateKeyException raced) {
+                    con.rollback(savepoint);
+                    remaining = missing(remaining, jdbc.batchUpdate(UPDATE_SQL, remaining));
+                }
+            }
+            return null;
+        });
+    }
+
+    private static List<Object[]> missing(List<Object[]> rows, int[] updated) {
+        List<Object[]> out = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                out.add(rows.get(i));
+            }
+        }
+        return out;
+    }
+
+    /** Totales por estado y, para [from, to), por hora y estado (por defecto las últimas default-hours). */
+    public OrderSummaryResponse summary(OffsetDateTime from, OffsetDateTime to) {
+        OffsetDateTime end = to != null ? to : hourOf(OffsetDateTime.now()).plusHours(1);
+        OffsetDateTime start = from != null ? from : end.minusHours(defaultHours);
+        if (!start.isBefore(end) || ChronoUnit.HOURS.between(start, end) > maxHours) {
+            throw new IllegalArgumentException("Invalid summary window: from must be before to and span at most "
+                    + maxHours + " hours");
+        }
+        Map<OrderStatus, long[]> statusCounts = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, BigDecimal> statusAmounts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus s : OrderStatus.values()) {
+            statusCounts.put(s, new long[1]);
+            statusAmounts.put(s, BigDecimal.ZERO);
+        }
+        Map<Key, long[]> hourCounts = new TreeMap<>(KEY_ORDER);
+        Map<Key, BigDecimal> hourAmounts = new HashMap<>();
+
+        shards.onAllShards(true, shard -> {
+            jdbc.query("SELECT status, SUM(order_count), SUM(total_amount) FROM order_summary GROUP BY status", rs -> {
+                OrderStatus s = OrderStatus.valueOf(rs.getString(1));
+                synchronized (statusCounts) {
+                    statusCounts.get(s)[0] += rs.getLong(2);
+                    statusAmounts.merge(s, rs.getBigDecimal(3), BigDecimal::add);
+                }
+            });
+            jdbc.query("SELECT bucket_hour, status, SUM(order_count), SUM(total_amount) FROM order_summary"
+                    + " WHERE bucket_hour >= ? AND bucket_hour < ? GROUP BY bucket_hour, status", rs -> {
+                Key key = new Key(hourOf(rs.getObject(1, OffsetDateTime.class)), OrderStatus.valueOf(rs.getString(2)));
+                synchronized (hourCounts) {
+                    hourCounts.computeIfAbsent(key, k -> new long[1])[0] += rs.getLong(3);
+                    hourAmounts.merge(key, rs.getBigDecimal(4), BigDecimal::add);
+                }
+            }, start, end);
+            return null;
+        });
+
+        OrderSummaryResponse r = new OrderSummaryResponse();
+        List<OrderSummaryResponse.StatusTotal> byStatus = new ArrayList<>();
+        long total = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        for (OrderStatus s : OrderStatus.values()) {
+            byStatus.add(new OrderSummaryResponse.StatusTotal(s, statusCounts.get(s)[0], statusAmounts.get(s)));
+            total += statusCounts.get(s)[0];
+            amount = amount.add(statusAmounts.get(s));
+        }
+        List<OrderSummaryResponse.HourTotal> byHour = new ArrayList<>();
+        hourCounts.forEach((key, count) -> {
+            if (count[0] != 0) {
+                byHour.add(new OrderSummaryResponse.HourTotal(key.hour(), key.status(), count[0], hourAmounts.get(key)));
+            }
+        });
+        r.setTotalOrders(total);
+        r.setTotalAmount(amount);
+        r.setByStatus(byStatus);
+        r.setFrom(start);
+        r.setTo(end);
+        r.setByHour(byHour);
+        return r;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuildIfEmpty() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        shards.onAllShards(false, shard -> {
+            if (!hasRows("order_summary") && hasRows("orders")) {
+                log.info("order_summary vacía: reconstruyendo desde orders (shard {})", shard);
+                return rebuildCurrent();
+            }
+            return 0;
+        });
+    }
+
+    private boolean hasRows(String table) {
+        return !jdbc.queryForList("SELECT 1 FROM " + table + " FETCH FIRST 1 ROWS ONLY", Integer.class).isEmpty();
+    }
+
+    /**
+     * Recalcula el resumen desde orders (una transacción por shard). Pensado para el
+     * arranque o mantenimiento: escrituras concurrentes durante la reconstrucción pueden
+     * quedar contadas dos veces o ninguna.
+     */
+    public long rebuild() {
+        return shards.onAllShards(false, shard -> rebuildCurrent()).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private long rebuildCurrent() {
+        Map<Key, long[]> counts = new TreeMap<>(KEY_ORDER);
+        Map<Key, BigDecimal> amounts = new HashMap<>();
+        jdbc.query("SELECT created_at, status, total_amount FROM orders", rs -> {
+            Key key = new Key(hourOf(rs.getObject(1, OffsetDateTime.class)), OrderStatus.valueOf(rs.getString(2)));
+            counts.computeIfAbsent(key, k -> new long[1])[0]++;
+            amounts.merge(key, rs.getBigDecimal(3), BigDecimal::add);
+        });
+        jdbc.update("DELETE FROM order_summary");
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        long orders = 0;
+        for (Map.Entry<Key, long[]> e : counts.entrySet()) {
+            rows.add(new Object[] { e.getValue()[0], amounts.get(e.getKey()), e.getKey().hour(),
+                    e.getKey().status().name(), 0 });
+            orders += e.getValue()[0];
+        }
+        jdbc.batchUpdate(INSERT_SQL, rows);
+        return orders;
+    }
+}
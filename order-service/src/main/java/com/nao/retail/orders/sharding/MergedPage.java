@@ -0,0 +1,89 @@
+package com.nao.retail.orders.sharding;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Paginación sobre varios shards: cada shard devuelve sus primeras offset + size filas
+ * con el mismo orden; se mezclan (k-way merge), se descartan las offset primeras y el
+ * total es la suma de los totales. El costo crece con la profundidad de la página.
+ */
+public final class MergedPage {
+
+    /**
+     * Orden de los UUID en la base (bytes sin signo, como ORDER BY id). UUID.compareTo
+     * compara con signo: mezclaría mal los shards cuando empatan las demás columnas.
+     */
+    public static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private MergedPage() { }
+
+    /** Página de shard a pedir para poder armar la página global. */
+    public static Pageable shardWindow(Pageable pageable, Sort sort) {
+        return PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort);
+    }
+
+    public static <T> Page<T> merge(List<Page<T>> shardPages, Pageable pageable, Comparator<T> order) {
+        record Head<T>(T value, Iterator<T> rest) { }
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.value(), b.value()));
+        long total = 0;
+        for (Page<T> page : shardPages) {
+            total += page.getTotalElements();
+            Iterator<T> it = page.getContent().iterator();
+            if (it.hasNext()) {
+                heads.add(new Head<>(it.next(), it));
+            }
+        }
+        List<T> content = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        while (!heads.isEmpty() && content.size() < pageable.getPageSize()) {
+            Head<T> head = heads.poll();
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(head.value());
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head<>(head.rest().next(), head.rest()));
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Comparador equivalente a un Sort de Spring Data sobre propiedades Comparable del bean
+     * (los UUID con {@link #UUID_ORDER}).
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> out = (a, b) -> 0;
+        for (Sort.Order o : sort) {
+            Comparator<T> byProperty = (a, b) -> {
+                Comparable x = (Comparable) new BeanWrapperImpl(a).getPropertyValue(o.getProperty());
+                Comparable y = (Comparable) new BeanWrapperImpl(b).getPropertyValue(o.getProperty());
+                if (x == null || y == null) {
+                    return x == y ? 0 : (x == null ? -1 : 1);
+                }
+                if (x instanceof UUID u && y instanceof UUID v) {
+                    return UUID_ORDER.compare(u, v);
+                }
+                return x.compareTo(y);
+            };
+            out = out.thenComparing(o.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,36 @@
+package com.nao.retail.orders.sharding;
+
+/**
+ * Shard del hilo actual. El DataSource enrutado lo consulta al abrir la conexión
+ * física (LazyConnectionDataSourceProxy: en la primera sentencia, no al iniciar la transacción).
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    /** Restaura el shard anterior al cerrarse. */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    static final Scope NOOP = () -> { };
+
+    private ShardContext() { }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static Scope open(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.nao.retail.orders.sharding;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ubicación de órdenes: shard = hash(id de orden) mod N. Los ids nuevos se eligen
+ * para que caigan en el shard de hash(email del cliente), así las consultas por
+ * cliente van a un único shard y las búsquedas por id siguen siendo un hash del id.
+ */
+@Component
+public class ShardRouter {
+
+    /** Propiedad de Hibernate con este router (la lee {@code ShardAwareUuidGenerator}). */
+    public static final String HIBERNATE_PROPERTY = "orders.sharding.router";
+
+    private final int shards;
+
+    public ShardRouter(ShardingProperties props) {
+        this.shards = props.shardCount();
+    }
+
+    public int shardCount() {
+        return shards;
+    }
+
+    public int shardOf(UUID id) {
+        return Math.floorMod(mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits()), shards);
+    }
+
+    public int shardOfCustomer(String customerEmail) {
+        return Math.floorMod(mix(customerEmail.toLowerCase(Locale.ROOT).hashCode()), shards);
+    }
+
+    /** UUID v4 aleatorio cuyo shard coincide con el del cliente (~N intentos en promedio). */
+    public UUID newOrderId(String customerEmail) {
+        if (shards == 1 || customerEmail == null) {
+            return randomUuid();
+        }
+        int target = shardOfCustomer(customerEmail);
+        UUID id;
+        do {
+            id = randomUuid();
+        } while (shardOf(id) != target);
+        return id;
+    }
+
+    private static UUID randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;              // versión 4
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | Long.MIN_VALUE; // variante IETF
+        return new UUID(msb, lsb);
+    }
+
+    /** Finalizador de SplitMix64: reparte bien bits de entrada poco aleatorios. */
+    private static int mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
@@ -0,0 +1,12 @@
+package com.nao.retail.orders.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/** Elige el DataSource del shard de {@link ShardContext}; sin shard, el 0. */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
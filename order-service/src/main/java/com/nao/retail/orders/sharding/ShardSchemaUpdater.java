@@ -0,0 +1,58 @@
+package com.nao.retail.orders.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.HashMap;
+
+/**
+ * ddl-auto sólo actúa sobre la conexión por defecto (shard 0): este integrador guarda
+ * el metamodelo de Hibernate y, con el contexto ya levantado, aplica la misma acción
+ * de esquema (hibernate.hbm2ddl.auto: tablas, índices, secuencias) en el resto de los shards.
+ */
+public class ShardSchemaUpdater implements Integrator, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaUpdater.class);
+
+    private final int shardCount;
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaUpdater(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.sessionFactory = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (metadata == null) {
+            return;
+        }
+        for (int shard = 1; shard < shardCount; shard++) {
+            try (ShardContext.Scope ignored = ShardContext.open(shard)) {
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                        new HashMap<>(sessionFactory.getProperties()), action -> { });
+            }
+            log.info("Esquema actualizado en shard {}", shard);
+        }
+    }
+}
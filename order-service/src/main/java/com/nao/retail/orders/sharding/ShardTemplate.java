@@ -0,0 +1,154 @@
+package com.nao.retail.orders.sharding;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Ejecución por shard. Con sharding activo cada shard corre en su propia transacción
+ * (REQUIRES_NEW: la transacción externa puede estar atada a otro shard) y las lecturas
+ * de varios shards en paralelo (scatter-gather). Sin sharding hay un único shard 0 y
+ * la transacción se une a la actual, así que el comportamiento no cambia.
+ */
+@Component
+public class ShardTemplate implements DisposableBean {
+
+    private final ShardRouter router;
+    private final boolean enabled;
+    private final TransactionTemplate joinTx;
+    private final TransactionTemplate joinReadOnlyTx;
+    private final TransactionTemplate newTx;
+    private final TransactionTemplate newReadOnlyTx;
+    private final ExecutorService scatter;
+
+    public ShardTemplate(ShardRouter router, ShardingProperties props, PlatformTransactionManager txManager) {
+        this.router = router;
+        this.enabled = props.isEnabled();
+        this.joinTx = template(txManager, TransactionDefinition.PROPAGATION_REQUIRED, false);
+        this.joinReadOnlyTx = template(txManager, TransactionDefinition.PROPAGATION_REQUIRED, true);
+        this.newTx = template(txManager, TransactionDefinition.PROPAGATION_REQUIRES_NEW, false);
+        this.newReadOnlyTx = template(txManager, TransactionDefinition.PROPAGATION_REQUIRES_NEW, true);
+        // el wrapper lleva la observación actual al hilo: los spans por shard cuelgan del request
+        this.scatter = enabled && router.shardCount() > 1
+                ? ContextExecutorService.wrap(Executors.newFixedThreadPool(router.shardCount(), r -> {
+                    Thread t = new Thread(r, "orders-scatter");
+                    t.setDaemon(true);
+                    return t;
+                }), ContextSnapshotFactory.builder().build())
+                : null;
+    }
+
+    private static TransactionTemplate template(PlatformTransactionManager txManager, int propagation,
+                                                boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setPropagationBehavior(propagation);
+        tx.setReadOnly(readOnly);
+        return tx;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return router.shardCount();
+    }
+
+    public int shardOf(UUID id) {
+        return router.shardOf(id);
+    }
+
+    /** Fija el shard del hilo (sin transacción propia); no hace nada sin sharding. */
+    public ShardContext.Scope on(int shard) {
+        return enabled ? ShardContext.open(shard) : ShardContext.NOOP;
+    }
+
+    public ShardContext.Scope forOrder(UUID id) {
+        return on(router.shardOf(id));
+    }
+
+    public ShardContext.Scope forCustomer(String customerEmail) {
+        return on(router.shardOfCustomer(customerEmail));
+    }
+
+    /** Ejecuta en una transacción sobre el shard dado. */
+    public <T> T inTransaction(int shard, boolean readOnly, Supplier<T> work) {
+        if (!enabled) {
+            return (readOnly ? joinReadOnlyTx : joinTx).execute(status -> work.get());
+        }
+        try (ShardContext.Scope ignored = ShardContext.open(shard)) {
+            return (readOnly ? newReadOnlyTx : newTx).execute(status -> work.get());
+        }
+    }
+
+    /** Scatter-gather: una transacción por shard, en paralelo; resultados en orden de shard. */
+    public <T> List<T> onAllShards(boolean readOnly, IntFunction<T> work) {
+        List<Integer> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount(); i++) {
+            shards.add(i);
+        }
+        return run(shards, readOnly, shard -> work.apply(shard));
+    }
+
+    /**
+     * Agrupa los ids por shard y ejecuta una transacción por grupo: en paralelo
+     * si es de lectura, en secuencia si escribe (no hay atomicidad entre shards).
+     */
+    public <T> List<T> byShard(Collection<UUID> ids, boolean readOnly, BiFunction<Integer, List<UUID>, T> work) {
+        Map<Integer, List<UUID>> groups = new TreeMap<>();
+        for (UUID id : ids) {
+            groups.computeIfAbsent(enabled ? router.shardOf(id) : 0, s -> new ArrayList<>()).add(id);
+        }
+        return run(new ArrayList<>(groups.keySet()), readOnly, shard -> work.apply(shard, groups.get(shard)));
+    }
+
+    private <T> List<T> run(List<Integer> shards, boolean readOnly, IntFunction<T> work) {
+        List<T> out = new ArrayList<>(shards.size());
+        if (scatter == null || !readOnly || shards.size() == 1) {
+            for (int shard : shards) {
+                out.add(inTransaction(shard, readOnly, () -> work.apply(shard)));
+            }
+            return out;
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> inTransaction(shard, true, () -> work.apply(shard)), scatter));
+        }
+        try {
+            for (CompletableFuture<T> f : futures) {
+                out.add(f.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return out;
+    }
+
+    @Override
+    public void destroy() {
+        if (scatter != null) {
+            scatter.shutdown();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nao.retail.orders.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Configuración orders.sharding.* (ver application-sharded.yml). */
+@Component
+@ConfigurationProperties(prefix = "orders.sharding")
+public class ShardingProperties {
+
+    /** Una base de datos (shard). */
+    public static class Shard {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+
+        // getters & setters
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    private boolean enabled = false;
+    /** Conexiones por shard. */
+    private int poolSize = 10;
+    /** Aplica el esquema de Hibernate (update) también en los shards 1..n-1. */
+    private boolean schemaUpdate = true;
+    private List<Shard> shards = new ArrayList<>();
+
+    public int shardCount() {
+        return enabled ? shards.size() : 1;
+    }
+
+    // getters & setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+    public boolean isSchemaUpdate() { return schemaUpdate; }
+    public void setSchemaUpdate(boolean schemaUpdate) { this.schemaUpdate = schemaUpdate; }
+    public List<Shard> getShards() { return shards; }
+    public void setShards(List<Shard> shards) { this.shards = shards; }
+}
@@ -0,0 +1,58 @@
+package com.nao.retail.orders.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registros en bloques de memoria directa, sólo append: el GC no recorre su contenido.
+ * Una referencia es (bloque << 32 | offset). Los registros reemplazados quedan como
+ * basura hasta que el store compacta. No es thread-safe (lo protege el store).
+ */
+final class OffHeapArena {
+
+    private final int chunkBytes;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long used;
+    private long live;
+    private long reserved;
+
+    OffHeapArena(int chunkBytes) {
+        this.chunkBytes = chunkBytes;
+    }
+
+    long append(byte[] record) {
+        if (current == null || current.remaining() < record.length) {
+            current = ByteBuffer.allocateDirect(Math.max(chunkBytes, record.length));
+            chunks.add(current);
+            reserved += current.capacity();
+        }
+        int offset = current.position();
+        current.put(record);
+        used += record.length;
+        live += record.length;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    /** Lectura absoluta: no mueve posiciones, puede correr en paralelo con otras lecturas. */
+    byte[] read(long ref, int length) {
+        byte[] out = new byte[length];
+        chunks.get((int) (ref >>> 32)).get((int) ref, out);
+        return out;
+    }
+
+    void release(int length) {
+        live -= length;
+    }
+
+    /** Más de la mitad de lo escrito (y al menos un bloque) es basura. */
+    boolean shouldCompact() {
+        long garbage = used - live;
+        return garbage > chunkBytes && garbage * 2 > used;
+    }
+
+    long reservedBytes() {
+        return reserved;
+    }
+}
@@ -0,0 +1,436 @@
+package com.nao.retail.orders.store;
+
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link OrderStore} con los registros serializados en memoria directa ({@link OffHeapArena})
+ * y los índices en arrays primitivos: el heap sólo guarda unos pocos arrays grandes, sin
+ * un objeto por orden, y el GC no depende de cuántas órdenes haya.
+ * <p>
+ * Cada orden ocupa un slot: referencia y largo del registro, createdAt en nanosegundos de época
+ * (para ordenar listados sin decodificar), estado y posición en la lista de su estado.
+ * Índice primario id → slot ({@link UuidIndex}); índice secundario: una lista de slots por
+ * estado con borrado por intercambio con el último. Lecturas en paralelo, escrituras
+ * exclusivas (ReentrantReadWriteLock); la decodificación ocurre fuera del lock.
+ * <p>
+ * Los callbacks afterCommit de dos transacciones pueden llegar en otro orden que sus
+ * commits: el slot guarda el updatedAt de su versión y put/updateStatus ignoran una más
+ * vieja. Los borrados dejan una marca por un minuto para que un put tardío no reviva la orden.
+ */
+public class OffHeapOrderStore implements OrderStore {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final long REMOVED_RETENTION_NANOS = 60_000_000_000L;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int chunkBytes;
+    private final UuidIndex index;
+    private OffHeapArena arena;
+
+    private long[] refs;
+    private int[] lengths;
+    private long[] createdNanos;
+    private long[] updatedNanos;
+    private long[] idMsb;
+    private long[] idLsb;
+    private byte[] statuses;
+    private int[] statusPos;
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private final int[][] byStatus = new int[STATUSES.length][];
+    private final int[] byStatusCount = new int[STATUSES.length];
+
+    /** Ids borrados hace poco → momento del borrado (época en ns), en orden de borrado. */
+    private final LinkedHashMap<UUID, Long> removed = new LinkedHashMap<>();
+
+    private volatile boolean ready;
+    private Set<UUID> touched;
+
+    public OffHeapOrderStore(int chunkBytes, int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.chunkBytes = chunkBytes;
+        this.index = new UuidIndex(capacity);
+        this.arena = new OffHeapArena(chunkBytes);
+        this.refs = new long[capacity];
+        this.lengths = new int[capacity];
+        this.createdNanos = new long[capacity];
+        this.updatedNanos = new long[capacity];
+        this.idMsb = new long[capacity];
+        this.idLsb = new long[capacity];
+        this.statuses = new byte[capacity];
+        this.statusPos = new int[capacity];
+        for (int s = 0; s < STATUSES.length; s++) {
+            byStatus[s] = new int[16];
+        }
+    }
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    @Override
+    public boolean ready() {
+        return ready;
+    }
+
+    @Override
+    public OrderResponse get(UUID id) {
+        byte[] record;
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0) {
+                return null;
+            }
+            record = arena.read(refs[slot], lengths[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return OrderRecordCodec.decode(record);
+    }
+
+    @Override
+    public Page<OrderResponse> list(OrderStatus status, Pageable pageable) {
+        if (!ready) {
+            return null;
+        }
+        List<byte[]> records = new ArrayList<>();
+        long total;
+        lock.readLock().lock();
+        try {
+            total = status == null ? index.size() : byStatusCount[status.ordinal()];
+            long wanted = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : total;
+            int[] top = top((int) Math.min(wanted, total), status);
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), top.length) : 0;
+            for (int i = from; i < top.length; i++) {
+                records.add(arena.read(refs[top[i]], lengths[top[i]]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<OrderResponse> content = new ArrayList<>(records.size());
+        for (byte[] record : records) {
+            content.add(OrderRecordCodec.decode(record));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public void put(OrderResponse order) {
+        lock.writeLock().lock();
+        try {
+            if (touched != null) {
+                touched.add(order.getId());
+            }
+            if (current(order.getId(), epochNanos(order.getUpdatedAt()))) {
+                write(order);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            if (touched != null) {
+                touched.add(id);
+            }
+            int slot = index.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot >= 0) {
+                arena.release(lengths[slot]);
+                unlinkStatus(slot);
+                pushFree(slot);
+            }
+            markRemoved(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateStatus(UUID id, OrderStatus status, OffsetDateTime updatedAt) {
+        lock.writeLock().lock();
+        try {
+            if (touched != null) {
+                touched.add(id);
+            }
+            int slot = index.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0 || epochNanos(updatedAt) < updatedNanos[slot]) {
+                return;
+            }
+            OrderResponse order = OrderRecordCodec.decode(arena.read(refs[slot], lengths[slot]));
+            order.setStatus(status);
+            order.setUpdatedAt(updatedAt);
+            write(order);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            touched = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(OrderResponse order) {
+        lock.writeLock().lock();
+        try {
+            if (touched == null || !touched.contains(order.getId())) {
+                write(order);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<UUID> finishLoad() {
+        lock.writeLock().lock();
+        try {
+            Set<UUID> out = touched == null ? Set.of() : touched;
+            touched = null;
+            ready = true;
+            return out;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return arena.reservedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- escritura (con el write lock tomado) ---
+
+    /** La versión no es más vieja que la guardada ni que un borrado reciente del id. */
+    private boolean current(UUID id, long version) {
+        int slot = index.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot >= 0) {
+            return version >= updatedNanos[slot];
+        }
+        Long removedAt = removed.get(id);
+        return removedAt == null || version > removedAt;
+    }
+
+    private void markRemoved(UUID id) {
+        long now = epochNanos(OffsetDateTime.now());
+        Iterator<Map.Entry<UUID, Long>> it = removed.entrySet().iterator();
+        while (it.hasNext() && it.next().getValue() < now - REMOVED_RETENTION_NANOS) {
+            it.remove();
+        }
+        removed.remove(id);
+        removed.put(id, now);
+    }
+
+    private void write(OrderResponse order) {
+        UUID id = order.getId();
+        long m = id.getMostSignificantBits();
+        long l = id.getLeastSignificantBits();
+        byte[] record = OrderRecordCodec.encode(order);
+        int slot = index.get(m, l);
+        if (slot >= 0) {
+            arena.release(lengths[slot]);
+            unlinkStatus(slot);
+        } else {
+            slot = newSlot();
+            idMsb[slot] = m;
+            idLsb[slot] = l;
+            index.put(m, l, slot);
+        }
+        refs[slot] = arena.append(record);
+        lengths[slot] = record.length;
+        createdNanos[slot] = epochNanos(order.getCreatedAt());
+        updatedNanos[slot] = epochNanos(order.getUpdatedAt());
+        statuses[slot] = (byte) order.getStatus().ordinal();
+        linkStatus(slot);
+        if (arena.shouldCompact()) {
+            compact();
+        }
+    }
+
+    private static long epochNanos(OffsetDateTime t) {
+        return t == null ? Long.MIN_VALUE : t.toEpochSecond() * 1_000_000_000L + t.getNano();
+    }
+
+    private int newSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == refs.length) {
+            int capacity = refs.length * 2;
+            refs = Arrays.copyOf(refs, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            createdNanos = Arrays.copyOf(createdNanos, capacity);
+            updatedNanos = Arrays.copyOf(updatedNanos, capacity);
+            idMsb = Arrays.copyOf(idMsb, capacity);
+            idLsb = Arrays.copyOf(idLsb, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            statusPos = Arrays.copyOf(statusPos, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void pushFree(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void linkStatus(int slot) {
+        int s = statuses[slot];
+        int n = byStatusCount[s];
+        if (n == byStatus[s].length) {
+            byStatus[s] = Arrays.copyOf(byStatus[s], n * 2);
+        }
+        byStatus[s][n] = slot;
+        statusPos[slot] = n;
+        byStatusCount[s] = n + 1;
+    }
+
+    private void unlinkStatus(int slot) {
+        int s = statuses[slot];
+        int last = byStatus[s][--byStatusCount[s]];
+        byStatus[s][statusPos[slot]] = last;
+        statusPos[last] = statusPos[slot];
+    }
+
+    /** Copia los registros vivos a un arena nuevo; el viejo lo libera el GC (Cleaner). */
+    private void compact() {
+        OffHeapArena fresh = new OffHeapArena(chunkBytes);
+        for (int s = 0; s < STATUSES.length; s++) {
+            for (int i = 0; i < byStatusCount[s]; i++) {
+                int slot = byStatus[s][i];
+                refs[slot] = fresh.append(arena.read(refs[slot], lengths[slot]));
+            }
+        }
+        arena = fresh;
+    }
+
+    // --- listados (con el read lock tomado) ---
+
+    /**
+     * Los k primeros slots (createdAt desc, id asc) del estado o de todos, ya ordenados:
+     * heap de tamaño k cuya raíz es el peor de los retenidos.
+     */
+    private int[] top(int k, OrderStatus status) {
+        int[] heap = new int[k];
+        int size = 0;
+        if (k == 0) {
+            return heap;
+        }
+        for (int s = 0; s < STATUSES.length; s++) {
+            if (status != null && s != status.ordinal()) {
+                continue;
+            }
+            int[] members = byStatus[s];
+            for (int i = 0; i < byStatusCount[s]; i++) {
+                int slot = members[i];
+                if (size < k) {
+                    heap[size] = slot;
+                    siftUp(heap, size++);
+                } else if (before(slot, heap[0])) {
+                    heap[0] = slot;
+                    siftDown(heap, 0, size);
+                }
+            }
+        }
+        // extraer el peor repetidamente deja el array en orden
+        for (int n = size - 1; n > 0; n--) {
+            int worst = heap[0];
+            heap[0] = heap[n];
+            heap[n] = worst;
+            siftDown(heap, 0, n);
+        }
+        return heap;
+    }
+
+    /** a va antes que b en el listado. */
+    private boolean before(int a, int b) {
+        if (createdNanos[a] != createdNanos[b]) {
+            return createdNanos[a] > createdNanos[b];
+        }
+        // mismo criterio que ORDER BY id (MergedPage.UUID_ORDER): bytes sin signo
+        int c = Long.compareUnsigned(idMsb[a], idMsb[b]);
+        return (c != 0 ? c : Long.compareUnsigned(idLsb[a], idLsb[b])) < 0;
+    }
+
+    private void siftUp(int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(heap[parent], heap[i])) {
+                return;
+            }
+            swap(heap, parent, i);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int i, int size) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && before(heap[worst], heap[left])) {
+                worst = left;
+            }
+            if (right < size && before(heap[worst], heap[right])) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int t = heap[a];
+        heap[a] = heap[b];
+        heap[b] = t;
+    }
+}
@@ -0,0 +1,132 @@
+package com.nao.retail.orders.store;
+
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Formato binario de una orden en el arena: campos en orden fijo, nulls con marca de presencia. */
+final class OrderRecordCodec {
+
+    private OrderRecordCodec() {
+    }
+
+    static byte[] encode(OrderResponse o) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(o.getId().getMostSignificantBits());
+            out.writeLong(o.getId().getLeastSignificantBits());
+            writeString(out, o.getCustomerName());
+            writeString(out, o.getCustomerEmail());
+            writeDecimal(out, o.getTotalAmount());
+            out.writeByte(o.getStatus() == null ? -1 : o.getStatus().ordinal());
+            writeTime(out, o.getCreatedAt());
+            writeTime(out, o.getUpdatedAt());
+            List<OrderItemDTO> items = o.getItems();
+            out.writeInt(items == null ? -1 : items.size());
+            if (items != null) {
+                for (OrderItemDTO item : items) {
+                    writeString(out, item.getSku());
+                    writeString(out, item.getName());
+                    out.writeInt(item.getQuantity());
+                    writeDecimal(out, item.getUnitPrice());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static OrderResponse decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            OrderResponse o = new OrderResponse();
+            o.setId(new UUID(in.readLong(), in.readLong()));
+            o.setCustomerName(readString(in));
+            o.setCustomerEmail(readString(in));
+            o.setTotalAmount(readDecimal(in));
+            byte status = in.readByte();
+            o.setStatus(status < 0 ? null : OrderStatus.values()[status]);
+            o.setCreatedAt(readTime(in));
+            o.setUpdatedAt(readTime(in));
+            int count = in.readInt();
+            if (count >= 0) {
+                List<OrderItemDTO> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    OrderItemDTO item = new OrderItemDTO();
+                    item.setSku(readString(in));
+                    item.setName(readString(in));
+                    item.setQuantity(in.readInt());
+                    item.setUnitPrice(readDecimal(in));
+                    items.add(item);
+                }
+                o.setItems(items);
+            }
+            return o;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal d) throws IOException {
+        out.writeBoolean(d != null);
+        if (d != null) {
+            byte[] unscaled = d.unscaledValue().toByteArray();
+            out.writeInt(d.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeTime(DataOutputStream out, OffsetDateTime t) throws IOException {
+        out.writeBoolean(t != null);
+        if (t != null) {
+            out.writeLong(t.toEpochSecond());
+            out.writeInt(t.getNano());
+            out.writeInt(t.getOffset().getTotalSeconds());
+        }
+    }
+
+    private static OffsetDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.readInt()));
+    }
+}
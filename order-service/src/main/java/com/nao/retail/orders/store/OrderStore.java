@@ -0,0 +1,68 @@
+package com.nao.retail.orders.store;
+
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Copia en memoria de las órdenes para lecturas sin base de datos. Se mantiene por
+ * write-through tras cada commit de {@code OrderService} y se llena al arrancar
+ * ({@link OrderStoreLoader}); hasta entonces {@link #ready()} es false y las lecturas
+ * van a la base.
+ */
+public interface OrderStore {
+
+    /** Store apagado (orders.store.enabled=false): nunca responde. */
+    OrderStore DISABLED = new OrderStore() {
+        @Override public boolean enabled() { return false; }
+        @Override public boolean ready() { return false; }
+        @Override public OrderResponse get(UUID id) { return null; }
+        @Override public Page<OrderResponse> list(OrderStatus status, Pageable pageable) { return null; }
+        @Override public void put(OrderResponse order) { }
+        @Override public void remove(UUID id) { }
+        @Override public void updateStatus(UUID id, OrderStatus status, OffsetDateTime updatedAt) { }
+        @Override public void beginLoad() { }
+        @Override public void load(OrderResponse order) { }
+        @Override public Set<UUID> finishLoad() { return Set.of(); }
+        @Override public int size() { return 0; }
+        @Override public long offHeapBytes() { return 0; }
+    };
+
+    boolean enabled();
+
+    /** Carga inicial terminada: un id ausente es una orden inexistente o escrita por fuera. */
+    boolean ready();
+
+    /** La orden o null si no está. */
+    OrderResponse get(UUID id);
+
+    /** Página por estado (null = todos), createdAt desc e id asc; null si el store no está listo. */
+    Page<OrderResponse> list(OrderStatus status, Pageable pageable);
+
+    /** Guarda la orden salvo que la versión en memoria (updatedAt) sea más nueva. */
+    void put(OrderResponse order);
+
+    void remove(UUID id);
+
+    /** Cambia estado y updatedAt de una orden presente; no hace nada si no está o si su updatedAt es más nuevo. */
+    void updateStatus(UUID id, OrderStatus status, OffsetDateTime updatedAt);
+
+    /** Inicio de la carga: desde acá se anotan los ids que toca el write-through. */
+    void beginLoad();
+
+    /** Orden leída por la carga; se ignora si el write-through ya la tocó (sería más vieja). */
+    void load(OrderResponse order);
+
+    /** Fin de la carga: marca el store listo y devuelve los ids tocados durante ella. */
+    Set<UUID> finishLoad();
+
+    int size();
+
+    /** Memoria directa reservada para los registros. */
+    long offHeapBytes();
+}
@@ -0,0 +1,76 @@
+package com.nao.retail.orders.store;
+
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.mapper.OrderMapper;
+import com.nao.retail.orders.repository.OrderRepository;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Carga inicial del {@link OrderStore}: recorre cada shard por páginas de id (keyset, una
+ * transacción de lectura por página) mientras la app ya atiende requests. Lo que el
+ * write-through toca durante la carga no se pisa con la lectura (posiblemente vieja) y
+ * se relee de la base al final.
+ */
+@Component
+public class OrderStoreLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStoreLoader.class);
+
+    private final OrderStore store;
+    private final OrderRepository repo;
+    private final ShardTemplate shards;
+    private final OrderStoreProperties props;
+
+    public OrderStoreLoader(OrderStore store, OrderRepository repo, ShardTemplate shards, OrderStoreProperties props) {
+        this.store = store;
+        this.repo = repo;
+        this.shards = shards;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!store.enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        store.beginLoad();
+        Limit limit = Limit.of(props.getLoadPageSize());
+        int loaded = 0;
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            UUID after = null;
+            while (true) {
+                UUID cursor = after;
+                List<OrderResponse> page = shards.inTransaction(shard, true, () -> (cursor == null
+                        ? repo.findAllByOrderByIdAsc(limit)
+                        : repo.findByIdGreaterThanOrderByIdAsc(cursor, limit))
+                        .stream().map(OrderMapper::toResponse).toList());
+                page.forEach(store::load);
+                loaded += page.size();
+                if (page.size() < limit.max()) {
+                    break;
+                }
+                after = page.get(page.size() - 1).getId();
+            }
+        }
+        Set<UUID> touched = store.finishLoad();
+        if (!touched.isEmpty()) {
+            shards.byShard(new ArrayList<>(touched), true,
+                            (shard, ids) -> repo.findAllById(ids).stream().map(OrderMapper::toResponse).toList())
+                    .forEach(orders -> orders.forEach(store::put));
+        }
+        log.info("Store de órdenes cargado: {} órdenes ({} tocadas durante la carga), {} bytes fuera del heap en {} ms",
+                loaded, touched.size(), store.offHeapBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nao.retail.orders.store;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Configuración orders.store.* (órdenes en memoria para GET por id y listados por estado). */
+@Component
+@ConfigurationProperties(prefix = "orders.store")
+public class OrderStoreProperties {
+
+    private boolean enabled = false;
+    /** Tamaño de cada bloque de memoria directa para los registros. */
+    private int chunkBytes = 8 * 1024 * 1024;
+    /** Órdenes previstas: dimensiona índice y arrays sin crecer durante la carga. */
+    private int initialCapacity = 1024;
+    /** Órdenes por página al cargar (keyset por id). */
+    private int loadPageSize = 1000;
+
+    // getters & setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getChunkBytes() { return chunkBytes; }
+    public void setChunkBytes(int chunkBytes) { this.chunkBytes = chunkBytes; }
+    public int getInitialCapacity() { return initialCapacity; }
+    public void setInitialCapacity(int initialCapacity) { this.initialCapacity = initialCapacity; }
+    public int getLoadPageSize() { return loadPageSize; }
+    public void setLoadPageSize(int loadPageSize) { this.loadPageSize = loadPageSize; }
+}
@@ -0,0 +1,67 @@
+package com.nao.retail.orders.store;
+
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Write-through al {@link OrderStore}: los cambios se aplican recién tras el commit de la
+ * transacción actual (igual que la caché con TransactionAwareCacheDecorator), así un
+ * rollback no deja en memoria algo que la base no tiene. Sin transacción, en el acto.
+ */
+@Component
+public class OrderStoreSync {
+
+    private final OrderStore store;
+
+    public OrderStoreSync(OrderStore store) {
+        this.store = store;
+    }
+
+    public void put(OrderResponse order) {
+        if (store.enabled()) {
+            afterCommit(() -> store.put(order));
+        }
+    }
+
+    public void putAll(Collection<OrderResponse> orders) {
+        if (store.enabled()) {
+            List<OrderResponse> copy = List.copyOf(orders);
+            afterCommit(() -> copy.forEach(store::put));
+        }
+    }
+
+    public void remove(Collection<UUID> ids) {
+        if (store.enabled()) {
+            List<UUID> copy = List.copyOf(ids);
+            afterCommit(() -> copy.forEach(store::remove));
+        }
+    }
+
+    public void updateStatus(Collection<UUID> ids, OrderStatus status, OffsetDateTime updatedAt) {
+        if (store.enabled()) {
+            List<UUID> copy = List.copyOf(ids);
+            afterCommit(() -> copy.forEach(id -> store.updateStatus(id, status, updatedAt)));
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
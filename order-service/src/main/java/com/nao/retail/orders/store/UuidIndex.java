@@ -0,0 +1,120 @@
+package com.nao.retail.orders.store;
+
+import java.util.Arrays;
+
+/**
+ * Índice id → slot con direccionamiento abierto (sondeo lineal) sobre arrays primitivos:
+ * sin objetos por entrada ni UUID boxeados. Borrado por desplazamiento hacia atrás, sin
+ * lápidas. Factor de carga máximo 0.5. No es thread-safe (lo protege el store).
+ */
+final class UuidIndex {
+
+    private long[] msb;
+    private long[] lsb;
+    /** slot + 1; 0 = vacío. */
+    private int[] values;
+    private int mask;
+    private int size;
+
+    UuidIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Slot del id o -1. */
+    int get(long m, long l) {
+        for (int i = home(m, l); ; i = (i + 1) & mask) {
+            if (values[i] == 0) {
+                return -1;
+            }
+            if (msb[i] == m && lsb[i] == l) {
+                return values[i] - 1;
+            }
+        }
+    }
+
+    void put(long m, long l, int slot) {
+        if ((size + 1) * 2 > values.length) {
+            grow();
+        }
+        for (int i = home(m, l); ; i = (i + 1) & mask) {
+            if (values[i] == 0) {
+                msb[i] = m;
+                lsb[i] = l;
+                values[i] = slot + 1;
+                size++;
+                return;
+            }
+            if (msb[i] == m && lsb[i] == l) {
+                values[i] = slot + 1;
+                return;
+            }
+        }
+    }
+
+    /** Slot que tenía el id o -1. */
+    int remove(long m, long l) {
+        int i = home(m, l);
+        while (true) {
+            if (values[i] == 0) {
+                return -1;
+            }
+            if (msb[i] == m && lsb[i] == l) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i] - 1;
+        values[i] = 0;
+        size--;
+        // las entradas siguientes del mismo cluster que no queden alcanzables se corren al hueco
+        for (int j = (i + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+            int k = home(msb[j], lsb[j]);
+            boolean reachable = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+            if (!reachable) {
+                msb[i] = msb[j];
+                lsb[i] = lsb[j];
+                values[i] = values[j];
+                values[j] = 0;
+                i = j;
+            }
+        }
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldMsb = msb;
+        long[] oldLsb = lsb;
+        int[] oldValues = values;
+        allocate(oldValues.length * 2);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != 0) {
+                put(oldMsb[i], oldLsb[i], oldValues[i] - 1);
+            }
+        }
+    }
+
+    private int home(long m, long l) {
+        long h = m * 0x9E3779B97F4A7C15L ^ l;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 31)) & mask;
+    }
+}
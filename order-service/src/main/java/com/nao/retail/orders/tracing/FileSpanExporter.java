@@ -0,0 +1,92 @@
+package com.nao.retail.orders.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exporter local: un span por línea JSON (traza, padre, nombre, inicio, duración en µs y
+ * atributos), para ver el desglose por etapa sin un colector. Append: sobrevive reinicios.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final BufferedWriter out;
+
+    public FileSpanExporter(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede abrir " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                out.write(json.writeValueAsString(line(span)));
+                out.newLine();
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static Map<String, Object> line(SpanData span) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        line.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        line.put("name", span.getName());
+        line.put("kind", span.getKind().name());
+        line.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+        line.put("durationUs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        line.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new TreeMap<>();
+        span.getAttributes().forEach((AttributeKey<?> key, Object value) -> attributes.put(key.getKey(), value));
+        line.put("attributes", attributes);
+        return line;
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            out.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.nao.retail.orders.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Converter JSON de Spring MVC que mide la escritura de cada respuesta como
+ * "orders.http.serialize": separa Jackson (más la escritura al socket) del
+ * tiempo del controller dentro del span del request.
+ */
+public class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry registry;
+
+    public ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        Observation observation = Observation.createNotStarted("orders.http.serialize", registry)
+                .contextualName("serialize")
+                .lowCardinalityKeyValue("type", object.getClass().getSimpleName())
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
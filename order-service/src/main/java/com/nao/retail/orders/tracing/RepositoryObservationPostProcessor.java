@@ -0,0 +1,47 @@
+package com.nao.retail.orders.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Agrega a cada repositorio Spring Data un interceptor que abre la observación
+ * "orders.repository" (span + timer) por llamada: Repositorio#método. Las sentencias
+ * SQL que dispara la llamada quedan como hijas.
+ */
+public class RepositoryObservationPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ObservationRegistry> registry;
+    private final ObjectProvider<TracingProperties> props;
+
+    public RepositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> registry,
+                                              ObjectProvider<TracingProperties> props) {
+        this.registry = registry;
+        this.props = props;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean && props.getObject().isRepositories()) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxy, info) -> proxy.addAdvice(interceptor(info.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            String method = invocation.getMethod().getName();
+            // el registry se resuelve en la primera llamada: los repositorios se crean antes
+            return Observation.createNotStarted("orders.repository",
+                            registry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                    .contextualName(repository + "#" + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .observeChecked(invocation::proceed);
+        };
+    }
+}
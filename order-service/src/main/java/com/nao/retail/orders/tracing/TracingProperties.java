@@ -0,0 +1,39 @@
+package com.nao.retail.orders.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración orders.tracing.* (spans propios). El muestreo y el export OTLP son los
+ * de Spring Boot: management.tracing.sampling.probability y management.otlp.tracing.endpoint.
+ */
+@Component
+@ConfigurationProperties(prefix = "orders.tracing")
+public class TracingProperties {
+
+    /** Un span por sentencia SQL (proxy JDBC de QueryCountingDataSource). */
+    private boolean jdbc = true;
+    /** Un span por llamada a un repositorio Spring Data. */
+    private boolean repositories = true;
+    /** Un span por escritura Jackson de la respuesta. */
+    private boolean serialization = true;
+    /** Exporter a archivo JSON lines ("" = apagado). */
+    private String file = "";
+    /** Requests que no se trazan (prefijos de URI). */
+    private List<String> skipPaths = new ArrayList<>(List.of("/actuator", "/h2-console"));
+
+    // getters & setters
+    public boolean isJdbc() { return jdbc; }
+    public void setJdbc(boolean jdbc) { this.jdbc = jdbc; }
+    public boolean isRepositories() { return repositories; }
+    public void setRepositories(boolean repositories) { this.repositories = repositories; }
+    public boolean isSerialization() { return serialization; }
+    public void setSerialization(boolean serialization) { this.serialization = serialization; }
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+    public List<String> getSkipPaths() { return skipPaths; }
+    public void setSkipPaths(List<String> skipPaths) { this.skipPaths = skipPaths; }
+}
@@ -0,0 +1,195 @@
+package com.nao.retail.orders.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.ExportResult;
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.sharding.ShardContext;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación completa a archivos gzip (NDJSON o CSV).
+ * <p>
+ * El espacio de UUIDs se parte en rangos contiguos; cada rango lo exporta una tarea
+ * del pool fork-join a su propio archivo, recorriendo la PK con keyset paging
+ * (id > último ORDER BY id LIMIT n) e ítems por página con IN (...). La memoria
+ * usada es de una página por tarea, sin importar el tamaño de la tabla. Con sharding
+ * se exportan los mismos rangos en cada shard (archivos part-sNN-NNN).
+ */
+@Service
+public class OrderExporter {
+
+    static final String CSV_HEADER_COLUMNS = "order_id,customer_name,customer_email,total_amount,status,"
+            + "created_at,updated_at,sku,item_name,quantity,unit_price";
+
+    private static final DateTimeFormatter DIR_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper mapper;
+    private final ShardTemplate shards;
+    private final ForkJoinPool pool;
+    private final Path exportDir;
+    private final int parts;
+    private final int pageSize;
+
+    public OrderExporter(NamedParameterJdbcTemplate jdbc,
+                         ObjectMapper mapper,
+                         ShardTemplate shards,
+                         ForkJoinPool transferPool,
+                         @Value("${orders.transfer.export-dir:${java.io.tmpdir}/orders-export}") Path exportDir,
+                         @Value("${orders.transfer.export-parts:0}") int parts,
+                         @Value("${orders.transfer.page-size:1000}") int pageSize) {
+        this.jdbc = jdbc;
+        this.mapper = mapper;
+        this.shards = shards;
+        this.pool = transferPool;
+        this.exportDir = exportDir;
+        this.parts = parts > 0 ? parts : transferPool.getParallelism();
+        this.pageSize = pageSize;
+    }
+
+    public ExportResult export(TransferFormat format) throws IOException {
+        Path dir = Files.createDirectories(exportDir.resolve("orders-" + OffsetDateTime.now().format(DIR_FORMAT)));
+        List<UUID> bounds = rangeBounds(parts);
+        List<ForkJoinTask<ExportResult.ExportFile>> tasks = new ArrayList<>(parts * shards.shardCount());
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            for (int i = 0; i < parts; i++) {
+                UUID lower = bounds.get(i);
+                UUID upper = i + 1 < parts ? bounds.get(i + 1) : null;
+                String name = shards.enabled()
+                        ? String.format("part-s%02d-%03d.%s.gz", shard, i, format.extension())
+                        : String.format("part-%03d.%s.gz", i, format.extension());
+                Path file = dir.resolve(name);
+                int s = shard;
+                tasks.add(pool.submit(() -> {
+                    try (ShardContext.Scope scope = shards.on(s)) {
+                        return exportRange(lower, upper, file, format);
+                    }
+                }));
+            }
+        }
+        List<ExportResult.ExportFile> files = new ArrayList<>(tasks.size());
+        long total = 0;
+        for (ForkJoinTask<ExportResult.ExportFile> task : tasks) {
+            ExportResult.ExportFile f = task.join();
+            files.add(f);
+            total += f.getOrders();
+        }
+        return new ExportResult(dir.toString(), total, files);
+    }
+
+    /** Límites inferiores de n rangos iguales sobre los 64 bits altos del UUID (orden sin signo). */
+    static List<UUID> rangeBounds(int n) {
+        long step = Long.divideUnsigned(-1L, n);
+        List<UUID> bounds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            bounds.add(new UUID(step * i, 0L));
+        }
+        return bounds;
+    }
+
+    private ExportResult.ExportFile exportRange(UUID lower, UUID upper, Path file, TransferFormat format) {
+        long count = 0;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            if (format == TransferFormat.CSV) {
+                out.write(CSV_HEADER_COLUMNS);
+                out.write('\n');
+            }
+            UUID after = null;
+            while (true) {
+                List<OrderResponse> page = page(lower, upper, after);
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (OrderResponse order : page) {
+                    write(out, order, format);
+                }
+                count += page.size();
+                after = page.get(page.size() - 1).getId();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new ExportResult.ExportFile(file.getFileName().toString(), count);
+    }
+
+    private List<OrderResponse> page(UUID lower, UUID upper, UUID after) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("from", after != null ? after : lower);
+        params.put("limit", pageSize);
+        StringBuilder sql = new StringBuilder("SELECT id, customer_name, customer_email, total_amount, status,"
+                + " created_at, updated_at FROM orders WHERE id ").append(after != null ? ">" : ">=").append(" :from");
+        if (upper != null) {
+            sql.append(" AND id < :to");
+            params.put("to", upper);
+        }
+        sql.append(" ORDER BY id LIMIT :limit");
+
+        Map<UUID, OrderResponse> orders = new LinkedHashMap<>();
+        jdbc.query(sql.toString(), params, rs -> {
+            OrderResponse r = new OrderResponse();
+            r.setId(rs.getObject("id", UUID.class));
+            r.setCustomerName(rs.getString("customer_name"));
+            r.setCustomerEmail(rs.getString("customer_email"));
+            r.setTotalAmount(rs.getBigDecimal("total_amount"));
+            r.setStatus(OrderStatus.valueOf(rs.getString("status")));
+            r.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
+            r.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class));
+            r.setItems(new ArrayList<>());
+            orders.put(r.getId(), r);
+        });
+        if (!orders.isEmpty()) {
+            jdbc.query("SELECT order_id, sku, name, quantity, unit_price FROM order_items WHERE order_id IN (:ids)",
+                    Map.of("ids", orders.keySet()), rs -> {
+                        OrderItemDTO item = new OrderItemDTO();
+                        item.setSku(rs.getString("sku"));
+                        item.setName(rs.getString("name"));
+                        item.setQuantity(rs.getInt("quantity"));
+                        item.setUnitPrice(rs.getBigDecimal("unit_price"));
+                        orders.get(rs.getObject("order_id", UUID.class)).getItems().add(item);
+                    });
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    private void write(Writer out, OrderResponse o, TransferFormat format) throws IOException {
+        if (format == TransferFormat.NDJSON) {
+            out.write(mapper.writeValueAsString(o));
+            out.write('\n');
+            return;
+        }
+        if (o.getItems().isEmpty()) {
+            Csv.write(out, o.getId(), o.getCustomerName(), o.getCustomerEmail(), o.getTotalAmount(), o.getStatus(),
+                    o.getCreatedAt(), o.getUpdatedAt(), null, null, null, null);
+        }
+        for (OrderItemDTO i : o.getItems()) {
+            Csv.write(out, o.getId(), o.getCustomerName(), o.getCustomerEmail(), o.getTotalAmount(), o.getStatus(),
+                    o.getCreatedAt(), o.getUpdatedAt(), i.getSku(), i.getName(), i.getQuantity(), i.getUnitPrice());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.nao.retail.orders.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderRequest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lee un archivo de órdenes de forma secuencial, en bloques de a lo sumo N órdenes:
+ * la memoria usada depende del tamaño de bloque, no del archivo.
+ */
+class OrderFileReader implements Closeable {
+
+    /** Orden leída (o error de parseo) con la línea donde empieza. */
+    record ParsedOrder(long line, OrderRequest request, String error) { }
+
+    private final BufferedReader reader;
+    private final TransferFormat format;
+    private final ObjectMapper mapper;
+    private Map<String, Integer> columns;
+    private long lineNo;
+    private List<String> pendingRow;
+    private long pendingLine;
+
+    OrderFileReader(Path file, TransferFormat format, ObjectMapper mapper) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.format = format;
+        this.mapper = mapper;
+    }
+
+    /** Siguiente bloque; vacío al llegar al final del archivo. */
+    List<ParsedOrder> next(int max) throws IOException {
+        List<ParsedOrder> out = new ArrayList<>(max);
+        while (out.size() < max) {
+            ParsedOrder order = format == TransferFormat.CSV ? nextCsv() : nextNdjson();
+            if (order == null) {
+                break;
+            }
+            out.add(order);
+        }
+        return out;
+    }
+
+    private ParsedOrder nextNdjson() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return new ParsedOrder(lineNo, mapper.readValue(line, OrderRequest.class), null);
+            } catch (JsonProcessingException ex) {
+                return new ParsedOrder(lineNo, null, "invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    /** Agrupa filas consecutivas con la misma referencia de orden. */
+    private ParsedOrder nextCsv() throws IOException {
+        if (columns == null && !readHeader()) {
+            return null;
+        }
+        List<String> first = pendingRow != null ? pendingRow : readRow();
+        if (first == null) {
+            return null;
+        }
+        long startLine = pendingRow != null ? pendingLine : lineNo;
+        pendingRow = null;
+        String ref = field(first, "order_ref", "order_id");
+        try {
+            OrderRequest req = new OrderRequest();
+            req.setCustomerName(field(first, "customer_name"));
+            req.setCustomerEmail(field(first, "customer_email"));
+            req.setTotalAmount(decimal(field(first, "total_amount")));
+            List<OrderItemDTO> items = new ArrayList<>();
+            addItem(items, first);
+            List<String> row;
+            while ((row = readRow()) != null) {
+                if (ref == null || ref.isEmpty() || !ref.equals(field(row, "order_ref", "order_id"))) {
+                    pendingRow = row;
+                    pendingLine = lineNo;
+                    break;
+                }
+                addItem(items, row);
+            }
+            req.setItems(items);
+            return new ParsedOrder(startLine, req, null);
+        } catch (IllegalArgumentException ex) {
+            skipRowsOf(ref);
+            return new ParsedOrder(startLine, null, ex.getMessage());
+        }
+    }
+
+    private boolean readHeader() throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return false;
+        }
+        lineNo++;
+        columns = new HashMap<>();
+        List<String> names = Csv.parse(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        return true;
+    }
+
+    private List<String> readRow() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (!line.isBlank()) {
+                return Csv.parse(line);
+            }
+        }
+        return null;
+    }
+
+    private void skipRowsOf(String ref) throws IOException {
+        List<String> row;
+        while ((row = readRow()) != null) {
+            if (ref == null || ref.isEmpty() || !ref.equals(field(row, "order_ref", "order_id"))) {
+                pendingRow = row;
+                pendingLine = lineNo;
+                return;
+            }
+        }
+    }
+
+    private void addItem(List<OrderItemDTO> items, List<String> row) {
+        String sku = field(row, "sku");
+        if (sku == null || sku.isEmpty()) {
+            return;
+        }
+        OrderItemDTO item = new OrderItemDTO();
+        item.setSku(sku);
+        item.setName(field(row, "item_name", "name"));
+        String quantity = field(row, "quantity");
+        try {
+            item.setQuantity(quantity == null || quantity.isEmpty() ? 0 : Integer.parseInt(quantity.trim()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid quantity: " + quantity);
+        }
+        item.setUnitPrice(decimal(field(row, "unit_price")));
+        items.add(item);
+    }
+
+    private String field(List<String> row, String... names) {
+        for (String name : names) {
+            Integer i = columns.get(name);
+            if (i != null && i < row.size()) {
+                return row.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static BigDecimal decimal(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid number: " + value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
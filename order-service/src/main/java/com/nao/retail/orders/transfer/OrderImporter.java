@@ -0,0 +1,125 @@
+package com.nao.retail.orders.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.ImportResult;
+import com.nao.retail.orders.dto.OrderRequest;
+import com.nao.retail.orders.service.ChangeFeedWatermark;
+import com.nao.retail.orders.service.OrderBatchInserter;
+import com.nao.retail.orders.service.OrderBatchInserter.NewOrder;
+import com.nao.retail.orders.sharding.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva desde CSV/NDJSON.
+ * <p>
+ * Pipeline por bloques: mientras el pool fork-join valida un bloque (mismas
+ * restricciones que OrderRequest/OrderItemDTO), el hilo llamador parsea el
+ * siguiente; las órdenes válidas se insertan con JDBC batch en una transacción
+ * por bloque (y por shard, con ids co-ubicados con el cliente). Las filas inválidas
+ * se cuentan y se informan con su número de línea.
+ */
+@Service
+public class OrderImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ShardRouter router;
+    private final ChangeFeedWatermark watermark;
+    private final OrderBatchInserter inserter;
+    private final Validator validator;
+    private final ObjectMapper mapper;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public OrderImporter(ShardRouter router,
+                         ChangeFeedWatermark watermark,
+                         OrderBatchInserter inserter,
+                         Validator validator,
+                         ObjectMapper mapper,
+                         ForkJoinPool transferPool,
+                         @Value("${orders.transfer.chunk-size:1000}") int chunkSize) {
+        this.router = router;
+        this.watermark = watermark;
+        this.inserter = inserter;
+        this.validator = validator;
+        this.mapper = mapper;
+        this.pool = transferPool;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importFile(Path file, TransferFormat format) throws IOException {
+        ImportResult result = new ImportResult();
+        try (OrderFileReader reader = new OrderFileReader(file, format, mapper)) {
+            List<OrderFileReader.ParsedOrder> chunk = reader.next(chunkSize);
+            while (!chunk.isEmpty()) {
+                CompletableFuture<List<OrderFileReader.ParsedOrder>> validated = validateAsync(chunk);
+                List<OrderFileReader.ParsedOrder> nextChunk = reader.next(chunkSize);
+                store(validated.join(), result);
+                chunk = nextChunk;
+            }
+        }
+        return result;
+    }
+
+    private CompletableFuture<List<OrderFileReader.ParsedOrder>> validateAsync(List<OrderFileReader.ParsedOrder> chunk) {
+        return CompletableFuture.supplyAsync(
+                () -> chunk.parallelStream().map(this::validate).collect(Collectors.toList()), pool);
+    }
+
+    private OrderFileReader.ParsedOrder validate(OrderFileReader.ParsedOrder order) {
+        if (order.error() != null) {
+            return order;
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(order.request());
+        if (violations.isEmpty()) {
+            return order;
+        }
+        String error = violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .collect(Collectors.joining("; "));
+        return new OrderFileReader.ParsedOrder(order.line(), null, error);
+    }
+
+    private void store(List<OrderFileReader.ParsedOrder> chunk, ImportResult result) {
+        List<OrderRequest> valid = new ArrayList<>(chunk.size());
+        for (OrderFileReader.ParsedOrder order : chunk) {
+            result.setRead(result.getRead() + 1);
+            if (order.error() == null) {
+                valid.add(order.request());
+            } else {
+                result.setRejected(result.getRejected() + 1);
+                if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                    result.getErrors().add("line " + order.line() + ": " + order.error());
+                }
+            }
+        }
+        if (!valid.isEmpty()) {
+            OffsetDateTime now = OffsetDateTime.now();
+            Map<Integer, List<NewOrder>> byShard = new TreeMap<>();
+            for (OrderRequest req : valid) {
+                UUID id = router.newOrderId(req.getCustomerEmail());
+                byShard.computeIfAbsent(router.shardOf(id), s -> new ArrayList<>()).add(new NewOrder(id, req, now));
+            }
+            byShard.forEach((shard, orders) -> watermark.inTransaction(shard, () -> inserter.insert(orders)));
+            result.setImported(result.getImported() + valid.size());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.nao.retail.orders.transfer;
+
+import java.util.Locale;
+
+/** Formatos de archivo soportados por importación/exportación. */
+public enum TransferFormat {
+    /** Una orden JSON por línea (OrderRequest al importar, OrderResponse al exportar). */
+    NDJSON("ndjson"),
+    /** Una fila por ítem; las filas consecutivas con el mismo order_ref/order_id forman una orden. */
+    CSV("csv");
+
+    private final String extension;
+
+    TransferFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static TransferFormat of(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported format: " + value + " (expected csv or ndjson)");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.nao.retail.orders.wal;
+
+import com.nao.retail.orders.dto.OrderRequest;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Registro del WAL: la orden aceptada con su id definitivo y la fecha de aceptación (será su createdAt). */
+public record BufferedOrder(UUID id, OffsetDateTime acceptedAt, OrderRequest request) { }
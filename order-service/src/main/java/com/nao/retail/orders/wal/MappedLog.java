@@ -0,0 +1,285 @@
+package com.nao.retail.orders.wal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log append-only en segmentos de tamaño fijo mapeados en memoria (FileChannel.map).
+ * <p>
+ * Registro: [largo int][crc32 int][payload]; el largo se escribe último, así que un
+ * registro a medio escribir queda invisible (largo 0) o falla el CRC y se descarta al
+ * abrir. {@link #read} vuelve a verificar el CRC: un registro dañado después (en un
+ * segmento ya cerrado) se entrega marcado como corrupto. {@link #sync} hace fsync en grupo: el primero que entra fuerza todo lo escrito
+ * hasta ese momento y los que esperaban detrás ya quedan cubiertos. El checkpoint (hasta
+ * dónde se aplicó el log) va en un archivo aparte, reemplazado atómicamente; los
+ * segmentos anteriores al checkpoint se borran.
+ */
+final class MappedLog implements Closeable {
+
+    /** Posición en el log: segmento y offset dentro de él. */
+    record Position(long segment, int offset) implements Comparable<Position> {
+        @Override
+        public int compareTo(Position o) {
+            return segment != o.segment ? Long.compare(segment, o.segment) : Integer.compare(offset, o.offset);
+        }
+    }
+
+    /** Un registro leído y la posición siguiente (la que se usa como checkpoint); corrupt: no pasa el CRC. */
+    record Entry(byte[] payload, Position next, boolean corrupt) { }
+
+    private static final int HEADER = 8;
+    private static final String SUFFIX = ".wal";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final AtomicReference<Position> durable = new AtomicReference<>();
+    private final Map<Long, MappedByteBuffer> readers = new HashMap<>();
+
+    private MappedByteBuffer active;
+    private long activeSegment;
+    private int writeOffset;
+    private volatile Position checkpoint;
+
+    MappedLog(Path dir, int segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(dir);
+            checkpoint = readCheckpoint();
+            List<Long> segments = segments();
+            for (long s : segments) {
+                if (s < checkpoint.segment()) {
+                    Files.delete(segmentPath(s));
+                }
+            }
+            long last = segments.isEmpty() ? checkpoint.segment() : Math.max(segments.get(segments.size() - 1), checkpoint.segment());
+            activeSegment = last;
+            active = map(last, FileChannel.MapMode.READ_WRITE);
+            writeOffset = recoverEnd(active);
+            durable.set(new Position(activeSegment, writeOffset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + dir, e);
+        }
+    }
+
+    /** Agrega un registro (sin fsync) y devuelve la posición donde termina. */
+    Position append(byte[] payload) {
+        int size = HEADER + payload.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a WAL segment");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        synchronized (appendLock) {
+            if (writeOffset + size > segmentBytes) {
+                roll();
+            }
+            active.putInt(writeOffset + 4, (int) crc.getValue());
+            active.put(writeOffset + HEADER, payload);
+            active.putInt(writeOffset, payload.length);
+            writeOffset += size;
+            return new Position(activeSegment, writeOffset);
+        }
+    }
+
+    /** Vuelve cuando todo hasta upTo está en disco; un único force cubre a los que esperan juntos. */
+    void sync(Position upTo) {
+        if (durable.get().compareTo(upTo) >= 0) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable.get().compareTo(upTo) >= 0) {
+                return;
+            }
+            MappedByteBuffer buffer;
+            Position target;
+            synchronized (appendLock) {
+                buffer = active;
+                target = new Position(activeSegment, writeOffset);
+            }
+            buffer.force();
+            advanceDurable(target);
+        }
+    }
+
+    /** Hasta max registros en disco a partir de from. Lo llama un único hilo (el replay). */
+    synchronized List<Entry> read(Position from, int max) {
+        Position end = durable.get();
+        List<Entry> out = new ArrayList<>();
+        Position pos = from;
+        while (out.size() < max && pos.compareTo(end) < 0) {
+            ByteBuffer segment = reader(pos.segment());
+            int length = pos.offset() + HEADER <= segmentBytes ? segment.getInt(pos.offset()) : 0;
+            if (length == 0) {
+                // fin de un segmento ya cerrado: el siguiente empieza en 0
+                pos = new Position(pos.segment() + 1, 0);
+                continue;
+            }
+            if (length < 0 || pos.offset() + HEADER + length > segmentBytes) {
+                // largo dañado: no se sabe dónde empieza el siguiente, se saltea el resto del segmento
+                Position next = pos.segment() < end.segment() ? new Position(pos.segment() + 1, 0) : end;
+                out.add(new Entry(new byte[0], next, true));
+                pos = next;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.get(pos.offset() + HEADER, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            boolean corrupt = (int) crc.getValue() != segment.getInt(pos.offset() + 4);
+            pos = new Position(pos.segment(), pos.offset() + HEADER + length);
+            out.add(new Entry(payload, pos, corrupt));
+        }
+        return out;
+    }
+
+    /** Marca aplicado todo hasta p (inclusive) y borra los segmentos que ya no hacen falta. */
+    synchronized void checkpoint(Position p) {
+        try {
+            Path tmp = dir.resolve(CHECKPOINT + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ch.write(ByteBuffer.allocate(12).putLong(p.segment()).putInt(p.offset()).flip());
+                ch.force(true);
+            }
+            Files.move(tmp, dir.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            checkpoint = p;
+            for (long s : segments()) {
+                if (s < p.segment()) {
+                    readers.remove(s);
+                    Files.delete(segmentPath(s));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Position checkpoint() {
+        return checkpoint;
+    }
+
+    /** Hay registros en disco todavía sin aplicar. */
+    boolean hasPending() {
+        return checkpoint.compareTo(durable.get()) < 0;
+    }
+
+    /** Bytes entre el checkpoint y el final (aproximado entre segmentos). */
+    long pendingBytes() {
+        Position end = durable.get();
+        Position from = checkpoint;
+        return (end.segment() - from.segment()) * segmentBytes + end.offset() - from.offset();
+    }
+
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            active.force();
+            advanceDurable(new Position(activeSegment, writeOffset));
+        }
+    }
+
+    // --- internos ---
+
+    /** Con appendLock: cierra el segmento activo (en disco) y abre el siguiente. */
+    private void roll() {
+        active.force();
+        advanceDurable(new Position(activeSegment, writeOffset));
+        try {
+            active = map(activeSegment + 1, FileChannel.MapMode.READ_WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        activeSegment++;
+        writeOffset = 0;
+    }
+
+    private void advanceDurable(Position p) {
+        durable.accumulateAndGet(p, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+    }
+
+    private ByteBuffer reader(long segment) {
+        return readers.computeIfAbsent(segment, s -> {
+            try {
+                return map(s, FileChannel.MapMode.READ_ONLY);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private MappedByteBuffer map(long segment, FileChannel.MapMode mode) throws IOException {
+        try (FileChannel ch = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return ch.map(mode, 0, segmentBytes);
+        }
+    }
+
+    /** Final del último registro válido; lo que sigue (registro cortado por un crash) se pone en cero. */
+    private int recoverEnd(MappedByteBuffer segment) {
+        int offset = 0;
+        while (offset + HEADER <= segmentBytes) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + HEADER + length > segmentBytes) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.get(offset + HEADER, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                break;
+            }
+            offset += HEADER + length;
+        }
+        if (offset + HEADER <= segmentBytes && (segment.getInt(offset) != 0 || segment.getInt(offset + 4) != 0)) {
+            for (int i = offset; i < segmentBytes; i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.force();
+        }
+        return offset;
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = dir.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            List<Long> segments = segments();
+            return new Position(segments.isEmpty() ? 1 : segments.get(0), 0);
+        }
+        ByteBuffer b = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new Position(b.getLong(), b.getInt());
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.endsWith(SUFFIX))
+                    .map(n -> Long.parseLong(n.substring(0, n.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return dir.resolve(String.format("%020d%s", segment, SUFFIX));
+    }
+}
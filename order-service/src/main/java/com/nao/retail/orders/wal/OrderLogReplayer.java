@@ -0,0 +1,192 @@
+package com.nao.retail.orders.wal;
+
+import com.nao.retail.orders.repository.OrderRepository;
+import com.nao.retail.orders.repository.OrderTombstoneRepository;
+import com.nao.retail.orders.service.ChangeFeedWatermark;
+import com.nao.retail.orders.service.OrderBatchInserter;
+import com.nao.retail.orders.service.OrderBatchInserter.NewOrder;
+import com.nao.retail.orders.sharding.ShardTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vuelca el {@link OrderWriteAheadLog} a la base por lotes (una transacción por lote y
+ * shard, JDBC batch) y avanza el checkpoint tras cada lote. Un corte a mitad de lote se
+ * reintenta entero: los ids que ya están en orders o en order_tombstones se saltean, así
+ * que ninguna orden se duplica ni resucita. Una orden que la base rechaza (violación de
+ * restricción) va a dead-letter.jsonl en el directorio del log en vez de trabar el resto;
+ * lo mismo un registro ilegible (CRC inválido o JSON que no se decodifica), que el
+ * checkpoint deja atrás.
+ * Sin lazy-init: al arrancar tiene que volcar lo que quedó de antes.
+ */
+@Component
+@Lazy(false)
+public class OrderLogReplayer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLogReplayer.class);
+
+    private final OrderWriteAheadLog wal;
+    private final WalProperties props;
+    private final OrderRepository repo;
+    private final OrderTombstoneRepository tombstones;
+    private final ShardTemplate shards;
+    private final ChangeFeedWatermark watermark;
+    private final OrderBatchInserter inserter;
+    private final Counter replayed;
+    private final Counter duplicates;
+    private final Counter deadLetters;
+    private final ScheduledExecutorService executor;
+
+    public OrderLogReplayer(OrderWriteAheadLog wal,
+                            WalProperties props,
+                            OrderRepository repo,
+                            OrderTombstoneRepository tombstones,
+                            ShardTemplate shards,
+                            ChangeFeedWatermark watermark,
+                            OrderBatchInserter inserter,
+                            MeterRegistry meterRegistry) {
+        this.wal = wal;
+        this.props = props;
+        this.repo = repo;
+        this.tombstones = tombstones;
+        this.shards = shards;
+        this.watermark = watermark;
+        this.inserter = inserter;
+        this.replayed = meterRegistry.counter("orders.wal.replayed");
+        this.duplicates = meterRegistry.counter("orders.wal.duplicates");
+        this.deadLetters = meterRegistry.counter("orders.wal.dead-letters");
+        if (wal.enabled() && props.getReplayIntervalMs() > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "orders-wal-replay");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleWithFixedDelay(this::scheduledDrain, props.getReplayIntervalMs(),
+                    props.getReplayIntervalMs(), TimeUnit.MILLISECONDS);
+        } else {
+            executor = null;
+        }
+    }
+
+    private void scheduledDrain() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            log.error("WAL: fallo inesperado al volcar", ex);
+        }
+    }
+
+    /** Vuelca todo lo pendiente o hasta el primer error de la base; devuelve las órdenes insertadas. */
+    public synchronized int drain() {
+        if (!wal.enabled()) {
+            return 0;
+        }
+        int inserted = 0;
+        while (true) {
+            List<MappedLog.Entry> entries = wal.pending(props.getReplayBatchSize());
+            if (entries.isEmpty()) {
+                return inserted;
+            }
+            List<NewOrder> orders = new ArrayList<>(entries.size());
+            Map<MappedLog.Entry, String> unreadable = new LinkedHashMap<>();
+            for (MappedLog.Entry entry : entries) {
+                try {
+                    BufferedOrder o = wal.decode(entry);
+                    orders.add(new NewOrder(o.id(), o.request(), o.acceptedAt()));
+                } catch (RuntimeException ex) {
+                    unreadable.put(entry, ex.getMessage());
+                }
+            }
+            try {
+                inserted += replay(orders);
+            } catch (DataIntegrityViolationException ex) {
+                try {
+                    inserted += replayOneByOne(orders);
+                } catch (RuntimeException retry) {
+                    log.warn("WAL: base no disponible, se reintenta ({})", retry.getMessage());
+                    return inserted;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("WAL: base no disponible, se reintenta ({})", ex.getMessage());
+                return inserted;
+            }
+            // recién con el lote aplicado: un reintento no los vuelve a escribir en dead-letter
+            unreadable.forEach(this::deadLetter);
+            wal.replayed(entries.get(entries.size() - 1).next());
+        }
+    }
+
+    private int replay(List<NewOrder> orders) {
+        Map<Integer, List<NewOrder>> byShard = new TreeMap<>();
+        for (NewOrder order : orders) {
+            byShard.computeIfAbsent(shards.enabled() ? shards.shardOf(order.id()) : 0, s -> new ArrayList<>()).add(order);
+        }
+        int inserted = 0;
+        for (Map.Entry<Integer, List<NewOrder>> group : byShard.entrySet()) {
+            inserted += watermark.inTransaction(group.getKey(), () -> insertMissing(group.getValue()));
+        }
+        return inserted;
+    }
+
+    private int insertMissing(List<NewOrder> orders) {
+        List<UUID> ids = orders.stream().map(NewOrder::id).toList();
+        Set<UUID> skip = new HashSet<>(repo.findExistingIds(ids));
+        skip.addAll(tombstones.findDeletedIds(ids));
+        List<NewOrder> missing = orders.stream().filter(o -> !skip.contains(o.id())).toList();
+        if (!missing.isEmpty()) {
+            inserter.insert(missing);
+        }
+        replayed.increment(missing.size());
+        duplicates.increment(orders.size() - missing.size());
+        return missing.size();
+    }
+
+    private int replayOneByOne(List<NewOrder> orders) {
+        int inserted = 0;
+        for (NewOrder order : orders) {
+            try {
+                inserted += replay(List.of(order));
+            } catch (DataIntegrityViolationException ex) {
+                deadLetter(order, ex);
+            }
+        }
+        return inserted;
+    }
+
+    private void deadLetter(NewOrder order, RuntimeException ex) {
+        log.error("WAL: la base rechaza la orden {}, pasa a dead-letter: {}", order.id(), ex.getMessage());
+        deadLetters.increment();
+        wal.deadLetter(new BufferedOrder(order.id(), order.createdAt(), order.request()), ex.getMessage());
+    }
+
+    private void deadLetter(MappedLog.Entry entry, String error) {
+        log.error("WAL: registro ilegible antes de {}, pasa a dead-letter: {}", entry.next(), error);
+        deadLetters.increment();
+        wal.deadLetter(entry, error);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
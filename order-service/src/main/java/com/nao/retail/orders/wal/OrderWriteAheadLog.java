@@ -0,0 +1,142 @@
+package com.nao.retail.orders.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.OrderRequest;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.service.OrderBatchInserter;
+import com.nao.retail.orders.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Modo degradado de altas: si la base no responde, la orden se agrega a un log local
+ * ({@link MappedLog}, fsync en grupo) y se acepta con su id, que ya es el definitivo
+ * (el mismo que asignaría el alta normal, co-ubicado con el cliente). Mientras quede
+ * algo sin volcar, las altas nuevas van directo al log sin esperar el timeout de la
+ * base; {@link OrderLogReplayer} lo vuelca cuando vuelve.
+ */
+@Component
+public class OrderWriteAheadLog implements DisposableBean {
+
+    private final WalProperties props;
+    private final ShardRouter router;
+    private final ObjectMapper mapper;
+    private final MappedLog log;
+    private final Counter accepted;
+
+    public OrderWriteAheadLog(WalProperties props, ShardRouter router, ObjectMapper mapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.router = router;
+        this.mapper = mapper;
+        if (props.isEnabled() && (props.getDir() == null || props.getDir().isBlank())) {
+            // un log en un directorio efímero perdería las órdenes ya aceptadas al reiniciar
+            throw new IllegalStateException("orders.wal.enabled=true requires orders.wal.dir (ORDERS_WAL_DIR)");
+        }
+        this.log = props.isEnabled() ? new MappedLog(Path.of(props.getDir()), props.getSegmentBytes()) : null;
+        this.accepted = meterRegistry.counter("orders.wal.accepted");
+        if (log != null) {
+            Gauge.builder("orders.wal.pending.bytes", log, MappedLog::pendingBytes).baseUnit("bytes").register(meterRegistry);
+        }
+    }
+
+    public boolean enabled() {
+        return log != null;
+    }
+
+    /** Hay órdenes aceptadas sin volcar: las altas siguen por el log. */
+    public boolean degraded() {
+        return log != null && log.hasPending();
+    }
+
+    /**
+     * La base no está disponible (sin conexión o recurso caído): sólo esos errores pasan al
+     * log. Deadlocks, timeouts de lock o de consulta también son transitorios, pero la base
+     * respondió: se reportan al cliente en vez de aceptar la orden por el log.
+     */
+    public static boolean isOutage(RuntimeException ex) {
+        return ex instanceof CannotCreateTransactionException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof TransientDataAccessResourceException;
+    }
+
+    /** Agrega la orden al log y vuelve cuando está en disco; la respuesta es la que tendrá una vez volcada. */
+    public OrderResponse accept(OrderRequest req) {
+        BufferedOrder order = new BufferedOrder(router.newOrderId(req.getCustomerEmail()), OffsetDateTime.now(), req);
+        byte[] payload;
+        try {
+            payload = mapper.writeValueAsBytes(order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.sync(log.append(payload));
+        accepted.increment();
+        return OrderBatchInserter.response(
+                new OrderBatchInserter.NewOrder(order.id(), order.request(), order.acceptedAt()));
+    }
+
+    /** Siguientes órdenes sin volcar y la posición de cada una (para el checkpoint). */
+    List<MappedLog.Entry> pending(int max) {
+        return log.read(log.checkpoint(), max);
+    }
+
+    BufferedOrder decode(MappedLog.Entry entry) {
+        if (entry.corrupt()) {
+            throw new IllegalStateException("WAL record ending at " + entry.next() + " fails its CRC check");
+        }
+        try {
+            return mapper.readValue(entry.payload(), BufferedOrder.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void replayed(MappedLog.Position upTo) {
+        log.checkpoint(upTo);
+    }
+
+    /** Orden que la base rechaza: queda en dead-letter.jsonl (una por línea, con el error) para revisarla a mano. */
+    void deadLetter(BufferedOrder order, String error) {
+        writeDeadLetter(Map.of("order", order, "error", String.valueOf(error)));
+    }
+
+    private void writeDeadLetter(Map<String, Object> record) {
+        try {
+            byte[] line = mapper.writeValueAsBytes(record);
+            Files.write(Path.of(props.getDir(), "dead-letter.jsonl"), List.of(new String(line, StandardCharsets.UTF_8)),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Registro que no se puede leer (CRC inválido o JSON ilegible): va a dead-letter.jsonl en Base64. */
+    void deadLetter(MappedLog.Entry entry, String error) {
+        writeDeadLetter(Map.of("payloadBase64", Base64.getEncoder().encodeToString(entry.payload()),
+                "error", String.valueOf(error)));
+    }
+
+    @Override
+    public void destroy() {
+        if (log != null) {
+            log.close();
+        }
+    }
+}
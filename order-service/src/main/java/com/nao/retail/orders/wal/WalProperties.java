@@ -0,0 +1,31 @@
+package com.nao.retail.orders.wal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Configuración orders.wal.* (altas aceptadas en un log local mientras la base no responde). */
+@Component
+@ConfigurationProperties(prefix = "orders.wal")
+public class WalProperties {
+
+    private boolean enabled = false;
+    private String dir = System.getProperty("java.io.tmpdir") + "/orders-wal";
+    /** Tamaño de cada segmento mapeado. */
+    private int segmentBytes = 64 * 1024 * 1024;
+    /** Pausa entre intentos de volcar el log a la base (0 = sólo a mano, para tests). */
+    private long replayIntervalMs = 1000;
+    /** Órdenes por transacción al volcar. */
+    private int replayBatchSize = 200;
+
+    // getters & setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+    public int getSegmentBytes() { return segmentBytes; }
+    public void setSegmentBytes(int segmentBytes) { this.segmentBytes = segmentBytes; }
+    public long getReplayIntervalMs() { return replayIntervalMs; }
+    public void setReplayIntervalMs(long replayIntervalMs) { this.replayIntervalMs = replayIntervalMs; }
+    public int getReplayBatchSize() { return replayBatchSize; }
+    public void setReplayBatchSize(int replayBatchSize) { this.replayBatchSize = replayBatchSize; }
+}
@@ -0,0 +1,216 @@
+package com.nao.retail.orders.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private static final Pattern ORDER_ID = Pattern.compile("/api/v1/orders/[^/]+");
+
+    /** Rutas declaradas: /api/v1/orders, /api/v1/orders/import y /api/v1/orders/{id}. */
+    private static final HandlerMapping ROUTES = request -> {
+        String uri = request.getRequestURI();
+        String pattern = uri.equals("/api/v1/orders") || uri.equals("/api/v1/orders/import") ? uri
+                : ORDER_ID.matcher(uri).matches() ? "/api/v1/orders/{id}" : null;
+        if (pattern == null) {
+            return null;
+        }
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return new HandlerExecutionChain(new Object());
+    };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdmissionControlFilter filter(double clientBurst, int concurrencyLimit) {
+        return filter(clientBurst, 1000, 1000, concurrencyLimit);
+    }
+
+    private AdmissionControlFilter filter(double clientBurst, double endpointRate, double endpointBurst,
+                                          int concurrencyLimit) {
+        return new AdmissionControlFilter(registry, ROUTES, true, 0.001, clientBurst, endpointRate, endpointBurst,
+                concurrencyLimit, 1, concurrencyLimit, 2.0, 0.9);
+    }
+
+    private MockHttpServletResponse call(AdmissionControlFilter filter, String method, String uri, String client)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(AdmissionControlFilter.CLIENT_HEADER, client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @DisplayName("Las escrituras que superan el burst del cliente reciben 429 con Retry-After")
+    @Test
+    void givenClientOverBurst_whenWrite_thenTooManyRequests() throws Exception {
+        // given
+        AdmissionControlFilter filter = filter(2, 10);
+        call(filter, "POST", "/api/v1/orders", "a");
+        call(filter, "POST", "/api/v1/orders", "a");
+
+        // when
+        MockHttpServletResponse limited = call(filter, "POST", "/api/v1/orders", "a");
+
+        // then
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isNotNull();
+        assertThat(registry.counter("orders.admission.rejected", "reason", "client-rate").count()).isEqualTo(1);
+    }
+
+    @DisplayName("Con un cliente limitado, otros clientes, lecturas, ping y actuator siguen pasando")
+    @Test
+    void givenLimitedClient_whenOtherTraffic_thenNotLimited() throws Exception {
+        // given
+        AdmissionControlFilter filter = filter(1, 10);
+        call(filter, "POST", "/api/v1/orders", "a");
+
+        // when / then - otro cliente tiene su propio bucket
+        assertThat(call(filter, "POST", "/api/v1/orders", "b").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "GET", "/api/v1/orders", "a").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "POST", "/api/v1/orders:batchGet", "a").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "GET", "/ping", "a").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "POST", "/actuator/health", "a").getStatus()).isEqualTo(200);
+    }
+
+    @DisplayName("Un cliente por encima de su límite no consume el bucket del endpoint")
+    @Test
+    void givenClientOverBurst_whenRejected_thenEndpointTokensKeptForOthers() throws Exception {
+        // given - el endpoint admite 3 escrituras y el cliente a sólo 1
+        AdmissionControlFilter filter = filter(1, 0.001, 3, 10);
+        call(filter, "POST", "/api/v1/orders", "a");
+
+        // when
+        call(filter, "POST", "/api/v1/orders", "a");
+        call(filter, "POST", "/api/v1/orders", "a");
+
+        // then
+        assertThat(call(filter, "POST", "/api/v1/orders", "b").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "POST", "/api/v1/orders", "c").getStatus()).isEqualTo(200);
+        assertThat(registry.counter("orders.admission.rejected", "reason", "client-rate").count()).isEqualTo(2);
+        assertThat(registry.counter("orders.admission.rejected", "reason", "endpoint-rate").count()).isZero();
+    }
+
+    @DisplayName("Un token devuelto (endpoint sin cupo) vuelve a estar disponible para el cliente")
+    @Test
+    void givenAcquiredToken_whenRefund_thenAvailableAgain() throws Exception {
+        // given
+        TokenBucket bucket = new TokenBucket(1, 0.001);
+        assertThat(bucket.tryAcquire()).isTrue();
+
+        // when
+        bucket.refund();
+
+        // then
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @DisplayName("El bucket del endpoint es por patrón de ruta: ids distintos comparten el mismo")
+    @Test
+    void givenDifferentIds_whenWrite_thenSameEndpointBucket() throws Exception {
+        // given
+        AdmissionControlFilter filter = filter(10, 0.001, 2, 10);
+        call(filter, "PUT", "/api/v1/orders/" + UUID.randomUUID(), "a");
+        call(filter, "PUT", "/api/v1/orders/order-2", "b");
+
+        // when
+        MockHttpServletResponse limited = call(filter, "PUT", "/api/v1/orders/" + UUID.randomUUID(), "c");
+
+        // then
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getContentAsString()).contains("PUT /api/v1/orders/{id}");
+        assertThat(call(filter, "POST", "/api/v1/orders", "c").getStatus()).isEqualTo(200);
+    }
+
+    @DisplayName("Rutas sin handler no crean buckets ni consumen los del cliente")
+    @Test
+    void givenUnmappedPaths_whenWrite_thenPassedThroughWithoutBuckets() throws Exception {
+        // given
+        AdmissionControlFilter filter = filter(1, 0.001, 1, 10);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            assertThat(call(filter, "POST", "/random/" + i, "a").getStatus()).isEqualTo(200);
+        }
+
+        // then
+        assertThat(call(filter, "POST", "/api/v1/orders", "a").getStatus()).isEqualTo(200);
+        assertThat(registry.find("orders.admission.rejected").counters()).isEmpty();
+    }
+
+    @DisplayName("Una importación lenta no cuenta como latencia degradada para el límite adaptativo")
+    @Test
+    void givenSlowImport_whenReleased_thenConcurrencyLimitNotReduced() throws Exception {
+        // given - una escritura rápida fija la latencia de referencia
+        AdmissionControlFilter filter = filter(10, 10);
+        call(filter, "POST", "/api/v1/orders", "a");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders/import");
+        MockFilterChain slow = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), slow);
+
+        // then
+        assertThat(registry.get("orders.admission.concurrency.limit").gauge().value()).isEqualTo(10);
+        assertThat(registry.get("orders.admission.concurrency.in-flight").gauge().value()).isZero();
+    }
+
+    @DisplayName("El token bucket se recarga con el tiempo")
+    @Test
+    void givenEmptyBucket_whenTimePasses_thenTokenAvailable() throws Exception {
+        // given
+        TokenBucket bucket = new TokenBucket(1, 10);
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        // then
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @DisplayName("El límite de concurrencia descarta por encima del límite y lo reduce si la latencia se degrada")
+    @Test
+    void givenLimitReached_whenLatencyDegrades_thenShedsAndBacksOff() {
+        // given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, 2.0, 0.5);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+
+        // when
+        limit.release(TimeUnit.MILLISECONDS.toNanos(1));   // referencia de latencia
+        limit.release(TimeUnit.MILLISECONDS.toNanos(50));  // degradación => backoff
+
+        // then
+        assertThat(limit.getLimit()).isEqualTo(2);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package com.nao.retail.orders.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.admission.endpoint.burst=1", "orders.admission.endpoint.rate-per-second=0.001",
+        "orders.admission.client.burst=2"})
+@AutoConfigureMockMvc
+class AdmissionControlIntegrationTest {
+
+    private static final String ORDER = """
+            {"customerName":"Ana","customerEmail":"ana@example.com","totalAmount":10.00,
+             "items":[{"sku":"SKU-1","name":"Item","quantity":1,"unitPrice":10.00}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Los buckets de endpoint van por patrón del handler; rutas sin handler no gastan tokens")
+    @Test
+    void givenDeclaredAndUnknownRoutes_whenWrite_thenBucketPerHandlerPattern() throws Exception {
+        // given - el único token de PUT /api/v1/orders/{id} lo gasta un id cualquiera
+        mockMvc.perform(put("/api/v1/orders/{id}", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isNotFound());
+
+        // when / then
+        mockMvc.perform(put("/api/v1/orders/{id}", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.error", is("Rate limit exceeded for PUT /api/v1/orders/{id}")));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/unknown/{i}", i))
+                    .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotEqualTo(429));
+        }
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isCreated());
+    }
+}
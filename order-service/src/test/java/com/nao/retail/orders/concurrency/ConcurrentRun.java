@@ -0,0 +1,57 @@
+package com.nao.retail.orders.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Arranca N hilos a la vez (todos esperan la misma señal) y junta los errores. Si no
+ * terminan dentro del plazo se toma como bloqueo (deadlock o pool agotado) y el test
+ * falla con el volcado de los hilos trabados.
+ */
+final class ConcurrentRun {
+
+    @FunctionalInterface
+    interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private ConcurrentRun() {
+    }
+
+    static List<Throwable> run(int threads, Duration deadline, Worker worker) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> new Thread(r, "hammer"));
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    worker.run(thread);
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        if (!pool.awaitTermination(deadline.toMillis(), TimeUnit.MILLISECONDS)) {
+            StringBuilder dump = new StringBuilder();
+            Thread.getAllStackTraces().forEach((thread, stack) -> {
+                if (thread.getName().equals("hammer")) {
+                    dump.append(thread.getState()).append(' ').append(stack.length > 0 ? stack[0] : "").append('\n');
+                }
+            });
+            pool.shutdownNow();
+            fail("Workers still running after " + deadline + " (deadlock or pool exhaustion):\n" + dump);
+        }
+        return List.copyOf(errors);
+    }
+}
@@ -0,0 +1,101 @@
+package com.nao.retail.orders.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Los endpoints de órdenes con muchos más hilos que conexiones en el pool: todos los
+ * requests tienen que esperar su turno y terminar bien, y al final no puede quedar
+ * ninguna conexión tomada (fuga) ni hilos esperando una.
+ */
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail",
+        "orders.admission.enabled=false", "orders.lifecycle.enabled=false"})
+@AutoConfigureMockMvc
+class OrderControllerConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("Muchos más hilos que conexiones: ningún error ni timeout del pool y ninguna conexión queda tomada")
+    @Test
+    void givenMoreThreadsThanConnections_whenHammered_thenNoFailuresAndPoolDrained() throws Exception {
+        // given
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertThat(THREADS).isGreaterThan(hikari.getMaximumPoolSize() * 4);
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+        // when
+        List<Throwable> errors = ConcurrentRun.run(THREADS, Duration.ofSeconds(60), thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            UUID id = create(statuses);
+            for (int i = 1; i < REQUESTS_PER_THREAD; i++) {
+                MvcResult result = switch (random.nextInt(4)) {
+                    case 0 -> mockMvc.perform(get("/api/v1/orders/{id}", id)).andReturn();
+                    case 1 -> mockMvc.perform(get("/api/v1/orders").param("size", "5")).andReturn();
+                    case 2 -> mockMvc.perform(patch("/api/v1/orders/{id}/status", id)
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"PAID\"}")).andReturn();
+                    default -> null;
+                };
+                if (result == null) {
+                    id = create(statuses);
+                } else {
+                    count(statuses, result.getResponse().getStatus());
+                }
+            }
+        });
+
+        // then
+        assertThat(errors).isEmpty();
+        assertThat(statuses.keySet()).as("status codes %s", statuses).allMatch(s -> s < 300);
+        assertThat(statuses.values().stream().mapToInt(AtomicInteger::get).sum()).isEqualTo(THREADS * REQUESTS_PER_THREAD);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        assertThat(pool.getActiveConnections()).isZero();
+        assertThat(pool.getThreadsAwaitingConnection()).isZero();
+    }
+
+    private UUID create(Map<Integer, AtomicInteger> statuses) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"customerName":"Load Customer","customerEmail":"load@customer.com","totalAmount":10,
+                         "items":[{"sku":"SKU-1","name":"Mouse","quantity":1,"unitPrice":10}]}
+                        """))
+                .andReturn();
+        count(statuses, result.getResponse().getStatus());
+        return UUID.fromString((String) objectMapper.readValue(result.getResponse().getContentAsString(), Map.class).get("id"));
+    }
+
+    private static void count(Map<Integer, AtomicInteger> statuses, int status) {
+        statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+    }
+}
@@ -0,0 +1,146 @@
+package com.nao.retail.orders.concurrency;
+
+import com.nao.retail.orders.dto.BulkOrderRequest;
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderRequest;
+import com.nao.retail.orders.dto.OrderSummaryResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.service.OrderService;
+import com.nao.retail.orders.service.OrderSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderService desde muchos hilos contra H2 embebida. El resumen por estado (order_summary)
+ * se mantiene con deltas calculados a partir del estado leído: si dos transacciones
+ * cambian la misma orden y una pisa a la otra, el resumen deja de cuadrar con orders.
+ */
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail",
+        "orders.admission.enabled=false", "orders.lifecycle.enabled=false"})
+@AutoConfigureMockMvc
+class OrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final Duration DEADLINE = Duration.ofSeconds(60);
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired
+    private OrderService service;
+
+    @Autowired
+    private OrderSummaryService summary;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private List<UUID> hot;
+
+    @BeforeEach
+    void setup() {
+        hot = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            hot.add(service.create(request("10.00")).getId());
+        }
+        // otros tests escriben orders sin pasar por el servicio: se parte de un resumen exacto
+        summary.rebuild();
+    }
+
+    @DisplayName("Cambios concurrentes sobre las mismas órdenes: el resumen por estado cuadra con orders")
+    @Test
+    void givenConcurrentWritesOnHotOrders_whenDone_thenSummaryMatchesOrders() throws Exception {
+        // when
+        List<Throwable> errors = ConcurrentRun.run(THREADS, DEADLINE, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 50; i++) {
+                UUID id = hot.get(random.nextInt(hot.size()));
+                switch (random.nextInt(3)) {
+                    case 0 -> service.updateStatus(id, STATUSES[random.nextInt(STATUSES.length)]);
+                    case 1 -> service.update(id, request(random.nextInt(1, 100) + ".00"));
+                    default -> service.create(request("5.00"));
+                }
+            }
+        });
+
+        // then
+        assertThat(errors).isEmpty();
+        assertSummaryMatchesOrders();
+    }
+
+    @DisplayName("Cambios masivos sobre conjuntos solapados en distinto orden: sin deadlocks y el resumen cuadra")
+    @Test
+    void givenOverlappingBulkUpdatesInRandomOrder_whenDone_thenNoDeadlockAndSummaryMatches() throws Exception {
+        // when
+        List<Throwable> errors = ConcurrentRun.run(THREADS, DEADLINE, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20; i++) {
+                List<UUID> ids = new ArrayList<>(hot);
+                Collections.shuffle(ids, random);
+                BulkOrderRequest sel = new BulkOrderRequest();
+                sel.setIds(ids.subList(0, 2 + random.nextInt(ids.size() - 2)));
+                OrderStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                if (random.nextBoolean()) {
+                    service.updateStatusAll(sel, status);
+                } else {
+                    // el mismo conjunto, orden por orden y en el orden inverso
+                    List<UUID> reversed = new ArrayList<>(sel.getIds());
+                    Collections.reverse(reversed);
+                    for (UUID id : reversed) {
+                        service.updateStatus(id, status);
+                    }
+                }
+            }
+        });
+
+        // then
+        assertThat(errors).isEmpty();
+        assertSummaryMatchesOrders();
+    }
+
+    private void assertSummaryMatchesOrders() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, BigDecimal> amounts = new EnumMap<>(OrderStatus.class);
+        jdbc.query("SELECT status, COUNT(*), SUM(total_amount) FROM orders GROUP BY status", rs -> {
+            OrderStatus status = OrderStatus.valueOf(rs.getString(1));
+            counts.put(status, rs.getLong(2));
+            amounts.put(status, rs.getBigDecimal(3));
+        });
+        OrderSummaryResponse totals = summary.summary(null, null);
+        for (OrderSummaryResponse.StatusTotal total : totals.getByStatus()) {
+            assertThat(total.getCount()).as("count %s", total.getStatus())
+                    .isEqualTo(counts.getOrDefault(total.getStatus(), 0L));
+            assertThat(total.getTotalAmount()).as("amount %s", total.getStatus())
+                    .isEqualByComparingTo(amounts.getOrDefault(total.getStatus(), BigDecimal.ZERO));
+        }
+    }
+
+    private static OrderRequest request(String amount) {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setSku("SKU-1");
+        item.setName("Mouse");
+        item.setQuantity(1);
+        item.setUnitPrice(new BigDecimal(amount));
+        OrderRequest req = new OrderRequest();
+        req.setCustomerName("Hammer Customer");
+        req.setCustomerEmail("hammer@customer.com");
+        req.setTotalAmount(new BigDecimal(amount));
+        req.setItems(List.of(item));
+        return req;
+    }
+}
@@ -0,0 +1,129 @@
+package com.nao.retail.orders.concurrency;
+
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderRequest;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Curva de escalado de OrderService (alta + lectura + cambio de estado) contra H2 embebida,
+ * de 1 a N hilos (N = scaling.max-threads, por defecto max(4, cores)). El resultado queda en
+ * target/concurrency/scaling.csv para comparar entre corridas de CI en la misma máquina; el
+ * test falla si con más hilos el throughput cae por debajo de scaling.min-ratio (0.5 por
+ * defecto) del de un hilo, que es lo que produce una contención nueva (locks, pool, resumen).
+ * Tag "perf": sólo corre con mvn -Pperf test.
+ */
+@Tag("perf")
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail",
+        "orders.admission.enabled=false", "orders.lifecycle.enabled=false"})
+@AutoConfigureMockMvc
+class ThroughputScalingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThroughputScalingTest.class);
+
+    private static final Duration WARMUP = Duration.ofMillis(1000);
+    private static final Duration MEASURE = Duration.ofMillis(1500);
+    private static final Path CSV = Path.of("target", "concurrency", "scaling.csv");
+
+    @Autowired
+    private OrderService service;
+
+    @DisplayName("El throughput de 1 a N hilos queda registrado y no colapsa con la contención")
+    @Test
+    void givenIncreasingThreads_whenMeasured_thenScalingCurveRecorded() throws Exception {
+        // given
+        int maxThreads = Integer.getInteger("scaling.max-threads", Math.max(4, Runtime.getRuntime().availableProcessors()));
+        double minRatio = Double.parseDouble(System.getProperty("scaling.min-ratio", "0.5"));
+        List<Integer> levels = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2) {
+            levels.add(t);
+        }
+        levels.add(maxThreads);
+
+        // when
+        List<String> rows = new ArrayList<>(List.of("threads,operations,seconds,ops_per_second,speedup,efficiency"));
+        double single = 0;
+        double worstRatio = Double.MAX_VALUE;
+        for (int threads : levels) {
+            measure(threads, WARMUP);
+            long ops = measure(threads, MEASURE);
+            double seconds = MEASURE.toMillis() / 1000.0;
+            double throughput = ops / seconds;
+            if (threads == 1) {
+                single = throughput;
+            }
+            double speedup = throughput / single;
+            worstRatio = Math.min(worstRatio, speedup);
+            rows.add(String.format(Locale.ROOT, "%d,%d,%.3f,%.1f,%.2f,%.2f",
+                    threads, ops, seconds, throughput, speedup, speedup / threads));
+        }
+        Files.createDirectories(CSV.getParent());
+        Files.write(CSV, rows);
+        rows.forEach(log::info);
+
+        // then
+        assertThat(single).isPositive();
+        assertThat(worstRatio).as("throughput vs 1 thread (see %s)", CSV).isGreaterThanOrEqualTo(minRatio);
+    }
+
+    /** Operaciones completas (alta + get + cambio de estado) de todos los hilos durante el período. */
+    private long measure(int threads, Duration period) throws Exception {
+        LongAdder ops = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread timer = new Thread(() -> {
+            try {
+                Thread.sleep(period.toMillis());
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            running.set(false);
+        });
+        timer.start();
+        List<Throwable> errors = ConcurrentRun.run(threads, period.plusSeconds(30), thread -> {
+            while (running.get()) {
+                UUID id = service.create(request()).getId();
+                service.get(id);
+                service.updateStatus(id, OrderStatus.PAID);
+                ops.increment();
+            }
+        });
+        timer.join();
+        assertThat(errors).isEmpty();
+        return ops.sum();
+    }
+
+    private static OrderRequest request() {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setSku("SKU-1");
+        item.setName("Mouse");
+        item.setQuantity(1);
+        item.setUnitPrice(BigDecimal.TEN);
+        OrderRequest req = new OrderRequest();
+        req.setCustomerName("Scaling Customer");
+        req.setCustomerEmail("scaling@customer.com");
+        req.setTotalAmount(BigDecimal.TEN);
+        req.setItems(List.of(item));
+        return req;
+    }
+}
@@ -0,0 +1,80 @@
+package com.nao.retail.orders.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HikariPoolSizerTest {
+
+    private static HikariPoolSizer sizer(MockEnvironment env, int dbMaxConnections, int reserved, int instances) {
+        return new HikariPoolSizer(env, true, 1, dbMaxConnections, reserved, instances);
+    }
+
+    @DisplayName("Con base holgada el pool es cores * 2 + spindles")
+    @Test
+    void givenRoomInDatabase_whenPoolSize_thenBoundByCores() {
+        // given
+        HikariPoolSizer sizer = sizer(new MockEnvironment(), 100, 10, 1);
+
+        // when / then
+        assertThat(sizer.poolSize(4)).isEqualTo(9);
+    }
+
+    @DisplayName("Con varias instancias el pool se reparte las conexiones que admite la base")
+    @Test
+    void givenManyInstances_whenPoolSize_thenBoundByDatabaseShare() {
+        // given
+        HikariPoolSizer sizer = sizer(new MockEnvironment(), 100, 10, 4);
+
+        // when / then - (100 - 10) / 4
+        assertThat(sizer.poolSize(32)).isEqualTo(22);
+    }
+
+    @DisplayName("Sin conexiones disponibles en la base el pool no baja de 2")
+    @Test
+    void givenExhaustedDatabase_whenPoolSize_thenAtLeastTwo() {
+        // given
+        HikariPoolSizer sizer = sizer(new MockEnvironment(), 5, 10, 3);
+
+        // when / then
+        assertThat(sizer.poolSize(1)).isEqualTo(2);
+    }
+
+    @DisplayName("Sin maximum-pool-size el pool queda fijo en el tamaño calculado")
+    @Test
+    void givenNoExplicitSize_whenPostProcessed_thenFixedSizePool() {
+        // given
+        HikariPoolSizer sizer = sizer(new MockEnvironment(), 100, 10, 1);
+        int expected = sizer.poolSize(Runtime.getRuntime().availableProcessors());
+
+        // when
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            sizer.postProcessBeforeInitialization(hikari, "dataSource");
+
+            // then
+            assertThat(hikari.getMaximumPoolSize()).isEqualTo(expected);
+            assertThat(hikari.getMinimumIdle()).isEqualTo(expected);
+        }
+    }
+
+    @DisplayName("Un maximum-pool-size explícito no se toca")
+    @Test
+    void givenExplicitSize_whenPostProcessed_thenPoolUnchanged() {
+        // given
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7");
+        HikariPoolSizer sizer = sizer(env, 100, 10, 1);
+
+        // when
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(7);
+            sizer.postProcessBeforeInitialization(hikari, "dataSource");
+
+            // then
+            assertThat(hikari.getMaximumPoolSize()).isEqualTo(7);
+        }
+    }
+}
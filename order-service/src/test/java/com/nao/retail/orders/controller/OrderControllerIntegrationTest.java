@@ -0,0 +1,490 @@
+package com.nao.retail.orders.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.ChangesResponse;
+import com.nao.retail.orders.dto.OrderChange;
+import com.nao.retail.orders.entity.OrderEntity;
+import com.nao.retail.orders.entity.OrderItem;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.repository.OrderRepository;
+import com.nao.retail.orders.repository.OrderTombstoneRepository;
+import com.nao.retail.orders.service.ChangeFeedWatermark;
+import com.nao.retail.orders.service.OrderChangeFeed;
+import com.nao.retail.orders.service.OrderService;
+import com.nao.retail.orders.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail"})
+@AutoConfigureMockMvc
+class OrderControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeFeedWatermark watermark;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @DisplayName("DELETE /api/v1/orders borra por ids, ítems incluidos")
+    @Test
+    void givenIds_whenBulkDelete_thenOrdersAndItemsRemoved() throws Exception {
+        // given
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        OrderEntity b = orderRepository.save(order(OrderStatus.NEW));
+        OrderEntity keep = orderRepository.save(order(OrderStatus.NEW));
+
+        // when / then
+        mockMvc.perform(delete("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(a.getId(), b.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(2)))
+                .andExpect(jsonPath("$.affected", is(2)));
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getId).containsExactly(keep.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Integer.class)).isEqualTo(1);
+    }
+
+    @DisplayName("PATCH /api/v1/orders/status cambia el estado por filtro")
+    @Test
+    void givenStatusFilter_whenBulkStatus_thenOnlyMatchingUpdated() throws Exception {
+        // given
+        orderRepository.save(order(OrderStatus.NEW));
+        orderRepository.save(order(OrderStatus.NEW));
+        OrderEntity paid = orderRepository.save(order(OrderStatus.PAID));
+
+        // when / then
+        mockMvc.perform(patch("/api/v1/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromStatus\":\"NEW\",\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)));
+
+        assertThat(orderRepository.findByStatus(OrderStatus.CANCELLED, Pageable.unpaged())
+                .getTotalElements()).isEqualTo(2);
+        assertThat(orderRepository.findById(paid.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.PAID);
+    }
+
+    @DisplayName("DELETE /api/v1/orders sin ids ni filtros responde 400")
+    @Test
+    void givenEmptySelection_whenBulkDelete_thenBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("DELETE /api/v1/orders con ids y filtros a la vez responde 400 sin borrar nada")
+    @Test
+    void givenIdsAndFilter_whenBulkDelete_thenBadRequest() throws Exception {
+        // given
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        orderRepository.save(order(OrderStatus.NEW));
+
+        // when / then
+        mockMvc.perform(delete("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(a.getId()), "status", "NEW"))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("PATCH /api/v1/orders/status con más ids que orders.bulk.max-ids responde 400")
+    @Test
+    void givenTooManyIds_whenBulkStatus_thenBadRequest() throws Exception {
+        // given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i <= 10_000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        // when / then
+        mockMvc.perform(patch("/api/v1/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", ids, "status", "CANCELLED"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("POST /api/v1/orders:batchGet resuelve varios ids e informa los inexistentes")
+    @Test
+    void givenIds_whenBatchGet_thenFoundAndNotFound() throws Exception {
+        // given
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        OrderEntity b = orderRepository.save(order(OrderStatus.PAID));
+        UUID missing = UUID.randomUUID();
+
+        // when / then
+        mockMvc.perform(post("/api/v1/orders:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(b.getId(), missing, a.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders.length()", is(2)))
+                .andExpect(jsonPath("$.orders[0].id", is(b.getId().toString())))
+                .andExpect(jsonPath("$.orders[1].items.length()", is(1)))
+                .andExpect(jsonPath("$.notFound[0]", is(missing.toString())));
+    }
+
+    @DisplayName("GET /api/v1/orders/{id} pasa por el agrupador y refleja cambios de estado")
+    @Test
+    void givenCachedOrder_whenStatusChanges_thenGetReturnsFreshValue() throws Exception {
+        // given
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        mockMvc.perform(get("/api/v1/orders/{id}", a.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("NEW")));
+
+        // when
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", a.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/{id}", a.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PAID")));
+        mockMvc.perform(get("/api/v1/orders/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("Sin orders.cache.enabled el GET por id ve lo que escribió otra réplica")
+    @Test
+    void givenCacheDisabledByDefault_whenRowChangedElsewhere_thenGetReturnsFreshValue() throws Exception {
+        // given
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        mockMvc.perform(get("/api/v1/orders/{id}", a.getId()))
+                .andExpect(jsonPath("$.status", is("NEW")));
+
+        // when - otra instancia cambia la fila sin pasar por esta réplica
+        jdbcTemplate.update("UPDATE orders SET status = 'SHIPPED' WHERE id = ?", a.getId());
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/{id}", a.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("SHIPPED")));
+    }
+
+    @DisplayName("GET /api/v1/orders/changes devuelve altas, cambios y borrados posteriores al token")
+    @Test
+    void givenToken_whenChanges_thenIncrementalUpsertsAndDeletes() throws Exception {
+        // given
+        long since = changesToken(0);
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        OrderEntity b = orderRepository.save(order(OrderStatus.NEW));
+
+        // when / then: primera página acotada a un cambio
+        mockMvc.perform(get("/api/v1/orders/changes").param("since", String.valueOf(since)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(1)))
+                .andExpect(jsonPath("$.changes[0].id", is(a.getId().toString())))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+        long afterCreates = changesToken(since);
+
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", a.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/orders/{id}", b.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/orders/changes").param("since", String.valueOf(afterCreates)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(2)))
+                .andExpect(jsonPath("$.changes[0].type", is("UPSERT")))
+                .andExpect(jsonPath("$.changes[0].order.status", is("PAID")))
+                .andExpect(jsonPath("$.changes[1].type", is("DELETE")))
+                .andExpect(jsonPath("$.changes[1].id", is(b.getId().toString())))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @DisplayName("Los cambios masivos también avanzan el feed (una orden borrada sólo aparece como DELETE)")
+    @Test
+    void givenBulkOperations_whenChanges_thenEveryRowReported() throws Exception {
+        // given
+        OrderEntity a = orderRepository.save(order(OrderStatus.NEW));
+        OrderEntity b = orderRepository.save(order(OrderStatus.NEW));
+        long since = changesToken(0);
+
+        // when
+        mockMvc.perform(patch("/api/v1/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(a.getId(), b.getId()), "status", "SHIPPED"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(a.getId())))))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(2)))
+                .andExpect(jsonPath("$.changes[0].id", is(b.getId().toString())))
+                .andExpect(jsonPath("$.changes[0].order.status", is("SHIPPED")))
+                .andExpect(jsonPath("$.changes[1].type", is("DELETE")))
+                .andExpect(jsonPath("$.changes[1].id", is(a.getId().toString())));
+    }
+
+    @DisplayName("Un escritor largo sin confirmar frena el feed: su cambio no se saltea aunque haya commits posteriores")
+    @Test
+    void givenSlowWriterTransaction_whenChanges_thenTokenWaitsForItsCommit() throws Exception {
+        // given - una transacción larga cambia una orden y queda abierta
+        OrderEntity slow = orderRepository.save(order(OrderStatus.NEW));
+        long since = changesToken(0);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> writer = CompletableFuture.supplyAsync(() -> watermark.inTransaction(0, () -> {
+            int n = orderService.updateStatusLocked(List.of(slow.getId()), OrderStatus.SHIPPED);
+            written.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return n;
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        UUID later = create("20.00");
+
+        // when - el consumidor lee mientras la transacción sigue abierta: el token no avanza
+        mockMvc.perform(get("/api/v1/orders/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(0)))
+                .andExpect(jsonPath("$.nextToken", is((int) since)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+        release.countDown();
+        assertThat(writer.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(2)))
+                .andExpect(jsonPath("$.changes[0].id", is(slow.getId().toString())))
+                .andExpect(jsonPath("$.changes[0].order.status", is("SHIPPED")))
+                .andExpect(jsonPath("$.changes[1].id", is(later.toString())));
+    }
+
+    @DisplayName("Un escritor largo que confirma entre las consultas del feed y la marca de agua no se saltea")
+    @Test
+    void givenWriterCommitsDuringChangeQueries_whenChanges_thenLaterCommitNotDeliveredBeforeIt() throws Exception {
+        // given - una transacción larga registrada y una corta posterior ya confirmada
+        OrderEntity slow = orderRepository.save(order(OrderStatus.NEW));
+        long since = changesToken(0);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> writer = CompletableFuture.supplyAsync(() -> watermark.inTransaction(0, () -> {
+            int n = orderService.updateStatusLocked(List.of(slow.getId()), OrderStatus.SHIPPED);
+            written.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return n;
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        UUID later = create("20.00");
+        // el escritor confirma y se da de baja entre la consulta de órdenes y la de tombstones
+        OrderTombstoneRepository interleaved = (OrderTombstoneRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {OrderTombstoneRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByChangeSeqGreaterThanOrderByChangeSeqAsc") && release.getCount() > 0) {
+                        release.countDown();
+                        writer.get(10, TimeUnit.SECONDS);
+                    }
+                    return method.invoke(tombstoneRepository, args);
+                });
+        OrderChangeFeed feed = new OrderChangeFeed(orderRepository, interleaved, watermark, shardingProperties, 1000, 0);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        ChangesResponse first = readOnly.execute(tx -> feed.changesSince(since, 100));
+        ChangesResponse second = readOnly.execute(tx -> feed.changesSince(since, 100));
+
+        // then - la orden corta no se entrega antes que el cambio del escritor
+        assertThat(writer.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(first.getChanges()).extracting(OrderChange::getId).doesNotContain(later);
+        assertThat(second.getChanges()).extracting(OrderChange::getId).containsExactly(slow.getId(), later);
+    }
+
+    @DisplayName("GET /api/v1/orders/summary refleja altas, cambios de estado y monto, y borrados")
+    @Test
+    void givenWritesThroughApi_whenSummary_thenCountsAndAmountsMaintained() throws Exception {
+        // given
+        jdbcTemplate.update("DELETE FROM order_summary");
+        UUID a = create("10.00");
+        UUID b = create("20.00");
+        UUID c = create("30.00");
+
+        // when
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", a)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/orders/{id}", b)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson("25.00")))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/orders/{id}", c))
+                .andExpect(status().isNoContent());
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalOrders", is(2)))
+                .andExpect(jsonPath("$.totalAmount", is(35.0)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'NEW')].count", contains(1)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'NEW')].totalAmount", contains(25.0)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'PAID')].count", contains(1)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'CANCELLED')].count", contains(0)))
+                .andExpect(jsonPath("$.byHour.length()", is(2)));
+    }
+
+    @DisplayName("POST /api/v1/admin/summary/rebuild recalcula el resumen desde orders")
+    @Test
+    void givenRowsWrittenOutsideService_whenRebuild_thenSummaryMatchesOrders() throws Exception {
+        // given
+        orderRepository.save(order(OrderStatus.NEW));
+        orderRepository.save(order(OrderStatus.SHIPPED));
+        orderRepository.save(order(OrderStatus.SHIPPED));
+
+        // when
+        mockMvc.perform(post("/api/v1/admin/summary/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", is(3)));
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/summary"))
+                .andExpect(jsonPath("$.totalOrders", is(3)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'SHIPPED')].count", contains(2)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'SHIPPED')].totalAmount", contains(20.0)));
+    }
+
+    @DisplayName("POST /api/v1/orders corta en el primer ítem inválido (400) y en el máximo de ítems (413)")
+    @Test
+    void givenInvalidOrOversizedItems_whenCreate_thenRejectedBeforeInsert() throws Exception {
+        // given
+        String invalidItem = """
+                {"customerName":"Test Customer","customerEmail":"test@customer.com","totalAmount":10,
+                 "items":[{"sku":"SKU-1","name":"Mouse","quantity":1,"unitPrice":5},
+                          {"sku":"SKU-2","name":"Pad","quantity":0,"unitPrice":5}]}
+                """;
+        StringBuilder tooMany = new StringBuilder(
+                "{\"customerName\":\"Test Customer\",\"customerEmail\":\"test@customer.com\",\"totalAmount\":1,\"items\":[");
+        for (int i = 0; i <= 1000; i++) {
+            tooMany.append(i == 0 ? "" : ",").append("{\"sku\":\"S\",\"name\":\"N\",\"quantity\":1,\"unitPrice\":1}");
+        }
+        tooMany.append("]}");
+
+        // when / then
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(invalidItem))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['items[1].quantity']").exists());
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(tooMany.toString()))
+                .andExpect(status().isPayloadTooLarge());
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    private UUID create(String amount) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson(amount)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString((String) objectMapper.readValue(body, Map.class).get("id"));
+    }
+
+    private static String orderJson(String amount) {
+        return """
+                {"customerName":"Test Customer","customerEmail":"test@customer.com","totalAmount":%s,
+                 "items":[{"sku":"SKU-1","name":"Mouse","quantity":1,"unitPrice":%s}]}
+                """.formatted(amount, amount);
+    }
+
+    /** Recorre el feed desde since hasta el final y devuelve el último token. */
+    private long changesToken(long since) throws Exception {
+        while (true) {
+            String body = mockMvc.perform(get("/api/v1/orders/changes").param("since", String.valueOf(since)))
+                    .andReturn().getResponse().getContentAsString();
+            Map<?, ?> page = objectMapper.readValue(body, Map.class);
+            since = ((Number) page.get("nextToken")).longValue();
+            if (!Boolean.TRUE.equals(page.get("hasMore"))) {
+                return since;
+            }
+        }
+    }
+
+    private static OrderEntity order(OrderStatus status) {
+        OrderItem item = new OrderItem();
+        item.setSku("SKU-1");
+        item.setName("Mouse");
+        item.setQuantity(1);
+        item.setUnitPrice(new BigDecimal("10.00"));
+
+        OrderEntity e = new OrderEntity();
+        e.setCustomerName("Test Customer");
+        e.setCustomerEmail("test@customer.com");
+        e.setItems(new ArrayList<>(List.of(item)));
+        e.setTotalAmount(new BigDecimal("10.00"));
+        e.setStatus(status);
+        return e;
+    }
+}
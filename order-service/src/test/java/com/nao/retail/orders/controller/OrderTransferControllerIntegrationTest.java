@@ -0,0 +1,172 @@
+package com.nao.retail.orders.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.transfer.export-parts=4", "orders.transfer.max-import-bytes=65536",
+        "orders.query-budget.mode=fail"})
+@AutoConfigureMockMvc
+class OrderTransferControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @DisplayName("POST /api/v1/orders/import (NDJSON) inserta las válidas e informa las inválidas por línea")
+    @Test
+    void givenNdjson_whenImport_thenValidInsertedAndInvalidReported() throws Exception {
+        // given
+        String body = ndjsonOrder("Ana", "ana@example.com") + "\n"
+                + ndjsonOrder("Bob", "not-an-email") + "\n"
+                + "{broken\n"
+                + ndjsonOrder("Carla", "carla@example.com") + "\n";
+
+        // when / then
+        mockMvc.perform(post("/api/v1/orders/import").param("format", "ndjson").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read", is(4)))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors[0]", startsWith("line 2: customerEmail")))
+                .andExpect(jsonPath("$.errors[1]", startsWith("line 3: invalid JSON")));
+
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE change_seq IS NULL", Integer.class))
+                .isZero();
+    }
+
+    @DisplayName("POST /api/v1/orders/import con un body mayor que max-import-bytes responde 413 sin importar nada")
+    @Test
+    void givenBodyOverLimit_whenImport_thenPayloadTooLarge() throws Exception {
+        // given
+        StringBuilder body = new StringBuilder();
+        while (body.length() <= 65536) {
+            body.append(ndjsonOrder("Ana", "ana@example.com")).append('\n');
+        }
+
+        // when / then
+        mockMvc.perform(post("/api/v1/orders/import").param("format", "ndjson").content(body.toString()))
+                .andExpect(status().isPayloadTooLarge());
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @DisplayName("POST /api/v1/orders/import (CSV) agrupa filas consecutivas por order_ref")
+    @Test
+    void givenCsv_whenImport_thenRowsGroupedIntoOrders() throws Exception {
+        // given
+        String body = "order_ref,customer_name,customer_email,total_amount,sku,item_name,quantity,unit_price\n"
+                + "A1,\"Doe, Jane\",jane@example.com,30.00,SKU-1,Mouse,1,10.00\n"
+                + "A1,\"Doe, Jane\",jane@example.com,30.00,SKU-2,\"Pad \"\"XL\"\"\",2,10.00\n"
+                + "A2,John,john@example.com,5.00,SKU-3,Cable,1,5.00\n";
+
+        // when / then
+        mockMvc.perform(post("/api/v1/orders/import").param("format", "csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT customer_name FROM orders WHERE customer_email = 'jane@example.com'", String.class))
+                .isEqualTo("Doe, Jane");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM order_items WHERE sku = 'SKU-2'", String.class))
+                .isEqualTo("Pad \"XL\"");
+    }
+
+    @DisplayName("POST /api/v1/orders/export reparte todas las órdenes en archivos gzip sin duplicados y el CSV se reimporta")
+    @Test
+    void givenOrders_whenExport_thenEveryOrderExportedOnceAndCsvReimports() throws Exception {
+        // given
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            body.append(ndjsonOrder("Customer " + i, "c" + i + "@example.com")).append('\n');
+        }
+        mockMvc.perform(post("/api/v1/orders/import").content(body.toString()))
+                .andExpect(jsonPath("$.imported", is(60)));
+
+        // when
+        JsonNode ndjson = export("ndjson");
+        JsonNode csv = export("csv");
+
+        // then
+        assertThat(ndjson.get("exported").asInt()).isEqualTo(60);
+        assertThat(ndjson.get("files").size()).isEqualTo(4);
+        Set<String> ids = new HashSet<>();
+        for (JsonNode file : ndjson.get("files")) {
+            for (String line : gunzipLines(Path.of(ndjson.get("directory").asText(), file.get("name").asText()))) {
+                assertThat(ids.add(objectMapper.readTree(line).get("id").asText())).isTrue();
+            }
+        }
+        assertThat(ids).hasSize(60);
+
+        orderRepository.deleteAll();
+        for (JsonNode file : csv.get("files")) {
+            String content = String.join("\n",
+                    gunzipLines(Path.of(csv.get("directory").asText(), file.get("name").asText())));
+            mockMvc.perform(post("/api/v1/orders/import").param("format", "csv").content(content))
+                    .andExpect(jsonPath("$.rejected", is(0)));
+        }
+        assertThat(orderRepository.count()).isEqualTo(60);
+    }
+
+    private JsonNode export(String format) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/orders/export").param("format", format))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static List<String> gunzipLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    private static String ndjsonOrder(String name, String email) {
+        return "{\"customerName\":\"" + name + "\",\"customerEmail\":\"" + email + "\","
+                + "\"items\":[{\"sku\":\"SKU-1\",\"name\":\"Mouse\",\"quantity\":1,\"unitPrice\":10.00}],"
+                + "\"totalAmount\":10.00}";
+    }
+}
@@ -0,0 +1,45 @@
+package com.nao.retail.orders.controller;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail"})
+@AutoConfigureMockMvc
+class PoolDiagnosticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("GET /api/v1/admin/pool devuelve el estado del pool y la latencia de adquisición")
+    @Test
+    void givenRepositoryTraffic_whenGetPoolStats_thenReturnsPoolSnapshot() throws Exception {
+        // given - al menos una conexión tomada por los repositorios
+        mockMvc.perform(get("/api/v1/orders")).andExpect(status().isOk());
+        int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+
+        // when / then
+        mockMvc.perform(get("/api/v1/admin/pool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].poolName", is("orders")))
+                .andExpect(jsonPath("$[0].maximumPoolSize", is(maximumPoolSize)))
+                .andExpect(jsonPath("$[0].waiting", is(0)))
+                .andExpect(jsonPath("$[0].acquireCount", greaterThanOrEqualTo(1)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.nao.retail.orders.lifecycle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.main.lazy-initialization=true",
+        "orders.lifecycle.enabled=true",
+        "orders.lifecycle.initial-delay-ms=3600000"})
+class LifecycleSchedulingTest {
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTasks;
+
+    @DisplayName("Con lazy-init (como en prod) el barrido igual queda programado al arrancar")
+    @Test
+    void givenLazyInitialization_whenContextStarts_thenSweeperIsScheduled() {
+        // when
+        List<String> tasks = scheduledTasks.getScheduledTasks().stream()
+                .map(task -> task.getTask().toString())
+                .toList();
+
+        // then
+        assertThat(tasks).contains(LifecycleSweeper.class.getName() + ".scheduledRun");
+    }
+}
@@ -0,0 +1,140 @@
+package com.nao.retail.orders.lifecycle;
+
+import com.nao.retail.orders.entity.OrderEntity;
+import com.nao.retail.orders.entity.OrderItem;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail"})
+@AutoConfigureMockMvc
+class LifecycleSweeperIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LifecycleSweeper sweeper;
+
+    @Autowired
+    private LifecycleProperties props;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int batchSize;
+    private int maxRowsPerSecond;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM scheduler_lease");
+        jdbcTemplate.update("DELETE FROM lifecycle_checkpoint");
+        batchSize = props.getBatchSize();
+        maxRowsPerSecond = props.getMaxRowsPerSecond();
+        props.setBatchSize(2);
+        props.setMaxRowsPerSecond(0);
+    }
+
+    @AfterEach
+    void restore() {
+        props.setBatchSize(batchSize);
+        props.setMaxRowsPerSecond(maxRowsPerSecond);
+        jdbcTemplate.update("DELETE FROM scheduler_lease");
+    }
+
+    @DisplayName("El barrido cancela NEW viejas y archiva SHIPPED viejas en lotes, dejando el resto igual")
+    @Test
+    void givenStaleAndRecentOrders_whenRun_thenOnlyStaleOnesTransitioned() throws Exception {
+        // given
+        OffsetDateTime old = OffsetDateTime.now().minusDays(40);
+        List<OrderEntity> staleNew = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            staleNew.add(orderRepository.save(order(OrderStatus.NEW, old)));
+        }
+        OrderEntity recentNew = orderRepository.save(order(OrderStatus.NEW, OffsetDateTime.now()));
+        OrderEntity stalePaid = orderRepository.save(order(OrderStatus.PAID, old));
+        OrderEntity staleShipped = orderRepository.save(order(OrderStatus.SHIPPED, old));
+        OrderEntity recentShipped = orderRepository.save(order(OrderStatus.SHIPPED, OffsetDateTime.now()));
+
+        // when
+        mockMvc.perform(post("/api/v1/admin/lifecycle/run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expire-new", is(5)))
+                .andExpect(jsonPath("$.archive-shipped", is(1)));
+
+        // then
+        staleNew.forEach(o -> assertThat(statusOf(o)).isEqualTo(OrderStatus.CANCELLED));
+        assertThat(statusOf(recentNew)).isEqualTo(OrderStatus.NEW);
+        assertThat(statusOf(stalePaid)).isEqualTo(OrderStatus.PAID);
+        assertThat(statusOf(staleShipped)).isEqualTo(OrderStatus.ARCHIVED);
+        assertThat(statusOf(recentShipped)).isEqualTo(OrderStatus.SHIPPED);
+        Map<String, Object> checkpoint = jdbcTemplate.queryForMap(
+                "SELECT cursor_id, processed, last_completed_at FROM lifecycle_checkpoint WHERE sweep = 'expire-new'");
+        assertThat(checkpoint.get("CURSOR_ID")).isNull();
+        assertThat(((Number) checkpoint.get("PROCESSED")).longValue()).isEqualTo(5);
+        assertThat(checkpoint.get("LAST_COMPLETED_AT")).isNotNull();
+    }
+
+    @DisplayName("Con el lease tomado por otra réplica no se barre nada hasta que vence")
+    @Test
+    void givenLeaseHeldByOtherReplica_whenRun_thenSkippedUntilExpired() {
+        // given
+        OrderEntity stale = orderRepository.save(order(OrderStatus.NEW, OffsetDateTime.now().minusDays(3)));
+        jdbcTemplate.update("INSERT INTO scheduler_lease (name, owner, expires_at) VALUES (?, ?, ?)",
+                LifecycleSweeper.LEASE, "other-replica", OffsetDateTime.now().plusMinutes(5));
+
+        // when / then
+        assertThat(sweeper.runOnce()).isEmpty();
+        assertThat(statusOf(stale)).isEqualTo(OrderStatus.NEW);
+
+        jdbcTemplate.update("UPDATE scheduler_lease SET expires_at = ?", OffsetDateTime.now().minusSeconds(1));
+        assertThat(sweeper.runOnce()).containsEntry("expire-new", 1L);
+        assertThat(statusOf(stale)).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    private OrderStatus statusOf(OrderEntity e) {
+        return orderRepository.findById(e.getId()).orElseThrow().getStatus();
+    }
+
+    private static OrderEntity order(OrderStatus status, OffsetDateTime at) {
+        OrderItem item = new OrderItem();
+        item.setSku("SKU-1");
+        item.setName("Mouse");
+        item.setQuantity(1);
+        item.setUnitPrice(new BigDecimal("10.00"));
+
+        OrderEntity e = new OrderEntity();
+        e.setCustomerName("Test Customer");
+        e.setCustomerEmail("test@customer.com");
+        e.setItems(new ArrayList<>(List.of(item)));
+        e.setTotalAmount(new BigDecimal("10.00"));
+        e.setStatus(status);
+        e.setCreatedAt(at);
+        e.setUpdatedAt(at);
+        return e;
+    }
+}
@@ -0,0 +1,166 @@
+package com.nao.retail.orders.parser;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.OrderRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingOrderRequestParserTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingOrderRequestParserTest.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private StreamingOrderRequestParser parser(int maxItems, long maxBodyBytes) {
+        return new StreamingOrderRequestParser(mapper, validator, maxItems, maxBodyBytes);
+    }
+
+    private static OrderRequest parse(StreamingOrderRequestParser parser, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(new ByteArrayInputStream(body), body.length);
+    }
+
+    private static String order(int items) {
+        StringBuilder json = new StringBuilder("""
+                {"customerName":"Ana","customerEmail":"ana@example.com","totalAmount":"12.50","extra":{"a":[1]},"items":[""");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"sku\":\"SKU-").append(i).append("\",\"name\":\"Item ").append(i)
+                    .append("\",\"quantity\":").append(1 + i % 5).append(",\"unitPrice\":").append(i).append(".99}");
+        }
+        return json.append("]}").toString();
+    }
+
+    @DisplayName("Un payload válido queda igual que con el binding de Jackson")
+    @Test
+    void givenValidPayload_whenParsed_thenSameAsJacksonBinding() throws Exception {
+        // given
+        String json = order(3);
+
+        // when
+        OrderRequest streamed = parse(parser(10, 0), json);
+        OrderRequest bound = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(json, OrderRequest.class);
+
+        // then
+        assertThat(streamed).usingRecursiveComparison().isEqualTo(bound);
+        assertThat(streamed.getTotalAmount()).isEqualByComparingTo(new BigDecimal("12.50"));
+    }
+
+    @DisplayName("La primera violación corta la lectura: el resto del body ni se parsea")
+    @Test
+    void givenInvalidItem_whenParsed_thenFailsBeforeReadingTheRest() {
+        // given: el ítem 2 tiene quantity 0 y después el JSON está roto
+        String json = """
+                {"customerName":"Ana","customerEmail":"ana@example.com","totalAmount":1,"items":[
+                 {"sku":"A","name":"a","quantity":1,"unitPrice":1},
+                 {"sku":"B","name":"b","quantity":1,"unitPrice":1},
+                 {"sku":"C","name":"c","quantity":0,"unitPrice":1},
+                 {this is not json""";
+
+        // when / then
+        assertThatThrownBy(() -> parse(parser(10, 0), json))
+                .isInstanceOf(OrderRequestViolationException.class)
+                .extracting("field").isEqualTo("items[2].quantity");
+    }
+
+    @DisplayName("Campos ausentes y @Email se validan con los mismos mensajes que @Valid")
+    @Test
+    void givenMissingOrInvalidFields_whenParsed_thenViolationMatchesBeanValidation() {
+        // given
+        String noName = """
+                {"customerEmail":"ana@example.com","totalAmount":1,"items":[]}""";
+        String badEmail = """
+                {"customerName":"Ana","customerEmail":"not-an-email","totalAmount":1,"items":[]}""";
+        OrderRequest sample = new OrderRequest();
+        sample.setCustomerEmail("not-an-email");
+        Set<ConstraintViolation<OrderRequest>> expected = validator.validateProperty(sample, "customerEmail");
+
+        // when / then
+        assertThatThrownBy(() -> parse(parser(10, 0), noName))
+                .isInstanceOf(OrderRequestViolationException.class)
+                .extracting("field").isEqualTo("customerName");
+        assertThatThrownBy(() -> parse(parser(10, 0), badEmail))
+                .isInstanceOf(OrderRequestViolationException.class)
+                .extracting("violation").isEqualTo(expected.iterator().next().getMessage());
+    }
+
+    @DisplayName("Los límites de ítems y de tamaño se aplican sin leer el body completo")
+    @Test
+    void givenOversizedPayloads_whenParsed_thenPayloadTooLarge() {
+        // given
+        String json = order(50);
+        InputStream unread = new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("no debería leer el body");
+            }
+        };
+
+        // when / then
+        assertThatThrownBy(() -> parse(parser(20, 0), json))
+                .isInstanceOf(PayloadTooLargeException.class).hasMessageContaining("20 items");
+        assertThatThrownBy(() -> parser(0, 100).parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), -1))
+                .isInstanceOf(PayloadTooLargeException.class);
+        assertThatThrownBy(() -> parser(0, 100).parse(unread, 10_000))
+                .isInstanceOf(PayloadTooLargeException.class);
+    }
+
+    @DisplayName("Benchmark: parser streaming vs. binding de Jackson + @Valid en cascada (sólo con -Pperf)")
+    @Tag("perf")
+    @Test
+    void benchmarkAgainstBindingPlusValidation() throws Exception {
+        StreamingOrderRequestParser parser = parser(0, 0);
+        ObjectMapper binding = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        for (int items : new int[] { 10, 100, 500 }) {
+            byte[] body = order(items).getBytes(StandardCharsets.UTF_8);
+            double bound = timeMicros(() -> {
+                OrderRequest req = binding.readValue(body, OrderRequest.class);
+                assertThat(validator.validate(req)).isEmpty();
+                return req;
+            });
+            double streamed = timeMicros(() -> parser.parse(new ByteArrayInputStream(body), body.length));
+            log.info("{} ítems: bind+@Valid {} us, streaming {} us", items, Math.round(bound), Math.round(streamed));
+        }
+    }
+
+    private interface Parse {
+        OrderRequest run() throws Exception;
+    }
+
+    private static double timeMicros(Parse parse) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < 300; i++) {
+            sink += parse.run().getItems().size();
+        }
+        int iterations = 500;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += parse.run().getItems().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return elapsed / 1_000.0 / iterations;
+    }
+}
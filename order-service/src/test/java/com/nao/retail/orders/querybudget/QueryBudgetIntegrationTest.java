@@ -0,0 +1,132 @@
+package com.nao.retail.orders.querybudget;
+
+import com.nao.retail.orders.entity.OrderEntity;
+import com.nao.retail.orders.entity.OrderItem;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail"})
+@AutoConfigureMockMvc
+class QueryBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private QueryBudgetProperties props;
+
+    private long slowThreshold;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        slowThreshold = props.getSlowThresholdMs();
+        props.setSlowThresholdMs(0);
+    }
+
+    @AfterEach
+    void restore() {
+        props.setSlowThresholdMs(slowThreshold);
+        props.getBudgets().remove("GET /api/v1/orders/changes");
+    }
+
+    @DisplayName("GET /api/v1/orders carga los ítems de toda la página en lote y queda dentro del presupuesto")
+    @Test
+    void givenSeveralOrders_whenList_thenWithinBudgetAndReported() throws Exception {
+        // given
+        for (int i = 0; i < 8; i++) {
+            orderRepository.save(order(3));
+        }
+
+        // when
+        mockMvc.perform(get("/api/v1/orders").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[4].items.length()", is(3)));
+
+        // then
+        mockMvc.perform(get("/api/v1/admin/queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'GET /api/v1/orders')].maxStatements",
+                        hasItem(lessThanOrEqualTo(3))))
+                .andExpect(jsonPath("$.slowest[*].parameters", hasItem("(UUID x5, null x95)")));
+    }
+
+    @DisplayName("POST /api/v1/orders inserta los ítems en un batch JDBC")
+    @Test
+    void givenManyItems_whenCreate_thenItemsBatched() throws Exception {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            items.append(i > 0 ? "," : "").append("{\"sku\":\"SKU-").append(i)
+                    .append("\",\"name\":\"Item\",\"quantity\":1,\"unitPrice\":1.00}");
+        }
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Ana\",\"customerEmail\":\"ana@example.com\",\"items\":["
+                                + items + "],\"totalAmount\":20.00}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/admin/queries"))
+                .andExpect(jsonPath("$.slowest[?(@.sql =~ /insert into order_items.*/)].batchSize", hasItem(20)));
+    }
+
+    @DisplayName("Superar el presupuesto en modo fail corta el request en la sentencia de más y responde 500")
+    @Test
+    void givenTightBudget_whenRequestExceedsIt_thenFailsBeforeWritingResponse() throws Exception {
+        // given
+        orderRepository.save(order(1));
+        props.getBudgets().put("GET /api/v1/orders/changes", 1);
+
+        // when / then - el error reemplaza la página: la respuesta aún no se había escrito
+        mockMvc.perform(get("/api/v1/orders/changes"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error", containsString("GET /api/v1/orders/changes ran 2 SQL statements")))
+                .andExpect(jsonPath("$.error", containsString("(budget 1)")))
+                .andExpect(jsonPath("$.changes").doesNotExist());
+        assertThat(props.budgetFor("GET /api/v1/orders")).isEqualTo(3);
+    }
+
+    private static OrderEntity order(int itemCount) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setSku("SKU-" + i);
+            item.setName("Mouse");
+            item.setQuantity(1);
+            item.setUnitPrice(new BigDecimal("10.00"));
+            items.add(item);
+        }
+        OrderEntity e = new OrderEntity();
+        e.setCustomerName("Test Customer");
+        e.setCustomerEmail("test@customer.com");
+        e.setItems(items);
+        e.setTotalAmount(new BigDecimal("10.00"));
+        e.setStatus(OrderStatus.NEW);
+        return e;
+    }
+}
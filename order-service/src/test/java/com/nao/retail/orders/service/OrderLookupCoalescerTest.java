@@ -0,0 +1,81 @@
+package com.nao.retail.orders.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class OrderLookupCoalescerTest {
+
+    private final OrderService service = mock(OrderService.class);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseLoader() {
+        release.countDown();
+    }
+
+    /** Lote de 2: el primer GET espera la ventana y el segundo, que lo completa, consulta. */
+    private CompletableFuture<Object> leaderWaitingOnSecondCaller(OrderLookupCoalescer coalescer) throws Exception {
+        doAnswer(inv -> {
+            entered.countDown();
+            return null;
+        }).when(service).getCached(any());
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> coalescer.get(UUID.randomUUID()));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        // el primero ya abrió el lote y duerme la ventana
+        TimeUnit.MILLISECONDS.sleep(100);
+        CompletableFuture.runAsync(() -> coalescer.get(UUID.randomUUID()));
+        return leader;
+    }
+
+    @DisplayName("Si la consulta del lote falla con un Error, los demás GET del lote fallan en vez de quedar esperando")
+    @Test
+    void givenLoaderThrowsError_whenBatchCompletes_thenEveryCallerFails() throws Exception {
+        // given
+        OrderLookupCoalescer coalescer = new OrderLookupCoalescer(service, 2_000, 2, 60_000);
+        doThrow(new StackOverflowError("boom")).when(service).getAll(any());
+
+        // when
+        CompletableFuture<Object> leader = leaderWaitingOnSecondCaller(coalescer);
+
+        // then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(StackOverflowError.class);
+    }
+
+    @DisplayName("Un GET no espera más de timeout-ms a que termine la consulta de su lote")
+    @Test
+    void givenLoaderStuck_whenWaiting_thenCallerTimesOut() throws Exception {
+        // given
+        OrderLookupCoalescer coalescer = new OrderLookupCoalescer(service, 2_000, 2, 300);
+        doAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Map.of();
+        }).when(service).getAll(any());
+
+        // when
+        CompletableFuture<Object> leader = leaderWaitingOnSecondCaller(coalescer);
+
+        // then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+    }
+}
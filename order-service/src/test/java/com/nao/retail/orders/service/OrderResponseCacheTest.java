@@ -0,0 +1,98 @@
+package com.nao.retail.orders.service;
+
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderResponseCacheTest {
+
+    private final OrderResponseCache cache = new OrderResponseCache(new ConcurrentMapCache("orders"));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("Una lectura anterior a un update confirmado no vuelve a la caché")
+    @Test
+    void givenReadBeforeUpdate_whenPutAfterEvictCommits_thenStaleValueIsNotCached() {
+        // given - el lector toma el sello y lee PAID; su put queda para su commit
+        UUID id = UUID.randomUUID();
+        long stamp = cache.stamp(id);
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(id, order(id, OrderStatus.PAID), stamp);
+        List<TransactionSynchronization> reader = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // when - el update (SHIPPED) confirma su evict antes que el commit del lector
+        cache.evict(id);
+        reader.forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        assertThat(cache.get(id)).isNull();
+    }
+
+    @DisplayName("Sin invalidaciones en el medio la lectura se cachea")
+    @Test
+    void givenNoConcurrentEvict_whenPut_thenValueIsCached() {
+        // given
+        UUID id = UUID.randomUUID();
+        long stamp = cache.stamp(id);
+
+        // when
+        cache.put(id, order(id, OrderStatus.PAID), stamp);
+
+        // then
+        assertThat(cache.get(id).getStatus()).isEqualTo(OrderStatus.PAID);
+    }
+
+    @DisplayName("Las respuestas cacheadas son copias: modificarlas no cambia lo que ven otros requests")
+    @Test
+    void givenCachedOrder_whenCallerMutatesIt_thenCacheKeepsOriginal() {
+        // given
+        UUID id = UUID.randomUUID();
+        OrderResponse original = order(id, OrderStatus.NEW);
+        cache.put(id, original, cache.stamp(id));
+
+        // when
+        original.setStatus(OrderStatus.CANCELLED);
+        OrderResponse first = cache.get(id);
+        first.setStatus(OrderStatus.SHIPPED);
+        first.getItems().get(0).setQuantity(99);
+
+        // then
+        OrderResponse second = cache.get(id);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(second.getItems().get(0).getQuantity()).isEqualTo(1);
+    }
+
+    private static OrderResponse order(UUID id, OrderStatus status) {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setSku("SKU-1");
+        item.setName("Ítem 1");
+        item.setQuantity(1);
+        item.setUnitPrice(new BigDecimal("9.99"));
+        OrderResponse o = new OrderResponse();
+        o.setId(id);
+        o.setCustomerName("Cliente");
+        o.setItems(List.of(item));
+        o.setTotalAmount(new BigDecimal("9.99"));
+        o.setStatus(status);
+        return o;
+    }
+}
@@ -0,0 +1,265 @@
+package com.nao.retail.orders.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.config.ShardingConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "orders.query-budget.mode=fail")
+@AutoConfigureMockMvc
+@ActiveProfiles("sharded")
+class ShardingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardingConfig.ShardPools pools;
+
+    @Autowired
+    private ShardRouter router;
+
+    @BeforeEach
+    void setup() {
+        for (HikariDataSource shard : pools.get()) {
+            JdbcTemplate jdbc = new JdbcTemplate(shard);
+            jdbc.update("DELETE FROM order_items");
+            jdbc.update("DELETE FROM orders");
+            jdbc.update("DELETE FROM order_tombstones");
+            jdbc.update("DELETE FROM order_summary");
+        }
+    }
+
+    @DisplayName("El alta guarda la orden en el shard de su id, que coincide con el del cliente")
+    @Test
+    void givenOrdersOfSeveralCustomers_whenCreate_thenEachRowLivesInItsShard() throws Exception {
+        // given / when
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(create("customer" + (i % 6) + "@example.com"));
+        }
+
+        // then
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            int shard = router.shardOf(id);
+            used.add(shard);
+            assertThat(shard).isEqualTo(router.shardOfCustomer("customer" + (i % 6) + "@example.com"));
+            for (int s = 0; s < pools.get().size(); s++) {
+                Integer rows = new JdbcTemplate(pools.get().get(s))
+                        .queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, id);
+                assertThat(rows).as("shard %d", s).isEqualTo(s == shard ? 1 : 0);
+            }
+            mockMvc.perform(get("/api/v1/orders/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id", is(id.toString())));
+        }
+        assertThat(used).hasSizeGreaterThan(1);
+        mockMvc.perform(get("/api/v1/orders").param("customerEmail", "customer3@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(2)));
+    }
+
+    @DisplayName("El listado mezcla los shards ordenado por createdAt desc y pagina sobre el total")
+    @Test
+    void givenOrdersInSeveralShards_whenListPage_thenMergeSorted() throws Exception {
+        // given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(create("merge" + i + "@example.com"));
+            Thread.sleep(2);
+        }
+
+        // when
+        String body = mockMvc.perform(get("/api/v1/orders").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(12)))
+                .andReturn().getResponse().getContentAsString();
+
+        // then: la página 1 (más recientes primero) son las altas 6..2
+        List<String> page = new ArrayList<>();
+        objectMapper.readTree(body).get("content").forEach(o -> page.add(o.get("id").asText()));
+        assertThat(page).containsExactly(ids.get(6).toString(), ids.get(5).toString(), ids.get(4).toString(),
+                ids.get(3).toString(), ids.get(2).toString());
+    }
+
+    @DisplayName("Con createdAt repetido la mezcla desempata por id en el orden de la base (sin signo)")
+    @Test
+    void givenOrdersWithSameCreatedAt_whenListPages_thenMergedByUnsignedId() throws Exception {
+        // given - 16 altas con el mismo createdAt en todos los shards
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            ids.add(create("tie" + i + "@example.com"));
+        }
+        OffsetDateTime createdAt = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        for (HikariDataSource shard : pools.get()) {
+            new JdbcTemplate(shard).update("UPDATE orders SET created_at = ?", createdAt);
+        }
+
+        // when - páginas contiguas de 5
+        List<String> listed = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            String body = mockMvc.perform(get("/api/v1/orders").param("page", String.valueOf(page)).param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            objectMapper.readTree(body).get("content").forEach(o -> listed.add(o.get("id").asText()));
+        }
+
+        // then - ni repetidas ni salteadas, en el mismo orden que ORDER BY id
+        ids.sort(MergedPage.UUID_ORDER);
+        assertThat(listed).containsExactlyElementsOf(ids.stream().map(UUID::toString).toList());
+    }
+
+    @DisplayName("Las operaciones masivas, el batchGet y el resumen recorren todos los shards; el feed de cambios se rechaza")
+    @Test
+    void givenOrdersInSeveralShards_whenBulkStatusAndBatchGet_thenAllShardsAffected() throws Exception {
+        // given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            ids.add(create("bulk" + i + "@example.com"));
+        }
+
+        // when
+        mockMvc.perform(patch("/api/v1/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromStatus\":\"NEW\",\"status\":\"PAID\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(9)))
+                .andExpect(jsonPath("$.affected", is(9)));
+
+        // then
+        String idsJson = objectMapper.writeValueAsString(ids);
+        JsonNode found = objectMapper.readTree(mockMvc.perform(post("/api/v1/orders:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":" + idsJson + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(found.get("orders")).hasSize(9);
+        found.get("orders").forEach(o -> assertThat(o.get("status").asText()).isEqualTo("PAID"));
+        mockMvc.perform(get("/api/v1/orders/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalOrders", is(9)))
+                .andExpect(jsonPath("$.byStatus[?(@.status == 'PAID')].count", contains(9)));
+        mockMvc.perform(get("/api/v1/orders/changes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("Las consultas de cada shard en los hilos de scatter-gather cuentan para el request")
+    @Test
+    void givenScatterGatherList_whenQueryDiagnostics_thenShardStatementsCounted() throws Exception {
+        // given
+        for (int i = 0; i < 6; i++) {
+            create("scatter" + i + "@example.com");
+        }
+
+        // when
+        mockMvc.perform(get("/api/v1/orders")).andExpect(status().isOk());
+
+        // then - página + count por cada shard, como mínimo
+        String body = mockMvc.perform(get("/api/v1/admin/queries"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode list = null;
+        for (JsonNode endpoint : objectMapper.readTree(body).get("endpoints")) {
+            if (endpoint.get("endpoint").asText().equals("GET /api/v1/orders")) {
+                list = endpoint;
+            }
+        }
+        assertThat(list).isNotNull();
+        assertThat(list.get("maxStatements").asLong()).isGreaterThanOrEqualTo(2L * pools.get().size());
+    }
+
+    @DisplayName("GET /api/v1/admin/pool informa el pool de cada shard")
+    @Test
+    void givenShardPools_whenGetPoolStats_thenOneEntryPerShard() throws Exception {
+        // given
+        for (int i = 0; i < 6; i++) {
+            create("pool" + i + "@example.com");
+        }
+
+        // when / then
+        mockMvc.perform(get("/api/v1/admin/pool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(pools.get().size())))
+                .andExpect(jsonPath("$[*].poolName", contains("orders-shard-0", "orders-shard-1", "orders-shard-2")));
+    }
+
+    @DisplayName("Con sharding un PUT que cambia customerEmail se rechaza y la orden queda en su shard")
+    @Test
+    void givenShardedOrder_whenPutChangesCustomerEmail_thenBadRequestAndRowUnchanged() throws Exception {
+        // given - un cliente de otro shard
+        UUID id = create("owner@example.com");
+        int shard = router.shardOf(id);
+        String other = "other@example.com";
+        for (int i = 0; router.shardOfCustomer(other) == shard; i++) {
+            other = "other" + i + "@example.com";
+        }
+
+        // when
+        mockMvc.perform(put("/api/v1/orders/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson("Ana", other)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/v1/orders/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson("Ana María", "Owner@Example.com")))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(new JdbcTemplate(pools.get().get(shard))
+                .queryForObject("SELECT customer_email FROM orders WHERE id = ?", String.class, id))
+                .isEqualTo("Owner@Example.com");
+        mockMvc.perform(get("/api/v1/orders").param("customerEmail", "Owner@Example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.content[0].customerName", is("Ana María")));
+    }
+
+    private UUID create(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson("Ana", email)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(body).get("id").asText());
+    }
+
+    private static String orderJson(String name, String email) {
+        return """
+                {"customerName":"%s","customerEmail":"%s","totalAmount":10.00,
+                 "items":[{"sku":"SKU-1","name":"Item","quantity":1,"unitPrice":10.00}]}
+                """.formatted(name, email);
+    }
+}
@@ -0,0 +1,243 @@
+package com.nao.retail.orders.store;
+
+import com.nao.retail.orders.dto.OrderItemDTO;
+import com.nao.retail.orders.dto.OrderResponse;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.sharding.MergedPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapOrderStoreTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.ofHours(-3));
+
+    private static OrderResponse order(int i, OrderStatus status) {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setSku("SKU-" + i);
+        item.setName("Ítem " + i);
+        item.setQuantity(1 + i % 3);
+        item.setUnitPrice(new BigDecimal("9.99"));
+        OrderResponse o = new OrderResponse();
+        o.setId(UUID.randomUUID());
+        o.setCustomerName("Cliente " + i);
+        o.setCustomerEmail(i % 7 == 0 ? null : "c" + i + "@example.com");
+        o.setItems(List.of(item));
+        o.setTotalAmount(BigDecimal.valueOf(1000 + i, 2));
+        o.setStatus(status);
+        // createdAt repetidos cada 10 órdenes: desempata el id
+        o.setCreatedAt(BASE.plusSeconds(i / 10).plusNanos(123_456));
+        o.setUpdatedAt(BASE.plusSeconds(i));
+        return o;
+    }
+
+    private static OffHeapOrderStore loaded(int chunkBytes) {
+        OffHeapOrderStore store = new OffHeapOrderStore(chunkBytes, 16);
+        store.beginLoad();
+        store.finishLoad();
+        return store;
+    }
+
+    @DisplayName("Más órdenes que la capacidad inicial: todas se leen igual y los borrados no rompen el índice")
+    @Test
+    void givenManyOrders_whenPutAndRemoved_thenRemainingOnesAreIntact() {
+        // given
+        OffHeapOrderStore store = loaded(4096);
+        List<OrderResponse> orders = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            orders.add(order(i, OrderStatus.values()[i % 3]));
+        }
+        orders.forEach(store::put);
+
+        // when
+        for (int i = 0; i < orders.size(); i += 2) {
+            store.remove(orders.get(i).getId());
+        }
+
+        // then
+        assertThat(store.size()).isEqualTo(2_500);
+        for (int i = 0; i < orders.size(); i++) {
+            OrderResponse stored = store.get(orders.get(i).getId());
+            if (i % 2 == 0) {
+                assertThat(stored).isNull();
+            } else {
+                assertThat(stored).usingRecursiveComparison().isEqualTo(orders.get(i));
+            }
+        }
+    }
+
+    @DisplayName("Listado por estado: createdAt desc e id asc, páginas contiguas y total del estado")
+    @Test
+    void givenOrdersInSeveralStatuses_whenListed_thenPagedInListOrder() {
+        // given
+        OffHeapOrderStore store = loaded(64 * 1024);
+        List<OrderResponse> paid = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            OrderResponse o = order(i, i % 2 == 0 ? OrderStatus.PAID : OrderStatus.NEW);
+            store.put(o);
+            if (o.getStatus() == OrderStatus.PAID) {
+                paid.add(o);
+            }
+        }
+        paid.sort(Comparator.comparing(OrderResponse::getCreatedAt).reversed()
+                .thenComparing(OrderResponse::getId, MergedPage.UUID_ORDER));
+
+        // when
+        Page<OrderResponse> first = store.list(OrderStatus.PAID, PageRequest.of(0, 20));
+        Page<OrderResponse> third = store.list(OrderStatus.PAID, PageRequest.of(2, 20));
+        Page<OrderResponse> all = store.list(null, PageRequest.of(0, 5));
+
+        // then
+        assertThat(first.getTotalElements()).isEqualTo(150);
+        assertThat(first.getContent()).extracting(OrderResponse::getId)
+                .containsExactlyElementsOf(paid.subList(0, 20).stream().map(OrderResponse::getId).toList());
+        assertThat(third.getContent()).extracting(OrderResponse::getId)
+                .containsExactlyElementsOf(paid.subList(40, 60).stream().map(OrderResponse::getId).toList());
+        assertThat(all.getTotalElements()).isEqualTo(300);
+        assertThat(all.getContent()).allMatch(o -> o.getCreatedAt().isEqual(BASE.plusSeconds(29).plusNanos(123_456)));
+    }
+
+    @DisplayName("Cambio de estado: la orden pasa de una lista de estado a otra")
+    @Test
+    void givenOrder_whenStatusUpdated_thenMovesBetweenStatusIndexes() {
+        // given
+        OffHeapOrderStore store = loaded(4096);
+        OrderResponse o = order(1, OrderStatus.NEW);
+        store.put(o);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        // when
+        store.updateStatus(o.getId(), OrderStatus.SHIPPED, now);
+
+        // then
+        assertThat(store.list(OrderStatus.NEW, PageRequest.of(0, 10)).getTotalElements()).isZero();
+        assertThat(store.list(OrderStatus.SHIPPED, PageRequest.of(0, 10)).getContent())
+                .singleElement().satisfies(s -> {
+                    assertThat(s.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+                    assertThat(s.getUpdatedAt()).isEqualTo(now);
+                    assertThat(s.getCustomerName()).isEqualTo(o.getCustomerName());
+                });
+    }
+
+    @DisplayName("Reescrituras repetidas compactan el arena: la memoria directa no crece sin límite")
+    @Test
+    void givenRepeatedRewrites_whenCompacted_thenOffHeapBytesStayBounded() {
+        // given
+        OffHeapOrderStore store = loaded(4096);
+        List<OrderResponse> orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            orders.add(order(i, OrderStatus.NEW));
+        }
+
+        // when
+        for (int round = 0; round < 2_000; round++) {
+            OrderResponse o = orders.get(round % orders.size());
+            o.setStatus(OrderStatus.values()[round % 3]);
+            store.put(o);
+        }
+
+        // then
+        assertThat(store.offHeapBytes()).isLessThanOrEqualTo(4 * 4096);
+        for (OrderResponse o : orders) {
+            assertThat(store.get(o.getId())).usingRecursiveComparison().isEqualTo(o);
+        }
+    }
+
+    @DisplayName("Durante la carga, lo escrito por write-through no se pisa con la lectura vieja")
+    @Test
+    void givenWriteDuringLoad_whenLoaderDeliversOldCopy_thenWriteThroughWins() {
+        // given
+        OffHeapOrderStore store = new OffHeapOrderStore(4096, 16);
+        OrderResponse old = order(1, OrderStatus.NEW);
+        OrderResponse deleted = order(2, OrderStatus.NEW);
+        store.beginLoad();
+        OrderResponse fresh = order(1, OrderStatus.PAID);
+        fresh.setId(old.getId());
+
+        // when
+        store.put(fresh);
+        store.remove(deleted.getId());
+        store.load(old);
+        store.load(deleted);
+
+        // then
+        assertThat(store.ready()).isFalse();
+        assertThat(store.list(null, PageRequest.of(0, 10))).isNull();
+        assertThat(store.finishLoad()).containsExactlyInAnyOrder(old.getId(), deleted.getId());
+        assertThat(store.ready()).isTrue();
+        assertThat(store.get(old.getId()).getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(store.get(deleted.getId())).isNull();
+    }
+
+    @DisplayName("Callbacks de commit fuera de orden: la versión más vieja no pisa a la nueva")
+    @Test
+    void givenTwoCommits_whenCallbacksRunInReverseOrder_thenNewestVersionStays() {
+        // given - T1 pasa la orden a PAID y T2, después, a SHIPPED; cada una difiere su write-through
+        OffHeapOrderStore store = loaded(4096);
+        OrderStoreSync sync = new OrderStoreSync(store);
+        OrderResponse created = order(1, OrderStatus.NEW);
+        store.put(created);
+        OrderResponse paid = order(1, OrderStatus.PAID);
+        paid.setId(created.getId());
+        paid.setUpdatedAt(created.getUpdatedAt().plusSeconds(1));
+        List<TransactionSynchronization> first = deferred(() -> sync.put(paid));
+        List<TransactionSynchronization> second = deferred(() -> sync.updateStatus(
+                List.of(created.getId()), OrderStatus.SHIPPED, created.getUpdatedAt().plusSeconds(2)));
+
+        // when - el afterCommit de T2 corre antes que el de T1
+        second.forEach(TransactionSynchronization::afterCommit);
+        first.forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        OrderResponse stored = store.get(created.getId());
+        assertThat(stored.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(stored.getUpdatedAt()).isEqualTo(created.getUpdatedAt().plusSeconds(2));
+        assertThat(store.list(OrderStatus.PAID, PageRequest.of(0, 10)).getTotalElements()).isZero();
+
+        // y un cambio de estado viejo tampoco la pisa
+        store.updateStatus(created.getId(), OrderStatus.CANCELLED, created.getUpdatedAt().plusSeconds(1));
+        assertThat(store.get(created.getId()).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    }
+
+    @DisplayName("Un put tardío de una versión anterior al borrado no revive la orden")
+    @Test
+    void givenRemovedOrder_whenOlderPutArrivesLate_thenOrderStaysRemoved() {
+        // given
+        OffHeapOrderStore store = loaded(4096);
+        OrderResponse o = order(1, OrderStatus.NEW);
+        o.setUpdatedAt(OffsetDateTime.now().minusSeconds(1));
+        store.put(o);
+
+        // when
+        store.remove(o.getId());
+        store.put(o);
+
+        // then
+        assertThat(store.get(o.getId())).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    /** Registra los callbacks de una "transacción" sin ejecutarlos. */
+    private static List<TransactionSynchronization> deferred(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.nao.retail.orders.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.entity.OrderEntity;
+import com.nao.retail.orders.entity.OrderItem;
+import com.nao.retail.orders.entity.OrderStatus;
+import com.nao.retail.orders.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail",
+        "orders.store.enabled=true"})
+@AutoConfigureMockMvc
+class OrderStoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStore store;
+
+    @Autowired
+    private OrderStoreLoader loader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("GET por id y listado por estado salen de memoria: responden aunque la fila ya no esté en la base")
+    @Test
+    void givenOrderCreatedThroughApi_whenRowRemovedBehindTheStore_thenStillServedFromMemory() throws Exception {
+        // given
+        assertThat(store.ready()).isTrue();
+        UUID id = create();
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", id)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isOk());
+
+        // when: la base ya no la tiene (borrado sin pasar por OrderService)
+        deleteRow(id);
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("SHIPPED")))
+                .andExpect(jsonPath("$.items[0].sku", is("SKU-1")));
+        mockMvc.perform(get("/api/v1/orders").param("status", "SHIPPED").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(id.toString())));
+    }
+
+    @DisplayName("DELETE saca la orden del store; la carga al arrancar trae lo escrito por fuera")
+    @Test
+    void givenDeletedAndExternallyInsertedOrders_whenReadAfterReload_thenStoreMatchesDatabase() throws Exception {
+        // given
+        UUID deleted = create();
+        UUID external = orderRepository.save(order()).getId();
+
+        // when
+        mockMvc.perform(delete("/api/v1/orders/{id}", deleted)).andExpect(status().isNoContent());
+        loader.load();
+        deleteRow(external);
+
+        // then
+        assertThat(store.get(deleted)).isNull();
+        mockMvc.perform(get("/api/v1/orders/{id}", deleted)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/orders/{id}", external))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName", is("Loaded Customer")));
+    }
+
+    private UUID create() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"customerName":"Store Customer","customerEmail":"store@customer.com","totalAmount":10,
+                                 "items":[{"sku":"SKU-1","name":"Mouse","quantity":1,"unitPrice":10}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString((String) objectMapper.readValue(body, Map.class).get("id"));
+    }
+
+    private void deleteRow(UUID id) {
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id = ?", id);
+        jdbcTemplate.update("DELETE FROM orders WHERE id = ?", id);
+    }
+
+    private static OrderEntity order() {
+        OrderItem item = new OrderItem();
+        item.setSku("SKU-2");
+        item.setName("Teclado");
+        item.setQuantity(1);
+        item.setUnitPrice(BigDecimal.TEN);
+        OrderEntity e = new OrderEntity();
+        e.setCustomerName("Loaded Customer");
+        e.setCustomerEmail("loaded@customer.com");
+        e.setTotalAmount(BigDecimal.TEN);
+        e.setStatus(OrderStatus.NEW);
+        e.setItems(new ArrayList<>(List.of(item)));
+        return e;
+    }
+}
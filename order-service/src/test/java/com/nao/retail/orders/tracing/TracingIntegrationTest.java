@@ -0,0 +1,147 @@
+package com.nao.retail.orders.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.repository.OrderRepository;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail",
+        "management.tracing.sampling.probability=1.0",
+        "orders.tracing.file=target/tracing-test/spans.jsonl"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingIntegrationTest {
+
+    @TestConfiguration
+    static class InMemoryExporter {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spans;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        flush();
+        spans.reset();
+    }
+
+    // los nombres de span los pasa a kebab-case el bridge OTel: OrderService#create -> order-service#create
+    @DisplayName("Un POST genera una traza request → controller → service → repositorio → SQL, más la serialización")
+    @Test
+    void givenCreate_whenTraced_thenSpansNestByLayer() throws Exception {
+        // when
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"customerName":"Ana","customerEmail":"ana@example.com",
+                                 "totalAmount":20.00,
+                                 "items":[{"sku":"P-1","name":"Mouse","quantity":2,"unitPrice":10.00}]}
+                                """))
+                .andExpect(status().isCreated());
+        flush();
+
+        // then
+        SpanData request = spans.getFinishedSpanItems().stream()
+                .filter(s -> s.getKind() == SpanKind.SERVER)
+                .findFirst().orElseThrow();
+        List<SpanData> trace = spans.getFinishedSpanItems().stream()
+                .filter(s -> s.getTraceId().equals(request.getTraceId()))
+                .toList();
+        Map<String, SpanData> byId = trace.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+
+        SpanData controller = named(trace, "order-controller#create");
+        SpanData service = named(trace, "order-service#create");
+        SpanData insert = trace.stream()
+                .filter(s -> "insert".equals(s.getName()))
+                .filter(s -> s.getAttributes().asMap().toString().contains("insert into orders"))
+                .findFirst().orElseThrow();
+        SpanData serialize = named(trace, "serialize");
+
+        assertThat(controller.getParentSpanId()).isEqualTo(request.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(controller.getSpanId());
+        assertThat(byId.get(insert.getParentSpanId()).getName()).startsWith("order-repository#");
+        assertThat(ancestors(insert, byId)).contains(service.getSpanId());
+        assertThat(serialize.getParentSpanId()).isEqualTo(request.getSpanId());
+
+        // el exporter a archivo recibe la misma traza
+        List<String> lines = Files.readAllLines(Path.of("target/tracing-test/spans.jsonl"));
+        assertThat(lines).anySatisfy(line -> {
+            JsonNode span = objectMapper.readTree(line);
+            assertThat(span.get("traceId").asText()).isEqualTo(request.getTraceId());
+            assertThat(span.get("name").asText()).isEqualTo("order-service#create");
+        });
+    }
+
+    @DisplayName("Los requests a actuator no se trazan")
+    @Test
+    void givenActuatorRequest_whenTraced_thenNoSpans() throws Exception {
+        // when
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        flush();
+
+        // then
+        assertThat(spans.getFinishedSpanItems()).noneMatch(s -> s.getKind() == SpanKind.SERVER);
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+    }
+
+    private static SpanData named(List<SpanData> trace, String name) {
+        return trace.stream().filter(s -> s.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError(name + " no está en " + trace.stream().map(SpanData::getName).toList()));
+    }
+
+    private static List<String> ancestors(SpanData span, Map<String, SpanData> byId) {
+        List<String> out = new ArrayList<>();
+        for (SpanData s = byId.get(span.getParentSpanId()); s != null; s = byId.get(s.getParentSpanId())) {
+            out.add(s.getSpanId());
+        }
+        return out;
+    }
+}
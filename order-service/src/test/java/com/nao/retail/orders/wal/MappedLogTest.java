@@ -0,0 +1,138 @@
+package com.nao.retail.orders.wal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLogTest {
+
+    private static final int SEGMENT = 256;
+
+    @TempDir
+    Path dir;
+
+    private static byte[] record(int i) {
+        return ("order-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readAll(MappedLog log) {
+        List<String> out = new ArrayList<>();
+        for (MappedLog.Entry e : log.read(log.checkpoint(), Integer.MAX_VALUE)) {
+            out.add(new String(e.payload(), StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".wal")).count();
+        }
+    }
+
+    @DisplayName("Los registros cruzan segmentos y sobreviven a reabrir el log; el checkpoint borra los segmentos aplicados")
+    @Test
+    void givenRecordsAcrossSegments_whenReopenedAndCheckpointed_thenOnlyPendingRemain() throws Exception {
+        // given: ~16 bytes por registro, 256 por segmento
+        MappedLog log = new MappedLog(dir, SEGMENT);
+        for (int i = 0; i < 50; i++) {
+            log.sync(log.append(record(i)));
+        }
+        log.close();
+
+        // when
+        MappedLog reopened = new MappedLog(dir, SEGMENT);
+        List<MappedLog.Entry> first = reopened.read(reopened.checkpoint(), 30);
+        reopened.checkpoint(first.get(first.size() - 1).next());
+
+        // then
+        assertThat(segmentFiles()).isLessThan(4);
+        assertThat(readAll(reopened)).hasSize(20).first().isEqualTo("order-30");
+        assertThat(reopened.hasPending()).isTrue();
+        reopened.checkpoint(reopened.read(reopened.checkpoint(), 100).get(19).next());
+        assertThat(reopened.hasPending()).isFalse();
+        reopened.close();
+        assertThat(readAll(new MappedLog(dir, SEGMENT))).isEmpty();
+    }
+
+    @DisplayName("Un registro cortado por un crash se descarta al abrir y el log sigue desde ahí")
+    @Test
+    void givenTornTail_whenReopened_thenTailDiscardedAndAppendsContinue() throws Exception {
+        // given
+        MappedLog log = new MappedLog(dir, 4096);
+        MappedLog.Position end = log.append(record(1));
+        log.sync(end);
+        log.close();
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve(String.format("%020d.wal", end.segment())).toFile(), "rw")) {
+            // largo escrito, CRC y payload no
+            file.seek(end.offset());
+            file.writeInt(40);
+        }
+
+        // when
+        MappedLog reopened = new MappedLog(dir, 4096);
+        reopened.sync(reopened.append(record(2)));
+
+        // then
+        assertThat(readAll(reopened)).containsExactly("order-1", "order-2");
+    }
+
+    @DisplayName("Un registro dañado en un segmento cerrado se lee marcado como corrupto y los siguientes siguen legibles")
+    @Test
+    void givenCorruptedRecordInClosedSegment_whenRead_thenFlaggedAndReadContinues() throws Exception {
+        // given: el primer segmento ya cerrado, con un byte del payload del segundo registro cambiado
+        MappedLog log = new MappedLog(dir, SEGMENT);
+        MappedLog.Position firstEnd = log.append(record(0));
+        for (int i = 1; i < 30; i++) {
+            log.sync(log.append(record(i)));
+        }
+        log.close();
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve(String.format("%020d.wal", firstEnd.segment())).toFile(), "rw")) {
+            file.seek(firstEnd.offset() + 8);
+            file.write('X');
+        }
+
+        // when
+        List<MappedLog.Entry> entries = new MappedLog(dir, SEGMENT).read(firstEnd, Integer.MAX_VALUE);
+
+        // then
+        assertThat(entries).hasSize(29);
+        assertThat(entries.get(0).corrupt()).isTrue();
+        assertThat(entries.subList(1, 29)).noneMatch(MappedLog.Entry::corrupt);
+        assertThat(new String(entries.get(1).payload(), StandardCharsets.UTF_8)).isEqualTo("order-2");
+    }
+
+    @DisplayName("Appends concurrentes con sync: ninguno se pierde y los fsync se agrupan")
+    @Test
+    void givenConcurrentWriters_whenSynced_thenAllRecordsReadable() throws Exception {
+        // given
+        MappedLog log = new MappedLog(dir, 64 * 1024);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> log.sync(log.append(record(n)))));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        // then
+        assertThat(readAll(log)).hasSize(2_000).doesNotHaveDuplicates();
+    }
+}
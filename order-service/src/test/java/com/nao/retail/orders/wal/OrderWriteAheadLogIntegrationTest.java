@@ -0,0 +1,171 @@
+package com.nao.retail.orders.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nao.retail.orders.dto.OrderRequest;
+import com.nao.retail.orders.repository.OrderRepository;
+import com.nao.retail.orders.service.OrderBatchInserter;
+import com.nao.retail.orders.service.OrderBatchInserter.NewOrder;
+import com.nao.retail.orders.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"orders.changes.settle-ms=0", "orders.query-budget.mode=fail",
+        "orders.wal.enabled=true", "orders.wal.replay-interval-ms=0",
+        "orders.wal.dir=${java.io.tmpdir}/orders-wal-test-${random.uuid}"})
+@AutoConfigureMockMvc
+class OrderWriteAheadLogIntegrationTest {
+
+    private static final String ORDER = """
+            {"customerName":"Wal Customer","customerEmail":"wal@customer.com","totalAmount":25,
+             "items":[{"sku":"SKU-1","name":"Mouse","quantity":1,"unitPrice":25}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private OrderService orderService;
+
+    @Autowired
+    private OrderLogReplayer replayer;
+
+    @Autowired
+    private OrderBatchInserter inserter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WalProperties walProperties;
+
+    @DisplayName("Con la base caída se acepta con 202 y el id definitivo; al volver se vuelca sin duplicar")
+    @Test
+    void givenDatabaseOutage_whenOrdersAcceptedAndReplayed_thenEachOrderInsertedOnce() throws Exception {
+        // given: la base no da conexiones
+        doThrow(new CannotCreateTransactionException("database down")).when(orderService).create(any());
+        UUID first = accept();
+        UUID second = accept();
+        // la segunda ya no probó la base: había órdenes sin volcar
+        verify(orderService, times(1)).create(any());
+        // la primera llegó a insertarse antes de un crash, sin checkpoint
+        OrderRequest request = objectMapper.readValue(ORDER, OrderRequest.class);
+        transactionTemplate.executeWithoutResult(tx ->
+                inserter.insert(List.of(new NewOrder(first, request, OffsetDateTime.now()))));
+
+        // when: vuelve la base
+        reset(orderService);
+        int inserted = replayer.drain();
+
+        // then
+        assertThat(inserted).isEqualTo(1);
+        assertThat(orderRepository.findExistingIds(List.of(first, second))).containsExactlyInAnyOrder(first, second);
+        assertThat(replayer.drain()).isZero();
+        mockMvc.perform(get("/api/v1/orders/{id}", second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("NEW")))
+                .andExpect(jsonPath("$.items[0].sku", is("SKU-1")));
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isCreated());
+    }
+
+    @DisplayName("Un registro del log que no pasa el CRC va a dead-letter y el volcado sigue con los demás")
+    @Test
+    void givenCorruptedRecord_whenDrained_thenDeadLetteredAndOthersInserted() throws Exception {
+        // given: tres órdenes aceptadas con la base caída; la del medio se daña en disco
+        doThrow(new CannotCreateTransactionException("database down")).when(orderService).create(any());
+        UUID first = accept();
+        UUID corrupted = accept();
+        UUID third = accept();
+        Path deadLetters = Path.of(walProperties.getDir(), "dead-letter.jsonl");
+        long deadBefore = Files.exists(deadLetters) ? Files.readAllLines(deadLetters).size() : 0;
+        corruptLastRecords(3, 1);
+
+        // when
+        reset(orderService);
+        int inserted = replayer.drain();
+
+        // then
+        assertThat(inserted).isEqualTo(2);
+        assertThat(orderRepository.findExistingIds(List.of(first, corrupted, third))).containsExactlyInAnyOrder(first, third);
+        assertThat(Files.readAllLines(deadLetters)).hasSize((int) deadBefore + 1)
+                .last().asString().contains("payloadBase64").contains("CRC");
+        assertThat(replayer.drain()).isZero();
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isCreated());
+    }
+
+    @DisplayName("Un error transitorio con la base disponible (lock) no pasa al log: se responde el error")
+    @Test
+    void givenLockFailure_whenCreate_thenNotAcceptedByLog() throws Exception {
+        doThrow(new CannotAcquireLockException("lock timeout")).when(orderService).create(any());
+
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isInternalServerError());
+        reset(orderService);
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isCreated());
+    }
+
+    /** Cambia un byte del payload del registro {@code index} entre los últimos {@code count} del segmento 1. */
+    private void corruptLastRecords(int count, int index) throws Exception {
+        try (RandomAccessFile file = new RandomAccessFile(
+                Path.of(walProperties.getDir(), String.format("%020d.wal", 1)).toFile(), "rw")) {
+            List<Long> offsets = new ArrayList<>();
+            long offset = 0;
+            while (true) {
+                file.seek(offset);
+                int length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                offsets.add(offset);
+                offset += 8 + length;
+            }
+            file.seek(offsets.get(offsets.size() - count + index) + 8 + 1);
+            file.write('X');
+        }
+    }
+
+    private UUID accept() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString((String) objectMapper.readValue(body, Map.class).get("id"));
+    }
+}